@@ -0,0 +1,12 @@
+package com.tencent.dataflow.adapter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * EventIngestConfig - 批量事件接入配置
+ */
+@Configuration
+@EnableConfigurationProperties(EventIngestProperties.class)
+public class EventIngestConfig {
+}
@@ -0,0 +1,22 @@
+package com.tencent.dataflow.adapter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * EventIngestProperties - 批量事件接入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.ingest")
+public class EventIngestProperties {
+
+    /**
+     * 每攒够多少个事件交给控制平面一次
+     */
+    private int batchSize = 500;
+
+    /**
+     * 单行（单个事件）的最大字符数，超出的行按错误处理
+     */
+    private int maxLineLength = 1048576;
+}
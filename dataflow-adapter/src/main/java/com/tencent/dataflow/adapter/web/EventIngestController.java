@@ -0,0 +1,67 @@
+package com.tencent.dataflow.adapter.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.adapter.config.EventIngestProperties;
+import com.tencent.dataflow.app.service.PipelineAppService;
+import com.tencent.dataflow.client.dto.BulkIngestResult;
+import com.tencent.dataflow.client.dto.SingleResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Event Ingest Controller
+ * <p>
+ * 批量接入外部事件：请求体为 NDJSON（每行一个事件），可用 {@code Content-Encoding: gzip} 压缩。
+ * 请求体边读边解析，按批次交给控制平面，响应中逐行给出事件 ID 或错误原因。
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+public class EventIngestController {
+
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    private final PipelineAppService pipelineAppService;
+
+    private final NdjsonEventReader reader;
+
+    public EventIngestController(PipelineAppService pipelineAppService, ObjectMapper objectMapper,
+                                 EventIngestProperties properties) {
+        this.pipelineAppService = pipelineAppService;
+        this.reader = new NdjsonEventReader(objectMapper, properties.getBatchSize(), properties.getMaxLineLength());
+    }
+
+    /**
+     * 控制平面过载拒绝时返回 429 与 Retry-After，响应体中仍给出逐行结果
+     */
+    @PostMapping(value = "/events/bulk", consumes = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<SingleResponse<BulkIngestResult>> ingest(HttpServletRequest request) throws IOException {
+        try (InputStream body = open(request)) {
+            BulkIngestResult result = reader.read(body, pipelineAppService::triggerEvents);
+            log.info("Ingested {} events, {} rejected", result.getAccepted(), result.getRejected());
+            if (result.getRetryAfterMillis() == null) {
+                return ResponseEntity.ok(SingleResponse.of(result));
+            }
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, WebExceptionHandler.retryAfterSeconds(result.getRetryAfterMillis()))
+                    .body(SingleResponse.of(result));
+        }
+    }
+
+    private static InputStream open(HttpServletRequest request) throws IOException {
+        InputStream in = request.getInputStream();
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(in, 8192) : in;
+    }
+}
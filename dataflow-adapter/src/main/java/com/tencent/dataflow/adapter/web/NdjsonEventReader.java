@@ -0,0 +1,192 @@
+package com.tencent.dataflow.adapter.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tencent.dataflow.client.dto.BulkIngestResult;
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * NdjsonEventReader - 增量解析 NDJSON 事件流
+ * <p>
+ * 按固定大小的字符缓冲区读取请求体，逐行解析为事件，不会把整个请求体读入内存：
+ * <ul>
+ *   <li>每攒够 batchSize 个事件交给 sink 一次，sink 正常返回后这些事件才被确认；</li>
+ *   <li>单行解析失败、缺少 type 或超过 maxLineLength 时只记录该行的错误，继续处理后续行；</li>
+ *   <li>sink 抛出异常时，该批次的所有行记为错误；</li>
+ *   <li>sink 因过载拒绝（{@link EventRejectedException}）时，确认已接收的事件，其余行及后续所有行记为错误且不再提交，
+ *       结果中给出建议的重试间隔。</li>
+ * </ul>
+ * 行号从 1 开始，空行跳过。
+ * </p>
+ */
+@Slf4j
+public class NdjsonEventReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ObjectReader reader;
+
+    private final int batchSize;
+
+    private final int maxLineLength;
+
+    public NdjsonEventReader(ObjectMapper objectMapper, int batchSize, int maxLineLength) {
+        this.reader = objectMapper.readerFor(Event.class);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * 读取整个事件流
+     * @param in 请求体（已解压）
+     * @param sink 事件批次的接收方
+     * @return 逐行确认结果
+     */
+    public BulkIngestResult read(InputStream in, Consumer<List<Event>> sink) throws IOException {
+        Session session = new Session(sink);
+        Reader input = new InputStreamReader(in, StandardCharsets.UTF_8);
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = input.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] == '\n') {
+                    session.append(buffer, start, i - start);
+                    session.endLine();
+                    start = i + 1;
+                }
+            }
+            session.append(buffer, start, n - start);
+        }
+        session.endLine();
+        session.flush();
+        return session.result;
+    }
+
+    /**
+     * 单次请求的解析状态
+     */
+    private final class Session {
+
+        private final Consumer<List<Event>> sink;
+
+        private final BulkIngestResult result = new BulkIngestResult();
+
+        private final StringBuilder line = new StringBuilder();
+
+        private final List<Event> batch = new ArrayList<>(batchSize);
+
+        private final long[] batchLines = new long[batchSize];
+
+        private long lineNumber;
+
+        private boolean overflow;
+
+        /**
+         * 控制平面已拒绝：后续行不再解析与提交
+         */
+        private String rejection;
+
+        private Session(Consumer<List<Event>> sink) {
+            this.sink = sink;
+        }
+
+        private void append(char[] chars, int offset, int length) {
+            if (overflow || length == 0) return;
+            if (line.length() + length > maxLineLength) {
+                // 超长行不再累积，只记录错误
+                overflow = true;
+                line.setLength(0);
+                return;
+            }
+            line.append(chars, offset, length);
+        }
+
+        private void endLine() {
+            lineNumber++;
+            if (overflow) {
+                result.error(lineNumber, "Line exceeds " + maxLineLength + " characters");
+                overflow = false;
+                return;
+            }
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (isBlank(line)) {
+                line.setLength(0);
+                return;
+            }
+            if (rejection != null) {
+                line.setLength(0);
+                result.error(lineNumber, rejection);
+                return;
+            }
+            Event event;
+            try {
+                event = reader.readValue(line.toString());
+            } catch (JsonProcessingException e) {
+                result.error(lineNumber, "Malformed event: " + e.getOriginalMessage());
+                return;
+            } finally {
+                line.setLength(0);
+            }
+            if (event == null || event.getType() == null || event.getType().isEmpty()) {
+                result.error(lineNumber, "Missing event type");
+                return;
+            }
+            batchLines[batch.size()] = lineNumber;
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) return;
+            try {
+                sink.accept(List.copyOf(batch));
+                for (int i = 0; i < batch.size(); i++) {
+                    result.ack(batchLines[i], batch.get(i).getId());
+                }
+            } catch (EventRejectedException e) {
+                rejection = "Rejected: " + e.getMessage();
+                result.setRetryAfterMillis(e.getRetryAfterMillis());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (i < e.getAccepted()) {
+                        result.ack(batchLines[i], batch.get(i).getId());
+                    } else {
+                        result.error(batchLines[i], rejection);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to hand over {} ingested events", batch.size(), e);
+                for (int i = 0; i < batch.size(); i++) {
+                    result.error(batchLines[i], "Rejected: " + e.getMessage());
+                }
+            }
+            batch.clear();
+        }
+
+        private boolean isBlank(CharSequence chars) {
+            for (int i = 0; i < chars.length(); i++) {
+                if (!Character.isWhitespace(chars.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tencent.dataflow.adapter.web;
+
+import com.tencent.dataflow.client.dto.Response;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Web Exception Handler
+ * <p>
+ * 控制平面过载拒绝事件时返回 429 Too Many Requests，Retry-After 为建议的重试间隔（秒）。
+ * </p>
+ */
+@RestControllerAdvice
+public class WebExceptionHandler {
+
+    public static final String ERR_EVENT_REJECTED = "EVENT_REJECTED";
+
+    @ExceptionHandler(EventRejectedException.class)
+    public ResponseEntity<Response> handleEventRejected(EventRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfterMillis()))
+                .body(Response.buildFailure(ERR_EVENT_REJECTED, e.getMessage()));
+    }
+
+    /**
+     * Retry-After 以秒为单位，向上取整且至少 1 秒
+     */
+    static String retryAfterSeconds(long retryAfterMillis) {
+        return String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+}
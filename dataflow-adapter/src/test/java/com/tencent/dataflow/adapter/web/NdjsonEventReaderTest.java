@@ -0,0 +1,111 @@
+package com.tencent.dataflow.adapter.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.client.dto.BulkIngestResult;
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonEventReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testBatchesAndPerLineAcks() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            body.append("{\"id\":\"e-").append(i).append("\",\"type\":\"checkpoint\",\"payload\":{\"seq\":")
+                    .append(i).append("}}\r\n");
+        }
+        List<List<Event>> batches = new ArrayList<>();
+        BulkIngestResult result = new NdjsonEventReader(objectMapper, 3, 1024)
+                .read(stream(body.toString()), batches::add);
+
+        assertEquals(List.of(3, 3, 1), batches.stream().map(List::size).toList());
+        assertEquals(7, result.getAccepted());
+        assertEquals(0, result.getRejected());
+        assertEquals(7, result.getAcks().get(6).getLine());
+        assertEquals("e-6", result.getAcks().get(6).getId());
+        assertEquals(6, batches.get(2).get(0).getPayload().get("seq"));
+    }
+
+    @Test
+    void testErrorsReportedByLine() throws IOException {
+        String body = "{\"type\":\"a\"}\n"
+                + "\n"
+                + "{not json\n"
+                + "{\"source\":\"/pipelines/p/nodes/a\"}\n"
+                + "{\"type\":\"" + "x".repeat(100) + "\"}\n"
+                + "{\"type\":\"b\"}";
+        List<Event> events = new ArrayList<>();
+        BulkIngestResult result = new NdjsonEventReader(objectMapper, 10, 64).read(stream(body), events::addAll);
+
+        assertEquals(List.of("a", "b"), events.stream().map(Event::getType).toList());
+        assertEquals(List.of(1L, 6L), result.getAcks().stream().map(BulkIngestResult.Ack::getLine).toList());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(BulkIngestResult.Failure::getLine).toList());
+        // 未提供 ID 的事件由服务端生成
+        assertNotNull(result.getAcks().get(0).getId());
+    }
+
+    @Test
+    void testRejectedBatchAndGzip() throws IOException {
+        String body = "{\"type\":\"a\"}\n{\"type\":\"b\"}\n{\"type\":\"c\"}\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        List<Event> events = new ArrayList<>();
+        BulkIngestResult result = new NdjsonEventReader(objectMapper, 2, 1024).read(
+                new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())),
+                batch -> {
+                    if (events.isEmpty()) {
+                        events.addAll(batch);
+                        return;
+                    }
+                    throw new IllegalStateException("queue full");
+                });
+
+        assertEquals(2, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().contains("queue full"));
+    }
+
+    @Test
+    void testOverloadRejectsRemainingLines() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            body.append("{\"id\":\"e-").append(i).append("\",\"type\":\"metrics\"}\n");
+        }
+        List<Event> events = new ArrayList<>();
+        BulkIngestResult result = new NdjsonEventReader(objectMapper, 2, 1024).read(stream(body.toString()), batch -> {
+            if (!events.isEmpty()) {
+                // 第二批只接收了第一个事件
+                events.add(batch.get(0));
+                throw new EventRejectedException("overloaded", 1500, 1);
+            }
+            events.addAll(batch);
+        });
+
+        assertEquals(List.of("e-1", "e-2", "e-3"), result.getAcks().stream().map(BulkIngestResult.Ack::getId).toList());
+        assertEquals(List.of(4L, 5L), result.getErrors().stream().map(BulkIngestResult.Failure::getLine).toList());
+        assertEquals(1500L, result.getRetryAfterMillis());
+        assertEquals(3, events.size());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
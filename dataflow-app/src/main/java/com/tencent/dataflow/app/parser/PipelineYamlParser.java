@@ -31,7 +31,9 @@ public class PipelineYamlParser {
     private Pipeline convert(PipelineYamlDto dto) {
         List<Node> nodes = new ArrayList<>();
         if (dto.getNodes() != null) {
-            nodes = dto.getNodes().stream().map(this::convertNode).collect(Collectors.toList());
+            nodes = dto.getNodes().stream()
+                    .map(nodeDto -> convertNode(dto.getId(), nodeDto))
+                    .collect(Collectors.toList());
         }
         
         return Pipeline.builder()
@@ -40,7 +42,7 @@ public class PipelineYamlParser {
                 .build();
     }
 
-    private Node convertNode(NodeYamlDto nodeDto) {
+    private Node convertNode(String pipelineId, NodeYamlDto nodeDto) {
         TaskConfig config = TaskConfig.builder()
                 .taskType(nodeDto.getType())
                 .config(nodeDto.getConfig())
@@ -48,6 +50,7 @@ public class PipelineYamlParser {
 
         return Node.builder()
                 .id(nodeDto.getId())
+                .pipelineId(pipelineId)
                 .taskConfig(config)
                 .startWhen(nodeDto.getStartWhen())
                 .startPayload(nodeDto.getStartPayload())
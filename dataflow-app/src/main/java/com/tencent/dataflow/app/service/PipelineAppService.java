@@ -2,14 +2,19 @@ package com.tencent.dataflow.app.service;
 
 import com.tencent.dataflow.app.parser.PipelineYamlParser;
 import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.event.EventRejectedException;
 import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.pipeline.Pipeline;
 import com.tencent.dataflow.domain.repository.NodeRepository;
+import com.tencent.dataflow.domain.repository.PipelineRepository;
 import com.tencent.dataflow.domain.service.ControlPlaneService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -21,31 +26,75 @@ public class PipelineAppService {
     private final NodeRepository nodeRepository;
     private final ControlPlaneService controlPlaneService;
 
+    /**
+     * 事件发布器；未配置时事件在调用线程上同步处理
+     */
+    private EventPublisher eventPublisher;
+
+    /**
+     * Pipeline 仓储；未配置时只保存节点
+     */
+    private PipelineRepository pipelineRepository;
+
+    @Autowired(required = false)
+    public void setPipelineRepository(PipelineRepository pipelineRepository) {
+        this.pipelineRepository = pipelineRepository;
+    }
+
+    @Autowired(required = false)
+    public void setEventPublisher(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
     public Pipeline submitPipeline(String yamlContent) {
         Pipeline pipeline = parser.parse(yamlContent);
         log.info("Submitting pipeline: {}", pipeline.getId());
         
-        // Save nodes
+        if (pipelineRepository != null) {
+            pipelineRepository.save(pipeline);
+        }
+        // Save nodes, scoped to the pipeline
         if (pipeline.getNodes() != null) {
             for (Node node : pipeline.getNodes()) {
+                if (node.getPipelineId() == null) {
+                    node.setPipelineId(pipeline.getId());
+                }
                 nodeRepository.save(node);
             }
         }
+        controlPlaneService.registerPipeline(pipeline);
         
         return pipeline;
     }
 
     public void triggerEvent(Event event) {
         log.info("External event triggered: {}", event);
-        controlPlaneService.onEvent(event);
+        if (eventPublisher != null) {
+            eventPublisher.publish(event);
+        } else {
+            controlPlaneService.onEvent(event);
+        }
+    }
+
+    /**
+     * 批量提交外部事件（如批量接入接口），不逐条打印事件内容
+     * @throws EventRejectedException 事件发布器过载，accepted 为被拒绝之前已提交的事件数
+     */
+    public void triggerEvents(List<Event> events) {
+        log.debug("External events triggered: {}", events.size());
+        if (eventPublisher == null) {
+            controlPlaneService.onEvents(events);
+            return;
+        }
+        eventPublisher.publishAll(events);
     }
     
-    public void executeAction(String nodeId, String action, Map<String, Object> params) {
-        Node node = nodeRepository.findById(nodeId);
+    public void executeAction(String pipelineId, String nodeId, String action, Map<String, Object> params) {
+        Node node = nodeRepository.findById(pipelineId, nodeId);
         if (node != null) {
             controlPlaneService.executeAction(node, action, params);
         } else {
-            log.warn("Node not found: {}", nodeId);
+            log.warn("Node not found: {}/{}", pipelineId, nodeId);
         }
     }
 }
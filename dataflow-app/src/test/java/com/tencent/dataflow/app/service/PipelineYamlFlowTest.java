@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
@@ -44,8 +45,9 @@ class PipelineYamlFlowTest {
 
         NodeRepository nodeRepo = new NodeRepository() {
             @Override
-            public Node findById(String nodeId) {
-                return nodeStore.get(nodeId);
+            public Node findById(String pipelineId, String nodeId) {
+                Node node = nodeStore.get(nodeId);
+                return node != null && Objects.equals(pipelineId, node.getPipelineId()) ? node : null;
             }
 
             @Override
@@ -137,7 +139,7 @@ class PipelineYamlFlowTest {
 
         // 2. Start SQL Node
         System.out.println(">>> Starting SQL Node...");
-        pipelineAppService.executeAction("sql-node", "start", Map.of());
+        pipelineAppService.executeAction(pipeline.getId(), "sql-node", "start", Map.of());
 
         // 3. Simulate SQL Success -> Triggers Approval
         System.out.println(">>> SQL Node Succeeded...");
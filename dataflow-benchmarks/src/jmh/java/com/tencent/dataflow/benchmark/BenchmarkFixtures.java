@@ -0,0 +1,164 @@
+package com.tencent.dataflow.benchmark;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.PolicyRule;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.repository.NodeRepository;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.EventDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import com.tencent.dataflow.domain.taskschema.TaskSchema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * BenchmarkFixtures - 基准测试共用的节点、事件与桩实现
+ */
+final class BenchmarkFixtures {
+
+    static final String TASK_TYPE = "bench_task";
+
+    /**
+     * 每个 Pipeline 的节点数，节点总数超过该值时拆分为多个 Pipeline
+     */
+    static final int NODES_PER_PIPELINE = 100;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Map<String, TaskSchema> schemaRegistry() {
+        TaskSchema schema = new TaskSchema();
+        schema.setType(TASK_TYPE);
+        for (String name : List.of(ActionDefinition.ACTION_START, ActionDefinition.ACTION_STOP,
+                ActionDefinition.ACTION_RESTART, ActionDefinition.ACTION_RETRY)) {
+            schema.getActions().put(name, ActionDefinition.builder().name(name).build());
+        }
+        Map<String, TaskSchema> registry = new HashMap<>();
+        registry.put(TASK_TYPE, schema);
+        return registry;
+    }
+
+    static String pipelineId(int index) {
+        return "pipeline-" + index / NODES_PER_PIPELINE;
+    }
+
+    static String nodeId(int index) {
+        return "node-" + index;
+    }
+
+    /**
+     * 链式依赖的节点：每个节点在上游成功后启动，另带 expressionsPerNode - 1 条控制规则
+     */
+    static List<Node> chainNodes(int nodeCount, int expressionsPerNode) {
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            String startWhen = i % NODES_PER_PIPELINE == 0 ? null
+                    : "#event.source == '" + EventSource.of(pipelineId(i), nodeId(i - 1))
+                    + "' && #event.type == 'succeeded'";
+            List<PolicyRule> rules = new ArrayList<>();
+            for (int r = 1; r < expressionsPerNode; r++) {
+                rules.add(PolicyRule.builder()
+                        .name("rule-" + r)
+                        .condition("#event.type == 'alert-" + r + "' && #event.payload['lag'] > " + (r * 100))
+                        .action(ActionDefinition.ACTION_RESTART)
+                        .build());
+            }
+            nodes.add(Node.builder()
+                    .id(nodeId(i))
+                    .pipelineId(pipelineId(i))
+                    .taskConfig(TaskConfig.builder().taskType(TASK_TYPE).build())
+                    .startWhen(startWhen)
+                    .controlPolicy(ControlPolicy.builder().customRules(rules).build())
+                    .build());
+        }
+        return nodes;
+    }
+
+    /**
+     * 混合事件：进度心跳、上游成功（触发下游启动）与告警（触发控制规则）
+     */
+    static Event[] events(int count, int nodeCount, int expressionsPerNode, long seed) {
+        Random random = new Random(seed);
+        Event[] events = new Event[count];
+        for (int i = 0; i < count; i++) {
+            int index = random.nextInt(nodeCount);
+            int kind = random.nextInt(10);
+            String type;
+            Map<String, Object> payload = new HashMap<>();
+            if (kind < 6) {
+                type = "progress";
+                payload.put("progress", random.nextInt(100));
+            } else if (kind < 8) {
+                type = EventDefinition.EVENT_SUCCEEDED;
+            } else {
+                type = "alert-" + (1 + random.nextInt(Math.max(1, expressionsPerNode - 1)));
+                payload.put("lag", random.nextInt(2000));
+            }
+            events[i] = Event.builder()
+                    .type(type)
+                    .source(EventSource.of(pipelineId(index), nodeId(index)))
+                    .pipelineId(pipelineId(index))
+                    .payload(payload)
+                    .build();
+        }
+        return events;
+    }
+
+    /**
+     * 返回固定快照的仓储，模拟带缓存的仓储在稳态下的表现
+     */
+    static NodeRepository snapshotRepository(List<Node> nodes) {
+        List<Node> snapshot = Collections.unmodifiableList(new ArrayList<>(nodes));
+        Map<String, Node> byId = new HashMap<>();
+        Map<String, List<Node>> byPipeline = new HashMap<>();
+        for (Node node : nodes) {
+            byId.put(Node.keyOf(node.getPipelineId(), node.getId()), node);
+            byPipeline.computeIfAbsent(String.valueOf(node.getPipelineId()), k -> new ArrayList<>()).add(node);
+        }
+        byPipeline.replaceAll((pipelineId, pipelineNodes) -> Collections.unmodifiableList(pipelineNodes));
+        return new NodeRepository() {
+            @Override
+            public Node findById(String pipelineId, String nodeId) {
+                return byId.get(Node.keyOf(pipelineId, nodeId));
+            }
+
+            @Override
+            public List<Node> findAllActiveNodes() {
+                return snapshot;
+            }
+
+            @Override
+            public List<Node> findActiveNodesByPipeline(String pipelineId) {
+                return byPipeline.getOrDefault(String.valueOf(pipelineId), Collections.emptyList());
+            }
+
+            @Override
+            public void save(Node node) {
+                // 基准只测量控制平面本身
+            }
+        };
+    }
+
+    static TaskExecutor noopExecutor() {
+        return new TaskExecutor() {
+            @Override
+            public Object executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
+                return null;
+            }
+
+            @Override
+            public Object getState(Node node, StateDefinition state) {
+                return null;
+            }
+        };
+    }
+}
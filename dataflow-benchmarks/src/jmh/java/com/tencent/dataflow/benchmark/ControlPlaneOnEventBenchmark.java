@@ -0,0 +1,69 @@
+package com.tencent.dataflow.benchmark;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
+import com.tencent.dataflow.domain.service.impl.ControlPlaneServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ControlPlaneOnEventBenchmark - 控制平面单事件处理吞吐
+ * <p>
+ * 变量为节点总数与每个节点的条件表达式数；节点按每 100 个一组划分 Pipeline，
+ * 事件混合进度心跳、上游成功与告警三类，行为执行器为空实现，只测量控制平面本身。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ControlPlaneOnEventBenchmark {
+
+    private static final int EVENT_COUNT = 4096;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    @Param({"1", "4", "16"})
+    public int expressionsPerNode;
+
+    private ControlPlaneServiceImpl controlPlaneService;
+
+    private Event[] events;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Node> nodes = BenchmarkFixtures.chainNodes(nodeCount, expressionsPerNode);
+        controlPlaneService = new ControlPlaneServiceImpl(BenchmarkFixtures.snapshotRepository(nodes),
+                BenchmarkFixtures.noopExecutor(), BenchmarkFixtures.schemaRegistry());
+
+        Map<String, List<Node>> byPipeline = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            byPipeline.computeIfAbsent(node.getPipelineId(), k -> new ArrayList<>()).add(node);
+        }
+        byPipeline.forEach((pipelineId, pipelineNodes) -> controlPlaneService.registerPipeline(
+                Pipeline.builder().id(pipelineId).nodes(pipelineNodes).build()));
+
+        events = BenchmarkFixtures.events(EVENT_COUNT, nodeCount, expressionsPerNode, 42);
+    }
+
+    @Benchmark
+    public void onEvent() {
+        controlPlaneService.onEvent(events[cursor++ & (EVENT_COUNT - 1)]);
+    }
+}
@@ -0,0 +1,94 @@
+package com.tencent.dataflow.benchmark;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventMatcher;
+import com.tencent.dataflow.domain.expression.EvaluationRoot;
+import com.tencent.dataflow.domain.expression.EventEvaluationContext;
+import com.tencent.dataflow.domain.expression.ExpressionCache;
+import com.tencent.dataflow.domain.node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpressionEvaluationBenchmark - SpEL 条件求值
+ * <p>
+ * 对比缓存（可编译）表达式与每次重新解析的开销，覆盖控制策略中常见的几类条件。
+ * controlPlanePath 与控制平面的求值路径一致：可编译为原生匹配器的条件（simple / compound）不经过 SpEL。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExpressionEvaluationBenchmark {
+
+    private static final Map<String, String> CONDITIONS = Map.of(
+            "simple", "#event.type == 'succeeded'",
+            "compound", "#event.source == '/pipelines/p/nodes/upstream' && #event.type == 'succeeded'",
+            "payload", "#event.type == 'alert' && #event.payload['lag'] > 100",
+            "nodeReference", "upstream.status == 'succeeded' && #event.type == 'succeeded'");
+
+    @Param({"simple", "compound", "payload", "nodeReference"})
+    public String condition;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+
+    private String source;
+
+    private Expression cached;
+
+    private EventMatcher matcher;
+
+    private Event event;
+
+    private EventEvaluationContext context;
+
+    @Setup
+    public void setUp() {
+        source = CONDITIONS.get(condition);
+        ExpressionCache expressionCache = new ExpressionCache();
+        cached = expressionCache.get(source);
+        matcher = expressionCache.matcher(source);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("lag", 500);
+        event = Event.builder()
+                .type("succeeded")
+                .source("/pipelines/p/nodes/upstream")
+                .pipelineId("p")
+                .payload(payload)
+                .build();
+        Node upstream = Node.builder().id("upstream").pipelineId("p").status("succeeded").build();
+        Node current = Node.builder().id("current").pipelineId("p").build();
+        Map<String, Node> references = new HashMap<>();
+        references.put(EvaluationRoot.referenceName(upstream.getId()), upstream);
+        references.put(EvaluationRoot.referenceName(current.getId()), current);
+        context = new EventEvaluationContext(event, references::get).bindNode(current);
+    }
+
+    @Benchmark
+    public Boolean cachedExpression() {
+        return cached.getValue(context, Boolean.class);
+    }
+
+    @Benchmark
+    public Boolean controlPlanePath() {
+        return matcher != null ? matcher.matches(event) : cached.getValue(context, Boolean.class);
+    }
+
+    @Benchmark
+    public Boolean parseEveryTime() {
+        return parser.parseExpression(source).getValue(context, Boolean.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.tencent.dataflow.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import com.tencent.dataflow.infrastructure.config.HttpTransportProperties;
+import com.tencent.dataflow.infrastructure.executor.HttpTaskExecutor;
+import com.tencent.dataflow.infrastructure.executor.HttpTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpTaskExecutorBenchmark - HTTP 执行器调用开销
+ * <p>
+ * 执行器访问本地桩服务（立即返回），测量的是连接池、序列化与 RestTemplate 本身的开销，
+ * 分别给出单线程与 16 线程并发的结果。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HttpTaskExecutorBenchmark {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private HttpTransport transport;
+
+    private HttpTaskExecutor executor;
+
+    private Node node;
+
+    private ActionDefinition start;
+
+    private StateDefinition status;
+
+    private Map<String, Object> params;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/start", exchange -> respond(exchange, "text/plain", "job-1"));
+        server.createContext("/status", exchange -> respond(exchange, "application/json", "{\"status\":\"RUNNING\"}"));
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        transport = new HttpTransport(new HttpTransportProperties());
+        executor = new HttpTaskExecutor(transport.getRestTemplate(), transport);
+        node = Node.builder()
+                .id("node-1")
+                .taskConfig(TaskConfig.builder()
+                        .config(Map.of("baseUrl", "http://127.0.0.1:" + server.getAddress().getPort()))
+                        .build())
+                .build();
+        start = ActionDefinition.builder().name(ActionDefinition.ACTION_START).endpoint("/start").build();
+        status = StateDefinition.builder().name(StateDefinition.STATE_STATUS).endpoint("/status").build();
+        params = Map.of("script", "echo hello", "parallelism", 4);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object executeAction() {
+        return executor.executeAction(node, start, params);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object executeActionConcurrent() {
+        return executor.executeAction(node, start, params);
+    }
+
+    @Benchmark
+    public Object getState() {
+        return executor.getState(node, status);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tencent.dataflow.benchmark;
+
+import com.tencent.dataflow.app.parser.PipelineYamlParser;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PipelineYamlParseBenchmark - 大型 Pipeline 的 YAML 解析
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineYamlParseBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nodeCount;
+
+    private final PipelineYamlParser parser = new PipelineYamlParser();
+
+    private String yaml;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(nodeCount * 256);
+        builder.append("id: bench-pipeline\n")
+                .append("description: generated pipeline with ").append(nodeCount).append(" nodes\n")
+                .append("nodes:\n");
+        for (int i = 0; i < nodeCount; i++) {
+            builder.append("  - id: node-").append(i).append('\n')
+                    .append("    type: spark_sql\n")
+                    .append("    config:\n")
+                    .append("      sql: \"SELECT * FROM table_").append(i).append(" WHERE dt = '${date}'\"\n")
+                    .append("      parallelism: 4\n");
+            if (i > 0) {
+                builder.append("    startWhen: \"#event.source == '/pipelines/bench-pipeline/nodes/node-")
+                        .append(i - 1).append("' && #event.type == 'succeeded'\"\n")
+                        .append("    startPayload:\n")
+                        .append("      inputPath: \"#event.payload['outputPath']\"\n");
+            }
+        }
+        yaml = builder.toString();
+    }
+
+    @Benchmark
+    public Pipeline parse() {
+        return parser.parse(yaml);
+    }
+}
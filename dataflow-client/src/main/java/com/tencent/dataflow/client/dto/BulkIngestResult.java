@@ -0,0 +1,60 @@
+package com.tencent.dataflow.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk Event Ingestion Result
+ * <p>
+ * 逐行确认：成功交给控制平面的事件在 acks 中给出行号与事件 ID，解析或投递失败的行在 errors 中给出行号与原因。
+ * 行号从 1 开始，空行不产生确认。
+ * </p>
+ * <p>
+ * 控制平面过载拒绝时 retryAfterMillis 非空：被拒绝的行及其后的所有行均记为错误，调用方应在该间隔后重试这些行。
+ * </p>
+ */
+@Data
+public class BulkIngestResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int accepted;
+    private int rejected;
+    private List<Ack> acks = new ArrayList<>();
+    private List<Failure> errors = new ArrayList<>();
+    private Long retryAfterMillis;
+
+    public void ack(long line, String id) {
+        accepted++;
+        acks.add(new Ack(line, id));
+    }
+
+    public void error(long line, String message) {
+        rejected++;
+        errors.add(new Failure(line, message));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Ack implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+        private String id;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+        private String message;
+    }
+}
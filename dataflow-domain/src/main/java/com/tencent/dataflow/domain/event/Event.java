@@ -1,32 +1,58 @@
 package com.tencent.dataflow.domain.event;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Event - 领域事件
  * <p>
  * 系统中传递的消息单元。遵循 CloudEvents 规范的核心语义。
  * </p>
+ * <p>
+ * 大量事件不带负载或扩展属性，payload / attributes 默认共享同一个不可变的空 Map，
+ * 第一次通过 getter 取用时才替换为本事件自己的 HashMap（写时复制），因此 {@code getPayload().put(...)} 仍然可用。
+ * 只读的热路径应使用 {@link #peekPayload()} / {@link #peekAttributes()}，不会触发分配。
+ * </p>
+ * <p>
+ * Builder 挂在显式构造函数上而不是类上，进程内的 ingressNanos 因此不会出现在 Builder 与构造参数中。
+ * </p>
  */
 @Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString(doNotUseGetters = true)
 public class Event {
 
     /**
-     * 事件唯一标识 (UUID)
+     * 事件作用域属性：值为 {@link #SCOPE_GLOBAL} 的事件分发给所有 Pipeline（如维护窗口），
+     * 其他事件只在所属 Pipeline 内评估
+     */
+    public static final String ATTRIBUTE_SCOPE = "scope";
+
+    public static final String SCOPE_GLOBAL = "global";
+
+    /**
+     * 事件优先级属性，取值见 {@link EventPriority}
+     */
+    public static final String ATTRIBUTE_PRIORITY = "priority";
+
+    private static final Map<String, Object> EMPTY_PAYLOAD = Collections.emptyMap();
+
+    private static final Map<String, String> EMPTY_ATTRIBUTES = Collections.emptyMap();
+
+    /**
+     * 事件唯一标识 (UUIDv7，按时间有序，见 {@link EventIds})
      */
-    @Builder.Default
-    private String id = UUID.randomUUID().toString();
+    private String id;
 
     /**
      * 事件类型
@@ -49,8 +75,7 @@ public class Event {
     /**
      * 事件发生时间
      */
-    @Builder.Default
-    private Instant time = Instant.now();
+    private Instant time;
 
     /**
      * 关联的 Pipeline ID (上下文)
@@ -84,8 +109,7 @@ public class Event {
      * 节点产生的事件通常包含: output, metrics 等。
      * </p>
      */
-    @Builder.Default
-    private Map<String, Object> payload = new HashMap<>();
+    private Map<String, Object> payload = EMPTY_PAYLOAD;
 
     /**
      * 扩展属性 (Headers)
@@ -93,6 +117,97 @@ public class Event {
      * 用于传递链路追踪信息、优先级等元数据。
      * </p>
      */
-    @Builder.Default
-    private Map<String, String> attributes = new HashMap<>();
+    private Map<String, String> attributes = EMPTY_ATTRIBUTES;
+
+    /**
+     * 事件进入控制平面的时刻 (System.nanoTime)
+     * <p>
+     * 仅用于进程内的延迟统计，不参与序列化与相等性比较；0 表示尚未标记。
+     * </p>
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient long ingressNanos;
+
+    public Event() {
+        this(null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * 未指定的 id / time 取新生成的 UUIDv7 与当前时刻，未指定的 payload / attributes 取共享的空 Map
+     */
+    @Builder
+    public Event(String id, String type, String source, Instant time, String pipelineId, String executionId,
+                 String correlationId, Map<String, Object> payload, Map<String, String> attributes) {
+        this.id = id != null ? id : EventIds.next();
+        this.type = type;
+        this.source = source;
+        this.time = time != null ? time : Instant.now();
+        this.pipelineId = pipelineId;
+        this.executionId = executionId;
+        this.correlationId = correlationId;
+        this.payload = payload != null ? payload : EMPTY_PAYLOAD;
+        this.attributes = attributes != null ? attributes : EMPTY_ATTRIBUTES;
+    }
+
+    /**
+     * 标记事件进入控制平面的时刻；已标记的事件保持最早的时刻
+     */
+    public void markIngress() {
+        if (ingressNanos == 0) {
+            ingressNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return 进入控制平面的时刻 (System.nanoTime)，未标记时为 0
+     */
+    public long ingressNanos() {
+        return ingressNanos;
+    }
+
+    /**
+     * 事件负载；仍为共享的空 Map 时替换为本事件可写的 HashMap
+     */
+    public Map<String, Object> getPayload() {
+        if (payload == EMPTY_PAYLOAD) {
+            payload = new HashMap<>();
+        }
+        return payload;
+    }
+
+    /**
+     * 扩展属性；仍为共享的空 Map 时替换为本事件可写的 HashMap
+     */
+    public Map<String, String> getAttributes() {
+        if (attributes == EMPTY_ATTRIBUTES) {
+            attributes = new HashMap<>();
+        }
+        return attributes;
+    }
+
+    /**
+     * 只读访问负载，不触发写时复制
+     * @return 负载，可能为不可修改的空 Map 或 null
+     */
+    public Map<String, Object> peekPayload() {
+        return payload;
+    }
+
+    /**
+     * 只读访问扩展属性，不触发写时复制
+     * @return 扩展属性，可能为不可修改的空 Map 或 null
+     */
+    public Map<String, String> peekAttributes() {
+        return attributes;
+    }
+
+    /**
+     * 读取单个扩展属性，不触发写时复制
+     */
+    public String attribute(String name) {
+        return attributes != null ? attributes.get(name) : null;
+    }
 }
@@ -0,0 +1,19 @@
+package com.tencent.dataflow.domain.event;
+
+/**
+ * EventDeduplicator - 事件去重
+ * <p>
+ * 上游以至少一次语义投递事件，同一事件可能到达多次。控制平面在评估前按 {@link Event#getId()} 去重，
+ * 避免重复的 succeeded 事件再次触发下游节点的 start。
+ * 去重只在有限的时间窗口内有效，实现应保证内存占用有界。
+ * </p>
+ */
+public interface EventDeduplicator {
+
+    /**
+     * 记录事件并判断是否重复；没有 ID 的事件不去重
+     * @param event 事件
+     * @return true 表示去重窗口内已处理过相同 ID 的事件
+     */
+    boolean isDuplicate(Event event);
+}
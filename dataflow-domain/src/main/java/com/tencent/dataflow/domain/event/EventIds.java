@@ -0,0 +1,83 @@
+package com.tencent.dataflow.domain.event;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * EventIds - 事件 ID 生成器（UUIDv7）
+ * <p>
+ * UUID.randomUUID 依赖全局共享的 SecureRandom，高并发写入时成为竞争点。
+ * 这里按 RFC 9562 生成 UUIDv7：高 48 位为毫秒时间戳，随后是版本号 7、42 位计数器与 32 位随机数，
+ * 输出为标准的 UUID 字符串，可直接作为 {@link Event#getId()}。
+ * </p>
+ * <p>
+ * 每个线程维护自己的时间戳与计数器，不需要任何同步：
+ * <ul>
+ *   <li>同一毫秒内计数器递增，新的毫秒以随机值重新播种（最高位清零，留出递增空间）；</li>
+ *   <li>时钟回拨或计数器耗尽时沿用上一个时间戳继续递增，因此同一线程生成的 ID 严格递增；</li>
+ *   <li>不同线程之间按毫秒有序，同一毫秒内由随机的计数器种子与随机位区分。</li>
+ * </ul>
+ * </p>
+ */
+public final class EventIds {
+
+    private static final int COUNTER_BITS = 42;
+
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * 新毫秒的计数器种子：最高位清零，保证单毫秒内至少 2^41 次递增
+     */
+    private static final long SEED_MASK = COUNTER_MASK >>> 1;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private EventIds() {
+    }
+
+    /**
+     * 生成新的事件 ID
+     */
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * 生成新的 UUIDv7
+     */
+    public static UUID nextUuid() {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > state.millis) {
+            state.millis = now;
+            state.counter = random.nextLong() & SEED_MASK;
+        } else if (++state.counter > COUNTER_MASK) {
+            // 计数器耗尽：借用下一毫秒
+            state.millis++;
+            state.counter = random.nextLong() & SEED_MASK;
+        }
+        long counter = state.counter;
+        // 48 位时间戳 | 版本 7 | 计数器高 12 位
+        long msb = (state.millis << 16) | 0x7000L | (counter >>> 30);
+        // 变体 10 | 计数器低 30 位 | 32 位随机数
+        long lsb = 0x8000_0000_0000_0000L
+                | ((counter & 0x3FFF_FFFFL) << 32)
+                | (random.nextInt() & 0xFFFF_FFFFL);
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * UUIDv7 中的毫秒时间戳
+     */
+    public static long timestampOf(String id) {
+        return UUID.fromString(id).getMostSignificantBits() >>> 16;
+    }
+
+    private static final class State {
+
+        private long millis = Long.MIN_VALUE;
+
+        private long counter;
+    }
+}
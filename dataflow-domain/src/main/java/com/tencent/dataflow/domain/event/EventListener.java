@@ -1,5 +1,7 @@
 package com.tencent.dataflow.domain.event;
 
+import java.util.List;
+
 /**
  * EventListener - 事件监听接口
  * <p>
@@ -12,4 +14,17 @@ public interface EventListener {
      * @param event 事件对象
      */
     void onEvent(Event event);
+
+    /**
+     * 按顺序处理一批事件
+     * <p>
+     * 语义与逐个调用 {@link #onEvent} 相同，实现可以在批次内合并节点加载与持久化；默认逐个处理。
+     * </p>
+     * @param events 事件列表，按发布顺序排列
+     */
+    default void onEvents(List<Event> events) {
+        for (Event event : events) {
+            onEvent(event);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.tencent.dataflow.domain.event;
+
+/**
+ * EventMatchers - 原生事件匹配器
+ * <p>
+ * 只读取事件字段并做字符串比较，不分配对象，用于替代简单条件的 SpEL 求值：
+ * <ul>
+ *   <li>{@link #typeEquals(String)} / {@link #sourceEquals(String)} / {@link #sourceEndsWith(String)}；</li>
+ *   <li>{@link #shorthand(String)}：触发简写 {@code event:upstream_node.succeeded}；</li>
+ *   <li>{@link #and} / {@link #or} / {@link #not} 组合。</li>
+ * </ul>
+ * 事件字段为 null 时比较结果为 false，与 SpEL 中 {@code == 'x'} 的结果一致。
+ * </p>
+ */
+public final class EventMatchers {
+
+    /**
+     * 触发简写的前缀
+     */
+    public static final String SHORTHAND_PREFIX = "event:";
+
+    private EventMatchers() {
+    }
+
+    public static boolean isShorthand(String condition) {
+        return condition != null && condition.startsWith(SHORTHAND_PREFIX);
+    }
+
+    public static EventMatcher typeEquals(String type) {
+        return event -> type.equals(event.getType());
+    }
+
+    public static EventMatcher sourceEquals(String source) {
+        return event -> source.equals(event.getSource());
+    }
+
+    public static EventMatcher sourceEndsWith(String suffix) {
+        return event -> {
+            String source = event.getSource();
+            return source != null && source.endsWith(suffix);
+        };
+    }
+
+    /**
+     * 触发简写 {@code event:a.b}
+     * <p>
+     * 匹配类型为 a.b 的事件（如 {@code event:pipeline.started}），
+     * 或者来自引用名为 a 的节点、类型为 b 的事件（如 {@code event:upstream_node.succeeded}）。
+     * 节点引用名即节点 ID 中的 '-' 替换为 '_'，与事件源最后一段路径逐字符比较。
+     * </p>
+     * @param condition 以 {@code event:} 开头的条件
+     */
+    public static EventMatcher shorthand(String condition) {
+        String trigger = condition.substring(SHORTHAND_PREFIX.length()).trim();
+        int dot = trigger.lastIndexOf('.');
+        if (dot <= 0 || dot == trigger.length() - 1) {
+            return typeEquals(trigger);
+        }
+        String reference = trigger.substring(0, dot);
+        String status = trigger.substring(dot + 1);
+        return event -> {
+            String type = event.getType();
+            return trigger.equals(type)
+                    || status.equals(type) && sourceReferenceEquals(event.getSource(), reference);
+        };
+    }
+
+    public static EventMatcher and(EventMatcher left, EventMatcher right) {
+        return event -> left.matches(event) && right.matches(event);
+    }
+
+    public static EventMatcher or(EventMatcher left, EventMatcher right) {
+        return event -> left.matches(event) || right.matches(event);
+    }
+
+    public static EventMatcher not(EventMatcher matcher) {
+        return event -> !matcher.matches(event);
+    }
+
+    /**
+     * 事件源最后一段路径（节点 ID）对应的引用名是否等于 reference
+     */
+    static boolean sourceReferenceEquals(String source, String reference) {
+        if (source == null) {
+            return false;
+        }
+        int start = source.lastIndexOf('/') + 1;
+        if (source.length() - start != reference.length()) {
+            return false;
+        }
+        for (int i = 0; i < reference.length(); i++) {
+            char c = source.charAt(start + i);
+            if ((c == '-' ? '_' : c) != reference.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
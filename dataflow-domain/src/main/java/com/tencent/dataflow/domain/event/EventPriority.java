@@ -0,0 +1,29 @@
+package com.tencent.dataflow.domain.event;
+
+/**
+ * EventPriority - 事件优先级
+ * <p>
+ * 由事件的 {@link Event#ATTRIBUTE_PRIORITY} 属性声明（不区分大小写）：
+ * critical / high 为 {@link #HIGH}，low 为 {@link #LOW}，缺省或其他取值为 {@link #NORMAL}。
+ * 事件引擎按优先级分队列，高优先级事件（如维护窗口的停止指令）不会排在大量指标事件之后。
+ * </p>
+ */
+public enum EventPriority {
+
+    HIGH,
+
+    NORMAL,
+
+    LOW;
+
+    public static EventPriority of(Event event) {
+        String priority = event.attribute(Event.ATTRIBUTE_PRIORITY);
+        if (priority == null) {
+            return NORMAL;
+        }
+        if ("high".equalsIgnoreCase(priority) || "critical".equalsIgnoreCase(priority)) {
+            return HIGH;
+        }
+        return "low".equalsIgnoreCase(priority) ? LOW : NORMAL;
+    }
+}
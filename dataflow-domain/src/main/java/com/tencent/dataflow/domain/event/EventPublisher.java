@@ -1,5 +1,7 @@
 package com.tencent.dataflow.domain.event;
 
+import java.util.List;
+
 /**
  * EventPublisher - 事件发布接口
  * <p>
@@ -12,4 +14,22 @@ public interface EventPublisher {
      * @param event 事件对象
      */
     void publish(Event event);
+
+    /**
+     * 按顺序发布一批事件
+     * <p>
+     * 实现可以合并批次内的持久化等开销；默认逐个发布。
+     * </p>
+     * @param events 事件列表
+     * @throws EventRejectedException 发布器过载，accepted 为被拒绝之前已接收的事件数，其后的事件均未被接收
+     */
+    default void publishAll(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                publish(events.get(i));
+            } catch (EventRejectedException e) {
+                throw e.afterAccepted(i);
+            }
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.tencent.dataflow.domain.event;
+
+import lombok.Getter;
+
+/**
+ * EventRejectedException - 事件因过载被拒绝
+ * <p>
+ * 事件发布器在队列已满或排队延迟超出上限时抛出，事件未被接收，调用方应在 retryAfterMillis 之后重试。
+ * 批量提交时 accepted 表示被拒绝之前已接收的事件数。
+ * </p>
+ */
+@Getter
+public class EventRejectedException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    private final int accepted;
+
+    public EventRejectedException(String message, long retryAfterMillis) {
+        this(message, retryAfterMillis, 0);
+    }
+
+    public EventRejectedException(String message, long retryAfterMillis, int accepted) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+        this.accepted = accepted;
+    }
+
+    /**
+     * 批量提交中，被拒绝之前已接收了 accepted 个事件
+     */
+    public EventRejectedException afterAccepted(int accepted) {
+        return new EventRejectedException(getMessage(), retryAfterMillis, accepted);
+    }
+}
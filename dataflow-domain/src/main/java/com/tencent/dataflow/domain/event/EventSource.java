@@ -0,0 +1,56 @@
+package com.tencent.dataflow.domain.event;
+
+import lombok.Value;
+
+/**
+ * EventSource - 事件源地址
+ * <p>
+ * 节点产生的事件 source 格式为 "/pipelines/{pipelineId}/nodes/{nodeId}"。
+ * 解析一次得到 (pipelineId, nodeId)，用于直接定位产生事件的节点。
+ * 兼容省略 Pipeline 前缀的 "/nodes/{nodeId}" 形式，此时 pipelineId 为 null。
+ * </p>
+ */
+@Value
+public class EventSource {
+
+    private static final String PIPELINES = "/pipelines/";
+
+    private static final String NODES = "/nodes/";
+
+    String pipelineId;
+
+    String nodeId;
+
+    /**
+     * 解析事件源
+     * @param source 事件源
+     * @return 解析结果；不是节点地址时返回 null
+     */
+    public static EventSource parse(String source) {
+        if (source == null) {
+            return null;
+        }
+        int nodesAt = source.lastIndexOf(NODES);
+        int nodeIdAt = nodesAt + NODES.length();
+        if (nodesAt < 0 || nodeIdAt == source.length() || source.indexOf('/', nodeIdAt) >= 0) {
+            return null;
+        }
+        String nodeId = source.substring(nodeIdAt);
+
+        String pipelineId = null;
+        if (source.startsWith(PIPELINES) && nodesAt > PIPELINES.length()) {
+            String segment = source.substring(PIPELINES.length(), nodesAt);
+            if (segment.indexOf('/') < 0) {
+                pipelineId = segment;
+            }
+        }
+        return new EventSource(pipelineId, nodeId);
+    }
+
+    /**
+     * 构造节点事件源
+     */
+    public static String of(String pipelineId, String nodeId) {
+        return pipelineId != null ? PIPELINES + pipelineId + NODES + nodeId : NODES + nodeId;
+    }
+}
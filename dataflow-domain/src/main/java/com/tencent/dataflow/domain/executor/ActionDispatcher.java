@@ -0,0 +1,397 @@
+package com.tencent.dataflow.domain.executor;
+
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ActionDispatcher - 异步行为分发器
+ * <p>
+ * 控制循环只负责把行为放入分发队列，由虚拟线程取出并调用 {@link TaskExecutor#executeActionAsync}，
+ * 事件评估的耗时与执行器的响应时间无关。
+ * </p>
+ * <p>
+ * 同一执行器主机（节点配置中的 baseUrl / host）的并发调用数受信号量限制，
+ * 避免单个慢服务占满连接或拖垮下游。
+ * </p>
+ * <p>
+ * 声明了批量端点的行为（{@link ActionDefinition#supportsBatch()}）按 (主机, 行为) 合并：
+ * 首个调用到达后等待 batchWindowMillis 或凑满 batchMaxSize，再以一次
+ * {@link TaskExecutor#executeBatchAction} 调用发出，各节点的结果分别回写到各自的 future。
+ * </p>
+ */
+@Slf4j
+public class ActionDispatcher implements AutoCloseable {
+
+    private static final String UNKNOWN_HOST = "unknown";
+
+    private final TaskExecutor taskExecutor;
+
+    private final int maxConcurrencyPerHost;
+
+    private final BlockingQueue<Dispatch> queue;
+
+    private final ConcurrentMap<String, Semaphore> permitsByHost = new ConcurrentHashMap<>();
+
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("action-worker-", 0).factory());
+
+    private final ScheduledExecutorService batchTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("action-batch-timer").factory());
+
+    /**
+     * 正在合并的批次，只在 batchLock 下访问
+     */
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    private final Object batchLock = new Object();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final Thread drainer;
+
+    private volatile boolean running = true;
+
+    private volatile ControlPlaneMetrics metrics = ControlPlaneMetrics.NOOP;
+
+    /**
+     * @param taskExecutor 执行器
+     * @param maxConcurrencyPerHost 单个执行器主机的最大并发调用数
+     * @param queueCapacity 分发队列容量，队列满时提交方等待
+     */
+    public ActionDispatcher(TaskExecutor taskExecutor, int maxConcurrencyPerHost, int queueCapacity) {
+        if (maxConcurrencyPerHost < 1) {
+            throw new IllegalArgumentException("Max concurrency per host must be positive: " + maxConcurrencyPerHost);
+        }
+        this.taskExecutor = taskExecutor;
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.drainer = Thread.ofVirtual().name("action-dispatcher").start(this::drain);
+    }
+
+    /**
+     * 提交行为
+     * @param node 目标节点
+     * @param action 行为定义
+     * @param params 行为参数
+     * @return 执行结果；执行失败时以异常完成
+     */
+    public CompletableFuture<Object> submit(Node node, ActionDefinition action, Map<String, Object> params) {
+        Dispatch dispatch = new Dispatch(node, action, params, hostOf(node, action));
+        if (!running) {
+            dispatch.result.completeExceptionally(new RejectedExecutionException("Action dispatcher is closed"));
+            return dispatch.result;
+        }
+        try {
+            queue.put(dispatch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dispatch.result.completeExceptionally(e);
+        }
+        return dispatch.result;
+    }
+
+    public void setMetrics(ControlPlaneMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 等待分发的行为数量
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 指定主机上正在执行的行为数量
+     */
+    public int inFlightCount(String host) {
+        Semaphore permits = permitsByHost.get(host);
+        return permits != null ? maxConcurrencyPerHost - permits.availablePermits() : 0;
+    }
+
+    /**
+     * 已发出的批量调用次数
+     */
+    public long batchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 停止接收新行为，等待已提交的行为执行完成
+     */
+    @Override
+    public void close() {
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Dispatch dispatch;
+        while ((dispatch = queue.poll()) != null) {
+            dispatch(dispatch);
+        }
+        List<Batch> remaining;
+        synchronized (batchLock) {
+            remaining = new ArrayList<>(openBatches.values());
+            openBatches.clear();
+        }
+        remaining.forEach(this::submitBatch);
+        batchTimer.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Action dispatcher closed with in-flight actions");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 执行器主机标识，用于并发限制
+     * <p>
+     * 绝对地址的 endpoint 优先，其次节点配置中的 baseUrl / host；均缺失时归入同一个默认分组。
+     * </p>
+     */
+    static String hostOf(Node node, ActionDefinition action) {
+        String endpoint = action.getEndpoint();
+        if (endpoint != null && (endpoint.startsWith("http://") || endpoint.startsWith("https://"))) {
+            return authorityOf(endpoint);
+        }
+        if (node.getTaskConfig() == null || node.getTaskConfig().getConfig() == null) {
+            return UNKNOWN_HOST;
+        }
+        Map<String, Object> config = node.getTaskConfig().getConfig();
+        Object baseUrl = config.get("baseUrl");
+        if (baseUrl == null) {
+            baseUrl = config.get("host");
+        }
+        return baseUrl != null ? authorityOf(baseUrl.toString()) : UNKNOWN_HOST;
+    }
+
+    private static String authorityOf(String url) {
+        try {
+            String authority = URI.create(url).getAuthority();
+            return authority != null ? authority : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                dispatch(queue.take());
+            } catch (InterruptedException e) {
+                // close() 中断等待，剩余任务由 close() 处理
+                return;
+            } catch (RejectedExecutionException e) {
+                log.warn("Action dispatcher is shutting down, dispatch rejected");
+                return;
+            }
+        }
+    }
+
+    private void dispatch(Dispatch dispatch) {
+        if (dispatch.action.supportsBatch()) {
+            addToBatch(dispatch);
+        } else {
+            workers.execute(() -> execute(dispatch));
+        }
+    }
+
+    private void addToBatch(Dispatch dispatch) {
+        ActionDefinition action = dispatch.action;
+        String key = dispatch.host + '|' + action.getName() + '|' + action.getBatchEndpoint();
+        Batch full = null;
+        synchronized (batchLock) {
+            Batch batch = openBatches.get(key);
+            if (batch == null) {
+                batch = new Batch(key, dispatch.host, action);
+                openBatches.put(key, batch);
+                Batch scheduled = batch;
+                batchTimer.schedule(() -> flush(scheduled), Math.max(0, action.getBatchWindowMillis()),
+                        TimeUnit.MILLISECONDS);
+            }
+            batch.dispatches.add(dispatch);
+            if (batch.dispatches.size() >= Math.max(1, action.getBatchMaxSize())) {
+                openBatches.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            submitBatch(full);
+        }
+    }
+
+    /**
+     * 合并窗口到期：批次若已因凑满而发出则忽略
+     */
+    private void flush(Batch batch) {
+        synchronized (batchLock) {
+            if (!openBatches.remove(batch.key, batch)) {
+                return;
+            }
+        }
+        submitBatch(batch);
+    }
+
+    private void submitBatch(Batch batch) {
+        try {
+            workers.execute(() -> executeBatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.dispatches.forEach(d -> d.result.completeExceptionally(e));
+        }
+    }
+
+    private void executeBatch(Batch batch) {
+        Semaphore permits = permitsByHost.computeIfAbsent(batch.host, k -> new Semaphore(maxConcurrencyPerHost));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.dispatches.forEach(d -> d.result.completeExceptionally(e));
+            return;
+        }
+        long start = System.nanoTime();
+        List<ActionRequest> requests = new ArrayList<>(batch.dispatches.size());
+        for (Dispatch dispatch : batch.dispatches) {
+            metrics.recordDispatch(batch.action.getName(), start - dispatch.submittedAt);
+            requests.add(new ActionRequest(dispatch.node, dispatch.params));
+        }
+        List<ActionResult> results;
+        boolean success = false;
+        try {
+            batchCount.increment();
+            results = taskExecutor.executeBatchAction(batch.action, requests);
+            success = true;
+        } catch (Exception e) {
+            log.error("Batch action [{}] to [{}] failed for {} nodes",
+                    batch.action.getName(), batch.host, requests.size(), e);
+            batch.dispatches.forEach(d -> d.result.completeExceptionally(e));
+            return;
+        } finally {
+            permits.release();
+            recordExecutorCall(batch.dispatches.get(0).node, batch.action, start, success);
+        }
+
+        // 同一批次可能包含不同 Pipeline 的同名节点，按节点键对应结果
+        Map<String, ActionResult> resultByNode = new HashMap<>();
+        if (results != null) {
+            for (ActionResult result : results) {
+                resultByNode.putIfAbsent(result.nodeKey(), result);
+            }
+        }
+        for (Dispatch dispatch : batch.dispatches) {
+            String key = Node.keyOf(dispatch.node.getPipelineId(), dispatch.node.getId());
+            ActionResult result = resultByNode.get(key);
+            if (result == null) {
+                dispatch.result.completeExceptionally(
+                        new IllegalStateException("No result returned for node " + key));
+            } else if (result.isSuccess()) {
+                dispatch.result.complete(result.getResult());
+            } else {
+                dispatch.result.completeExceptionally(new IllegalStateException(
+                        "Action [" + batch.action.getName() + "] failed on node " + key
+                                + ": " + result.getError()));
+            }
+        }
+    }
+
+    private void execute(Dispatch dispatch) {
+        Semaphore permits = permitsByHost.computeIfAbsent(dispatch.host, k -> new Semaphore(maxConcurrencyPerHost));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dispatch.result.completeExceptionally(e);
+            return;
+        }
+        long start = System.nanoTime();
+        metrics.recordDispatch(dispatch.action.getName(), start - dispatch.submittedAt);
+        CompletableFuture<Object> future;
+        try {
+            future = taskExecutor.executeActionAsync(dispatch.node, dispatch.action, dispatch.params);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, error) -> {
+            permits.release();
+            recordExecutorCall(dispatch.node, dispatch.action, start, error == null);
+            if (error != null) {
+                dispatch.result.completeExceptionally(error);
+            } else {
+                dispatch.result.complete(result);
+            }
+        });
+        // 等待执行完成，保证 close() 能感知在途调用
+        future.exceptionally(e -> null).join();
+    }
+
+    private void recordExecutorCall(Node node, ActionDefinition action, long start, boolean success) {
+        String taskType = node.getTaskConfig() != null ? node.getTaskConfig().getTaskType() : null;
+        metrics.recordExecutorCall(taskType, action.getName(), String.valueOf(action.getProtocol()),
+                System.nanoTime() - start, success);
+    }
+
+    private static final class Batch {
+
+        private final String key;
+
+        private final String host;
+
+        private final ActionDefinition action;
+
+        private final List<Dispatch> dispatches = new ArrayList<>();
+
+        private Batch(String key, String host, ActionDefinition action) {
+            this.key = key;
+            this.host = host;
+            this.action = action;
+        }
+    }
+
+    private static final class Dispatch {
+
+        private final Node node;
+
+        private final ActionDefinition action;
+
+        private final Map<String, Object> params;
+
+        private final String host;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private final long submittedAt = System.nanoTime();
+
+        private Dispatch(Node node, ActionDefinition action, Map<String, Object> params, String host) {
+            this.node = node;
+            this.action = action;
+            this.params = params;
+            this.host = host;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tencent.dataflow.domain.executor;
+
+import com.tencent.dataflow.domain.node.Node;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * ActionRequest - 批量调用中单个节点的行为请求
+ */
+@Value
+public class ActionRequest {
+
+    /**
+     * 目标节点
+     */
+    Node node;
+
+    /**
+     * 行为参数
+     */
+    Map<String, Object> params;
+}
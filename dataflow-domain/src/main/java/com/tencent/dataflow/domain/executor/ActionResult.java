@@ -0,0 +1,51 @@
+package com.tencent.dataflow.domain.executor;
+
+import com.tencent.dataflow.domain.node.Node;
+import lombok.Value;
+
+/**
+ * ActionResult - 批量调用中单个节点的执行结果
+ */
+@Value
+public class ActionResult {
+
+    /**
+     * 节点所属 Pipeline ID
+     */
+    String pipelineId;
+
+    /**
+     * 节点 ID
+     */
+    String nodeId;
+
+    /**
+     * 是否执行成功
+     */
+    boolean success;
+
+    /**
+     * 执行结果（通常是 executionId）
+     */
+    Object result;
+
+    /**
+     * 失败原因
+     */
+    String error;
+
+    public static ActionResult success(Node node, Object result) {
+        return new ActionResult(node.getPipelineId(), node.getId(), true, result, null);
+    }
+
+    public static ActionResult failure(Node node, String error) {
+        return new ActionResult(node.getPipelineId(), node.getId(), false, null, error);
+    }
+
+    /**
+     * 节点键 (pipelineId/nodeId)，批量结果按该键与请求对应
+     */
+    public String nodeKey() {
+        return Node.keyOf(pipelineId, nodeId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.tencent.dataflow.domain.executor;
+
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+
+/**
+ * StatePoller - 状态轮询器
+ * <p>
+ * 周期性调用 {@link TaskExecutor#getState} 获取声明了轮询间隔的状态，
+ * 值变化时发布 {@code state.<name>} 事件（attributes.kind = state，payload 包含 name 与 value）。
+ * </p>
+ */
+public interface StatePoller {
+
+    String EVENT_TYPE_PREFIX = "state.";
+
+    String ATTRIBUTE_KIND = "kind";
+
+    String KIND_STATE = "state";
+
+    String PAYLOAD_NAME = "name";
+
+    String PAYLOAD_VALUE = "value";
+
+    /**
+     * 开始轮询节点的某个状态；重复调用是幂等的
+     * @param node 节点
+     * @param state 状态定义
+     */
+    void watch(Node node, StateDefinition state);
+
+    /**
+     * 停止轮询节点的全部状态
+     * @param node 节点；按 (pipelineId, nodeId) 定位，不影响其他 Pipeline 的同名节点
+     */
+    void unwatch(Node node);
+
+    /**
+     * 当前轮询中的 (节点, 状态) 数量
+     */
+    int watchedCount();
+}
@@ -4,7 +4,10 @@ import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.taskschema.ActionDefinition;
 import com.tencent.dataflow.domain.taskschema.StateDefinition;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * TaskExecutor - 任务执行器接口
@@ -25,6 +28,47 @@ public interface TaskExecutor {
      */
     Object executeAction(Node node, ActionDefinition action, Map<String, Object> params);
 
+    /**
+     * 异步执行行为
+     * <p>
+     * 默认实现在调用线程上同步执行并包装结果；支持非阻塞 I/O 的执行器应覆盖此方法。
+     * </p>
+     * @param node 目标节点
+     * @param action 行为定义
+     * @param params 行为参数
+     * @return 执行结果
+     */
+    default CompletableFuture<Object> executeActionAsync(Node node, ActionDefinition action, Map<String, Object> params) {
+        try {
+            return CompletableFuture.completedFuture(executeAction(node, action, params));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 批量执行同一行为
+     * <p>
+     * 用于 {@link ActionDefinition#getBatchEndpoint()} 声明的批量端点。默认实现逐个调用 {@link #executeAction}；
+     * 单个节点失败不影响其它节点，结果按请求顺序逐个返回。
+     * </p>
+     * @param action 行为定义
+     * @param requests 各节点的请求
+     * @return 各节点的执行结果
+     */
+    default List<ActionResult> executeBatchAction(ActionDefinition action, List<ActionRequest> requests) {
+        List<ActionResult> results = new ArrayList<>(requests.size());
+        for (ActionRequest request : requests) {
+            Node node = request.getNode();
+            try {
+                results.add(ActionResult.success(node, executeAction(node, action, request.getParams())));
+            } catch (Exception e) {
+                results.add(ActionResult.failure(node, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     /**
      * 获取状态
      * @param node 目标节点
@@ -0,0 +1,213 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.EventMatchers;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * ConditionAnalyzer - 条件表达式静态分析器
+ * <p>
+ * 从条件表达式的语法树中提取事件订阅键 ({@link SubscriptionKey})，支持的形式：
+ * <ul>
+ *   <li>{@code event.type == 'x'} / {@code #event.type == 'x'}</li>
+ *   <li>{@code event.source == 'x'}</li>
+ *   <li>{@code event.source.endsWith('/nodes/x')}（参数需包含 '/'）</li>
+ *   <li>以上形式通过 {@code &&} / {@code ||} 组合</li>
+ *   <li>触发简写 {@code event:a.b}：类型为 a.b 或 b 的事件</li>
+ * </ul>
+ * 对 {@code a && b} 取更具选择性的一侧，对 {@code a || b} 取两侧的并集。
+ * 无法分析的条件返回 null，表示任意事件都可能使其成立（通配）。
+ * </p>
+ */
+public class ConditionAnalyzer {
+
+    private static final String EVENT = "event";
+
+    private static final String TYPE = "type";
+
+    private static final String SOURCE = "source";
+
+    private static final String ENDS_WITH = "endsWith";
+
+    private final ExpressionCache expressionCache;
+
+    public ConditionAnalyzer(ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
+    /**
+     * 分析条件表达式
+     * @param condition 条件表达式源码
+     * @return 订阅键集合；null 表示通配；空集合表示表达式不可能成立（如语法错误）
+     */
+    public Set<SubscriptionKey> analyze(String condition) {
+        if (condition == null || condition.isBlank()) {
+            return Collections.emptySet();
+        }
+        if (EventMatchers.isShorthand(condition)) {
+            return shorthandKeys(condition);
+        }
+        Expression expression;
+        try {
+            expression = expressionCache.lookup(condition);
+        } catch (ParseException e) {
+            // 语法错误的表达式求值时总是按 false 处理
+            return Collections.emptySet();
+        }
+        if (!(expression instanceof SpelExpression spelExpression)) {
+            return null;
+        }
+        return analyze(spelExpression.getAST());
+    }
+
+    private Set<SubscriptionKey> analyze(SpelNode node) {
+        if (node instanceof OpAnd) {
+            return moreSelective(analyze(node.getChild(0)), analyze(node.getChild(1)));
+        }
+        if (node instanceof OpOr) {
+            Set<SubscriptionKey> left = analyze(node.getChild(0));
+            Set<SubscriptionKey> right = analyze(node.getChild(1));
+            if (left == null || right == null) {
+                return null;
+            }
+            Set<SubscriptionKey> union = new LinkedHashSet<>(left);
+            union.addAll(right);
+            return union;
+        }
+        if (node instanceof OpEQ) {
+            SubscriptionKey key = analyzeEquality(node.getChild(0), node.getChild(1));
+            if (key == null) {
+                key = analyzeEquality(node.getChild(1), node.getChild(0));
+            }
+            return key != null ? Set.of(key) : null;
+        }
+        if (node instanceof CompoundExpression) {
+            SubscriptionKey key = analyzeEndsWith(node);
+            return key != null ? Set.of(key) : null;
+        }
+        return null;
+    }
+
+    /**
+     * event:a.b 匹配类型为 a.b 的事件，或来自节点 a、类型为 b 的事件
+     */
+    private Set<SubscriptionKey> shorthandKeys(String condition) {
+        String trigger = condition.substring(EventMatchers.SHORTHAND_PREFIX.length()).trim();
+        int dot = trigger.lastIndexOf('.');
+        if (dot <= 0 || dot == trigger.length() - 1) {
+            return Set.of(SubscriptionKey.type(trigger));
+        }
+        return Set.of(SubscriptionKey.type(trigger), SubscriptionKey.type(trigger.substring(dot + 1)));
+    }
+
+    /**
+     * event.type == 'x' / event.source == 'x'
+     */
+    private SubscriptionKey analyzeEquality(SpelNode property, SpelNode literal) {
+        if (!(literal instanceof StringLiteral stringLiteral)) {
+            return null;
+        }
+        String eventProperty = eventProperty(property);
+        if (eventProperty == null) {
+            return null;
+        }
+        String value = (String) stringLiteral.getLiteralValue().getValue();
+        if (TYPE.equals(eventProperty)) {
+            return SubscriptionKey.type(value);
+        }
+        if (SOURCE.equals(eventProperty)) {
+            return SubscriptionKey.source(value);
+        }
+        return null;
+    }
+
+    /**
+     * event.source.endsWith('.../x')
+     */
+    private SubscriptionKey analyzeEndsWith(SpelNode compound) {
+        if (compound.getChildCount() != 3
+                || !isEventReference(compound.getChild(0))
+                || !isProperty(compound.getChild(1), SOURCE)
+                || !(compound.getChild(2) instanceof MethodReference method)
+                || !ENDS_WITH.equals(method.getName())
+                || method.getChildCount() != 1
+                || !(method.getChild(0) instanceof StringLiteral literal)) {
+            return null;
+        }
+        String suffix = (String) literal.getLiteralValue().getValue();
+        // 后缀包含 '/' 时，source.endsWith(suffix) 等价于最后一段路径相同的必要条件
+        if (suffix == null || suffix.indexOf('/') < 0) {
+            return null;
+        }
+        return SubscriptionKey.sourceSegment(SubscriptionKey.lastSegment(suffix));
+    }
+
+    /**
+     * 若节点形如 event.xxx / #event.xxx，返回属性名 xxx
+     */
+    private String eventProperty(SpelNode node) {
+        if (node instanceof CompoundExpression
+                && node.getChildCount() == 2
+                && isEventReference(node.getChild(0))
+                && node.getChild(1) instanceof PropertyOrFieldReference property) {
+            return property.getName();
+        }
+        return null;
+    }
+
+    private boolean isEventReference(SpelNode node) {
+        String ast = node.toStringAST();
+        return EVENT.equals(ast) || ("#" + EVENT).equals(ast);
+    }
+
+    private boolean isProperty(SpelNode node, String name) {
+        return node instanceof PropertyOrFieldReference property && name.equals(property.getName());
+    }
+
+    /**
+     * 合取式中任意一侧都是必要条件，取选择性更强的一侧
+     */
+    private Set<SubscriptionKey> moreSelective(Set<SubscriptionKey> left, Set<SubscriptionKey> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.isEmpty() || right.isEmpty()) {
+            return Collections.emptySet();
+        }
+        int leftRank = selectivity(left);
+        int rightRank = selectivity(right);
+        if (leftRank != rightRank) {
+            return leftRank > rightRank ? left : right;
+        }
+        return left.size() <= right.size() ? left : right;
+    }
+
+    private int selectivity(Set<SubscriptionKey> keys) {
+        int rank = Integer.MAX_VALUE;
+        for (SubscriptionKey key : keys) {
+            int keyRank = switch (key.getKind()) {
+                case SOURCE -> 2;
+                case SOURCE_SEGMENT -> 1;
+                case TYPE -> 0;
+            };
+            rank = Math.min(rank, keyRank);
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,222 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.EventMatchers;
+import com.tencent.dataflow.domain.event.EventSource;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DependencyCompiler - 把 startWhen 中可识别的上游依赖编译为 {@link StartDependencies}
+ * <p>
+ * 只识别由 {@code &&} 连接的以下项，其他任何形式都返回 null，由 SpEL 求值：
+ * <ul>
+ *   <li>上游成功：{@code a.succeeded}、{@code a.isSucceeded()}、{@code a.status == 'succeeded'}（a 也可写作 #a）；</li>
+ *   <li>成功事件触发：{@code #event.source == '/pipelines/p/nodes/a'} 或 {@code #event.source.endsWith('/nodes/a')}，
+ *       且同时包含 {@code #event.type == 'succeeded'}。</li>
+ * </ul>
+ * 事件触发最多一个，事件源与事件类型条件必须同时出现。
+ * </p>
+ */
+public class DependencyCompiler {
+
+    private static final String SUCCEEDED = "succeeded";
+
+    private static final String IS_SUCCEEDED = "isSucceeded";
+
+    private static final String STATUS = "status";
+
+    private static final String TYPE = "type";
+
+    private static final String SOURCE = "source";
+
+    private static final String ENDS_WITH = "endsWith";
+
+    private static final Set<String> RESERVED = Set.of(EvaluationRoot.EVENT, EvaluationRoot.NODE,
+            EvaluationRoot.CORRELATION, "root", "this");
+
+    private final ExpressionCache expressionCache;
+
+    public DependencyCompiler(ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
+    /**
+     * @param startWhen 启动条件
+     * @return 编译结果；无法识别时返回 null
+     */
+    public StartDependencies compile(String startWhen) {
+        if (startWhen == null || startWhen.isBlank() || EventMatchers.isShorthand(startWhen)) {
+            return null;
+        }
+        Expression expression;
+        try {
+            expression = expressionCache.lookup(startWhen);
+        } catch (ParseException e) {
+            return null;
+        }
+        if (!(expression instanceof SpelExpression spelExpression)) {
+            return null;
+        }
+        List<SpelNode> terms = new ArrayList<>();
+        flattenAnd(spelExpression.getAST(), terms);
+
+        Set<String> upstreams = new LinkedHashSet<>();
+        String triggerSource = null;
+        String triggerSuffix = null;
+        boolean succeededType = false;
+        for (SpelNode term : terms) {
+            String upstream = upstreamSucceeded(term);
+            if (upstream != null) {
+                upstreams.add(upstream);
+                continue;
+            }
+            if (isEventTypeSucceeded(term) && !succeededType) {
+                succeededType = true;
+                continue;
+            }
+            String source = eventSourceEquals(term);
+            if (source != null && triggerSource == null && triggerSuffix == null) {
+                triggerSource = source;
+                continue;
+            }
+            String suffix = eventSourceEndsWith(term);
+            if (suffix != null && triggerSource == null && triggerSuffix == null) {
+                triggerSuffix = suffix;
+                continue;
+            }
+            return null;
+        }
+        boolean triggered = triggerSource != null || triggerSuffix != null;
+        if (triggered != succeededType || (!triggered && upstreams.isEmpty())) {
+            return null;
+        }
+        return new StartDependencies(Collections.unmodifiableSet(upstreams), triggerSource, triggerSuffix);
+    }
+
+    private static void flattenAnd(SpelNode node, List<SpelNode> terms) {
+        if (node instanceof OpAnd) {
+            flattenAnd(node.getChild(0), terms);
+            flattenAnd(node.getChild(1), terms);
+        } else {
+            terms.add(node);
+        }
+    }
+
+    /**
+     * a.succeeded / a.isSucceeded() / a.status == 'succeeded'，返回引用名 a
+     */
+    private static String upstreamSucceeded(SpelNode term) {
+        if (term instanceof OpEQ) {
+            if (isLiteral(term.getChild(1), SUCCEEDED)) {
+                return referenceWithProperty(term.getChild(0), STATUS);
+            }
+            return isLiteral(term.getChild(0), SUCCEEDED) ? referenceWithProperty(term.getChild(1), STATUS) : null;
+        }
+        if (term instanceof CompoundExpression && term.getChildCount() == 2) {
+            SpelNode last = term.getChild(1);
+            if (last instanceof MethodReference method) {
+                return IS_SUCCEEDED.equals(method.getName()) && method.getChildCount() == 0
+                        ? reference(term.getChild(0)) : null;
+            }
+            return referenceWithProperty(term, SUCCEEDED);
+        }
+        return null;
+    }
+
+    /**
+     * 形如 a.property / #a.property，返回引用名 a
+     */
+    private static String referenceWithProperty(SpelNode node, String property) {
+        if (node instanceof CompoundExpression && node.getChildCount() == 2
+                && node.getChild(1) instanceof PropertyOrFieldReference field
+                && property.equals(field.getName())) {
+            return reference(node.getChild(0));
+        }
+        return null;
+    }
+
+    private static String reference(SpelNode node) {
+        String name;
+        if (node instanceof PropertyOrFieldReference property) {
+            name = property.getName();
+        } else if (node instanceof VariableReference) {
+            name = node.toStringAST().substring(1);
+        } else {
+            return null;
+        }
+        return RESERVED.contains(name) ? null : name;
+    }
+
+    private static boolean isEventTypeSucceeded(SpelNode term) {
+        return term instanceof OpEQ
+                && (isEventProperty(term.getChild(0), TYPE) && isLiteral(term.getChild(1), SUCCEEDED)
+                || isEventProperty(term.getChild(1), TYPE) && isLiteral(term.getChild(0), SUCCEEDED));
+    }
+
+    /**
+     * event.source == '/pipelines/p/nodes/a'（必须是节点地址）
+     */
+    private static String eventSourceEquals(SpelNode term) {
+        if (!(term instanceof OpEQ)) {
+            return null;
+        }
+        SpelNode literal = isEventProperty(term.getChild(0), SOURCE) ? term.getChild(1)
+                : isEventProperty(term.getChild(1), SOURCE) ? term.getChild(0) : null;
+        if (!(literal instanceof StringLiteral stringLiteral)) {
+            return null;
+        }
+        String source = (String) stringLiteral.getLiteralValue().getValue();
+        return EventSource.parse(source) != null ? source : null;
+    }
+
+    /**
+     * event.source.endsWith('/nodes/a')
+     */
+    private static String eventSourceEndsWith(SpelNode term) {
+        if (!(term instanceof CompoundExpression)
+                || term.getChildCount() != 3
+                || !isEventReference(term.getChild(0))
+                || !(term.getChild(1) instanceof PropertyOrFieldReference property)
+                || !SOURCE.equals(property.getName())
+                || !(term.getChild(2) instanceof MethodReference method)
+                || !ENDS_WITH.equals(method.getName())
+                || method.getChildCount() != 1
+                || !(method.getChild(0) instanceof StringLiteral literal)) {
+            return null;
+        }
+        String suffix = (String) literal.getLiteralValue().getValue();
+        return suffix != null && suffix.indexOf('/') >= 0 ? suffix : null;
+    }
+
+    private static boolean isEventProperty(SpelNode node, String name) {
+        return node instanceof CompoundExpression
+                && node.getChildCount() == 2
+                && isEventReference(node.getChild(0))
+                && node.getChild(1) instanceof PropertyOrFieldReference property
+                && name.equals(property.getName());
+    }
+
+    private static boolean isEventReference(SpelNode node) {
+        String ast = node.toStringAST();
+        return EvaluationRoot.EVENT.equals(ast) || ("#" + EvaluationRoot.EVENT).equals(ast);
+    }
+
+    private static boolean isLiteral(SpelNode node, String value) {
+        return node instanceof StringLiteral literal && value.equals(literal.getLiteralValue().getValue());
+    }
+}
@@ -0,0 +1,131 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.runtime.Correlation;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * EvaluationRoot - 表达式求值根对象
+ * <p>
+ * 同一事件的所有节点共享一个根对象，只有 {@code node} 绑定随被评估节点变化。
+ * 其他节点的引用（如 {@code sql_node}，即节点 ID 中的 '-' 替换为 '_'）在表达式访问时才通过索引解析，
+ * 不再为每个节点预先注入全部节点。
+ * </p>
+ * <p>
+ * {@code correlation} 为当前事件所属的关联（事件没有 correlationId 时为 null）。
+ * 既不是 event / node / correlation 也不是节点引用的名字，按当前节点最近获取的状态值解析（如 {@code metrics.lag}）。
+ * </p>
+ * <p>
+ * 为兼容按 Map 访问根对象的表达式（如 {@code #root['sql_node']}），根对象实现了 Map 的只读查询，
+ * 但 {@link #entrySet()} 只包含 event 和 node，节点引用不可枚举。
+ * </p>
+ */
+public class EvaluationRoot extends AbstractMap<String, Object> {
+
+    public static final String EVENT = "event";
+
+    public static final String NODE = "node";
+
+    public static final String CORRELATION = "correlation";
+
+    private final Event event;
+
+    private final Function<String, Node> nodeResolver;
+
+    private final Correlation correlation;
+
+    private Node node;
+
+    /**
+     * @param event 当前事件
+     * @param nodeResolver 按引用名 (sanitized node id) 解析节点
+     */
+    public EvaluationRoot(Event event, Function<String, Node> nodeResolver) {
+        this(event, nodeResolver, null);
+    }
+
+    /**
+     * @param event 当前事件
+     * @param nodeResolver 按引用名 (sanitized node id) 解析节点
+     * @param correlation 事件所属的关联，可为 null
+     */
+    public EvaluationRoot(Event event, Function<String, Node> nodeResolver, Correlation correlation) {
+        this.event = event;
+        this.nodeResolver = nodeResolver;
+        this.correlation = correlation;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public Node getNode() {
+        return node;
+    }
+
+    public Correlation getCorrelation() {
+        return correlation;
+    }
+
+    void bindNode(Node node) {
+        this.node = node;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        return switch (name) {
+            case EVENT -> event;
+            case NODE -> node;
+            case CORRELATION -> correlation;
+            default -> resolve(name);
+        };
+    }
+
+    private Object resolve(String name) {
+        Node referenced = nodeResolver.apply(name);
+        if (referenced != null) {
+            return referenced;
+        }
+        Map<String, Object> states = node != null ? node.getStates() : null;
+        return states != null ? states.get(name) : null;
+    }
+
+    /**
+     * correlation 总是可解析（值可能为 null），以便表达式使用 {@code correlation?.allSucceeded}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return CORRELATION.equals(key) || get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> entries = new LinkedHashSet<>();
+        if (event != null) {
+            entries.add(new SimpleImmutableEntry<>(EVENT, event));
+        }
+        if (node != null) {
+            entries.add(new SimpleImmutableEntry<>(NODE, node));
+        }
+        if (correlation != null) {
+            entries.add(new SimpleImmutableEntry<>(CORRELATION, correlation));
+        }
+        return entries;
+    }
+
+    /**
+     * 节点引用名：节点 ID 中的 '-' 替换为 '_'，如 sql-node -> sql_node
+     */
+    public static String referenceName(String nodeId) {
+        return nodeId.replace('-', '_');
+    }
+}
@@ -0,0 +1,111 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.runtime.Correlation;
+import org.springframework.context.expression.MapAccessor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.function.Function;
+
+/**
+ * EventEvaluationContext - 事件级表达式求值上下文
+ * <p>
+ * 每个事件创建一次，在该事件评估的全部节点之间共享；评估每个节点前通过 {@link #bindNode(Node)} 切换当前节点。
+ * 根对象属性 ({@code event.type}, {@code sql_node.status}) 与变量 ({@code #event}, {@code #sql_node})
+ * 都按需解析，事件处理的开销与节点总数无关。
+ * </p>
+ * <p>
+ * 非线程安全：同一事件的评估在单个线程内完成。
+ * </p>
+ */
+public class EventEvaluationContext extends StandardEvaluationContext {
+
+    private static final PropertyAccessor ROOT_ACCESSOR = new EvaluationRootAccessor();
+
+    private static final PropertyAccessor MAP_ACCESSOR = new MapAccessor();
+
+    private final EvaluationRoot root;
+
+    /**
+     * @param event 当前事件
+     * @param nodeResolver 按引用名 (sanitized node id) 解析节点
+     */
+    public EventEvaluationContext(Event event, Function<String, Node> nodeResolver) {
+        this(new EvaluationRoot(event, nodeResolver));
+    }
+
+    /**
+     * @param event 当前事件
+     * @param nodeResolver 按引用名 (sanitized node id) 解析节点
+     * @param correlation 事件所属的关联，表达式中以 correlation / #correlation 访问；可为 null
+     */
+    public EventEvaluationContext(Event event, Function<String, Node> nodeResolver, Correlation correlation) {
+        this(new EvaluationRoot(event, nodeResolver, correlation));
+    }
+
+    private EventEvaluationContext(EvaluationRoot root) {
+        super(root);
+        this.root = root;
+        addPropertyAccessor(ROOT_ACCESSOR);
+        // 状态值与事件 payload 多为 Map，允许 metrics.lag 形式的属性访问
+        addPropertyAccessor(MAP_ACCESSOR);
+        setVariable(EvaluationRoot.EVENT, root.getEvent());
+    }
+
+    /**
+     * 切换当前评估的节点
+     * @param node 当前节点
+     * @return this
+     */
+    public EventEvaluationContext bindNode(Node node) {
+        root.bindNode(node);
+        return this;
+    }
+
+    public Event getEvent() {
+        return root.getEvent();
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        Object value = super.lookupVariable(name);
+        return value != null ? value : root.get(name);
+    }
+
+    /**
+     * 根对象属性访问器：event / node / correlation / 节点引用
+     */
+    private static final class EvaluationRootAccessor implements PropertyAccessor {
+
+        @Override
+        public Class<?>[] getSpecificTargetClasses() {
+            return new Class<?>[] {EvaluationRoot.class};
+        }
+
+        @Override
+        public boolean canRead(EvaluationContext context, Object target, String name) {
+            return target instanceof EvaluationRoot evaluationRoot && evaluationRoot.containsKey(name);
+        }
+
+        @Override
+        public TypedValue read(EvaluationContext context, Object target, String name) {
+            return new TypedValue(((EvaluationRoot) target).get(name));
+        }
+
+        @Override
+        public boolean canWrite(EvaluationContext context, Object target, String name) {
+            return false;
+        }
+
+        @Override
+        public void write(EvaluationContext context, Object target, String name, Object newValue)
+                throws AccessException {
+            throw new AccessException("Expression root is read-only: " + name);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.EventMatcher;
+import com.tencent.dataflow.domain.event.EventMatchers;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpNE;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+
+/**
+ * EventMatcherCompiler - 把只依赖事件类型 / 事件源的条件编译为原生 {@link EventMatcher}
+ * <p>
+ * 支持 {@code event.type == 'x'}、{@code event.source == 'x'}、{@code !=}、
+ * {@code event.source.endsWith('x')} 以及它们的 {@code &&} / {@code ||} 组合（event 也可写作 #event）。
+ * 其他任何形式返回 null，由 SpEL 求值。
+ * </p>
+ * <p>
+ * endsWith 在事件源为 null 时 SpEL 抛出异常，整个条件按 false 处理，而原生匹配器只把这一项当作 false。
+ * 在 {@code &&} 中两者结果一致（任一项为 false 则整体为 false）；
+ * 在 {@code ||} 之下则不一致，如 {@code event.source.endsWith('x') || event.type == 'y'}，
+ * 因此 endsWith 出现在取反或任何 {@code ||} 之下时不编译，由 SpEL 求值。
+ * </p>
+ */
+final class EventMatcherCompiler {
+
+    private static final String EVENT = "event";
+
+    private static final String TYPE = "type";
+
+    private static final String SOURCE = "source";
+
+    private static final String ENDS_WITH = "endsWith";
+
+    private EventMatcherCompiler() {
+    }
+
+    /**
+     * @param ast 条件表达式的语法树
+     * @return 原生匹配器；无法编译时返回 null
+     */
+    static EventMatcher compile(SpelNode ast) {
+        return compile(ast, false);
+    }
+
+    /**
+     * @param underOr 是否位于某个 {@code ||} 之下
+     */
+    private static EventMatcher compile(SpelNode ast, boolean underOr) {
+        if (ast instanceof OpAnd || ast instanceof OpOr) {
+            boolean childUnderOr = underOr || ast instanceof OpOr;
+            EventMatcher left = compile(ast.getChild(0), childUnderOr);
+            EventMatcher right = left != null ? compile(ast.getChild(1), childUnderOr) : null;
+            if (right == null) {
+                return null;
+            }
+            return ast instanceof OpAnd ? EventMatchers.and(left, right) : EventMatchers.or(left, right);
+        }
+        if (ast instanceof OpEQ) {
+            return equality(ast);
+        }
+        if (ast instanceof OpNE) {
+            EventMatcher equality = equality(ast);
+            return equality != null ? EventMatchers.not(equality) : null;
+        }
+        if (ast instanceof CompoundExpression && !underOr) {
+            return endsWith(ast);
+        }
+        return null;
+    }
+
+    private static EventMatcher equality(SpelNode operator) {
+        String property = eventProperty(operator.getChild(0));
+        SpelNode literal = operator.getChild(1);
+        if (property == null) {
+            property = eventProperty(operator.getChild(1));
+            literal = operator.getChild(0);
+        }
+        if (property == null || !(literal instanceof StringLiteral stringLiteral)) {
+            return null;
+        }
+        String value = (String) stringLiteral.getLiteralValue().getValue();
+        if (value == null) {
+            return null;
+        }
+        return switch (property) {
+            case TYPE -> EventMatchers.typeEquals(value);
+            case SOURCE -> EventMatchers.sourceEquals(value);
+            default -> null;
+        };
+    }
+
+    private static EventMatcher endsWith(SpelNode compound) {
+        if (compound.getChildCount() != 3
+                || !isEventReference(compound.getChild(0))
+                || !(compound.getChild(1) instanceof PropertyOrFieldReference property)
+                || !SOURCE.equals(property.getName())
+                || !(compound.getChild(2) instanceof MethodReference method)
+                || !ENDS_WITH.equals(method.getName())
+                || method.getChildCount() != 1
+                || !(method.getChild(0) instanceof StringLiteral literal)
+                || literal.getLiteralValue().getValue() == null) {
+            return null;
+        }
+        return EventMatchers.sourceEndsWith((String) literal.getLiteralValue().getValue());
+    }
+
+    private static String eventProperty(SpelNode node) {
+        if (node instanceof CompoundExpression
+                && node.getChildCount() == 2
+                && isEventReference(node.getChild(0))
+                && node.getChild(1) instanceof PropertyOrFieldReference property) {
+            return property.getName();
+        }
+        return null;
+    }
+
+    private static boolean isEventReference(SpelNode node) {
+        String ast = node.toStringAST();
+        return EVENT.equals(ast) || ("#" + EVENT).equals(ast);
+    }
+}
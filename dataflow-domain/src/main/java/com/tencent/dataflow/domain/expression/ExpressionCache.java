@@ -0,0 +1,280 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.EventMatcher;
+import com.tencent.dataflow.domain.event.EventMatchers;
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.PolicyRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ExpressionCache - 表达式缓存
+ * <p>
+ * 以表达式源码为 Key 缓存解析后的 SpEL {@link Expression}，避免每个事件、每个节点都重新解析。
+ * 解析器开启 SpEL 编译器：默认 MIXED 模式下，热点表达式在解释执行若干次后被编译为字节码，
+ * 若运行期类型变化导致编译结果失效，会自动回退到解释执行。
+ * </p>
+ * <p>
+ * 表达式全部来自节点定义（startWhen / ControlPolicy / 参数映射），数量随流水线定义而非事件量增长，
+ * 因此缓存不做淘汰。Pipeline 提交时通过 {@link #warmUp(Node)} 预先填充。
+ * </p>
+ * <p>
+ * 只依赖事件类型 / 事件源的条件以及触发简写 {@code event:upstream_node.succeeded} 同时编译为原生
+ * {@link EventMatcher}（见 {@link #matcher(String)}），求值只需几次字符串比较，不经过 SpEL。
+ * </p>
+ * <p>
+ * 解析表达式与原生匹配器分别统计命中：{@link #hitCount()} / {@link #missCount()} 只反映 SpEL 表达式的解析，
+ * {@link #matcherHitCount()} / {@link #matcherMissCount()} 反映匹配器的编译。语法错误的表达式同样缓存其解析失败，
+ * 之后的请求直接抛出缓存的 {@link ParseException}，不再重复解析。
+ * </p>
+ */
+@Slf4j
+public class ExpressionCache {
+
+    private final ExpressionParser parser;
+
+    /**
+     * 无法编译为原生匹配器的条件
+     */
+    private static final EventMatcher NOT_COMPILABLE = event -> false;
+
+    private final ConcurrentMap<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * 解析失败的表达式源码 -> 解析异常
+     */
+    private final ConcurrentMap<String, ParseException> parseFailures = new ConcurrentHashMap<>();
+
+    /**
+     * 条件源码 -> 原生匹配器（或 {@link #NOT_COMPILABLE}）
+     */
+    private final ConcurrentMap<String, EventMatcher> matchers = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder matcherHits = new LongAdder();
+
+    private final LongAdder matcherMisses = new LongAdder();
+
+    public ExpressionCache() {
+        this(SpelCompilerMode.MIXED);
+    }
+
+    /**
+     * @param compilerMode SpEL 编译模式 (OFF / IMMEDIATE / MIXED)
+     */
+    public ExpressionCache(SpelCompilerMode compilerMode) {
+        this.parser = new SpelExpressionParser(
+                new SpelParserConfiguration(compilerMode, ExpressionCache.class.getClassLoader()));
+    }
+
+    /**
+     * 获取表达式，未命中时解析并缓存
+     * @param source 表达式源码
+     * @return 解析后的表达式
+     * @throws ParseException 表达式语法错误
+     */
+    public Expression get(String source) {
+        Expression expression = expressions.get(source);
+        if (expression != null) {
+            hits.increment();
+            return expression;
+        }
+        ParseException failure = parseFailures.get(source);
+        if (failure != null) {
+            hits.increment();
+            throw failure;
+        }
+        misses.increment();
+        return parse(source);
+    }
+
+    /**
+     * 获取条件的原生匹配器
+     * <p>
+     * 计入匹配器的命中统计（无法编译的判定同样被缓存）；无法编译的条件返回 null，
+     * 调用方改用 {@link #get(String)} 的 SpEL 表达式。
+     * </p>
+     * @param condition 条件源码
+     * @return 原生匹配器；无法编译时返回 null
+     */
+    public EventMatcher matcher(String condition) {
+        EventMatcher matcher = matchers.get(condition);
+        if (matcher == null) {
+            matcherMisses.increment();
+            matcher = matchers.computeIfAbsent(condition, this::compile);
+        } else {
+            matcherHits.increment();
+        }
+        return matcher != NOT_COMPILABLE ? matcher : null;
+    }
+
+    /**
+     * 已编译为原生匹配器的条件数
+     */
+    public int matcherCount() {
+        int count = 0;
+        for (EventMatcher matcher : matchers.values()) {
+            if (matcher != NOT_COMPILABLE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取表达式，不计入命中统计（供提交期的静态分析使用）
+     */
+    Expression lookup(String source) {
+        Expression expression = expressions.get(source);
+        if (expression != null) {
+            return expression;
+        }
+        ParseException failure = parseFailures.get(source);
+        if (failure != null) {
+            throw failure;
+        }
+        return parse(source);
+    }
+
+    /**
+     * 预解析节点中的全部表达式
+     * <p>
+     * 语法错误的表达式只记录告警，不阻断提交；运行期求值时同样会按失败处理。
+     * </p>
+     * @param node 节点
+     */
+    public void warmUp(Node node) {
+        for (String condition : collectConditions(node)) {
+            matchers.computeIfAbsent(condition, this::compile);
+        }
+        for (String source : collectExpressions(node)) {
+            if (expressions.containsKey(source) || EventMatchers.isShorthand(source)) {
+                continue;
+            }
+            try {
+                lookup(source);
+            } catch (ParseException e) {
+                log.warn("Invalid expression in node [{}]: [{}]", node.getId(), source, e);
+            }
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long matcherHitCount() {
+        return matcherHits.sum();
+    }
+
+    public long matcherMissCount() {
+        return matcherMisses.sum();
+    }
+
+    public int size() {
+        return expressions.size();
+    }
+
+    public void clear() {
+        expressions.clear();
+        parseFailures.clear();
+        matchers.clear();
+    }
+
+    /**
+     * 解析并缓存表达式；解析失败时缓存异常
+     */
+    private Expression parse(String source) {
+        try {
+            return expressions.computeIfAbsent(source, parser::parseExpression);
+        } catch (ParseException e) {
+            parseFailures.putIfAbsent(source, e);
+            throw e;
+        }
+    }
+
+    private EventMatcher compile(String condition) {
+        if (EventMatchers.isShorthand(condition)) {
+            return EventMatchers.shorthand(condition);
+        }
+        try {
+            Expression expression = lookup(condition);
+            EventMatcher matcher = expression instanceof SpelExpression spelExpression
+                    ? EventMatcherCompiler.compile(spelExpression.getAST()) : null;
+            return matcher != null ? matcher : NOT_COMPILABLE;
+        } catch (ParseException e) {
+            return NOT_COMPILABLE;
+        }
+    }
+
+    /**
+     * 收集节点定义中的全部表达式源码
+     */
+    static List<String> collectExpressions(Node node) {
+        List<String> sources = collectConditions(node);
+        addValues(sources, node.getStartPayload());
+
+        ControlPolicy policy = node.getControlPolicy();
+        if (policy != null && policy.getCustomRules() != null) {
+            for (PolicyRule rule : policy.getCustomRules()) {
+                addValues(sources, rule.getActionParams());
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * 收集节点定义中的全部条件表达式（startWhen 与控制策略）
+     */
+    static List<String> collectConditions(Node node) {
+        List<String> sources = new ArrayList<>();
+        addIfPresent(sources, node.getStartWhen());
+
+        ControlPolicy policy = node.getControlPolicy();
+        if (policy != null) {
+            addIfPresent(sources, policy.getStopWhen());
+            addIfPresent(sources, policy.getRestartWhen());
+            addIfPresent(sources, policy.getRetryWhen());
+            if (policy.getCustomRules() != null) {
+                for (PolicyRule rule : policy.getCustomRules()) {
+                    addIfPresent(sources, rule.getCondition());
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static void addValues(List<String> sources, Map<String, String> exprs) {
+        if (exprs == null) return;
+        for (String expr : exprs.values()) {
+            addIfPresent(sources, expr);
+        }
+    }
+
+    private static void addIfPresent(List<String> sources, String expr) {
+        if (expr != null && !expr.isBlank()) {
+            sources.add(expr);
+        }
+    }
+}
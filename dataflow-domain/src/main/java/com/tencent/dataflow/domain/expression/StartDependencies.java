@@ -0,0 +1,29 @@
+package com.tencent.dataflow.domain.expression;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * StartDependencies - 由 startWhen 编译得到的上游依赖
+ * <p>
+ * 表示“全部上游成功（并且可选地，收到触发上游的成功事件）时启动”：
+ * <ul>
+ *   <li>upstreams：需处于成功状态的上游节点引用名；</li>
+ *   <li>triggerSource / triggerSuffix：需要收到来自该事件源（或以该后缀结尾的事件源）的 succeeded 事件，均为 null 时不需要事件触发。</li>
+ * </ul>
+ * </p>
+ */
+@Value
+public class StartDependencies {
+
+    Set<String> upstreams;
+
+    String triggerSource;
+
+    String triggerSuffix;
+
+    public boolean isEventTriggered() {
+        return triggerSource != null || triggerSuffix != null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tencent.dataflow.domain.expression;
+
+import lombok.Value;
+
+/**
+ * SubscriptionKey - 事件订阅键
+ * <p>
+ * 条件表达式成立的必要条件：只有满足该键的事件才可能使表达式求值为 true。
+ * 由 {@link ConditionAnalyzer} 对表达式做静态分析得出，用于构建事件订阅索引。
+ * </p>
+ */
+@Value
+public class SubscriptionKey {
+
+    public enum Kind {
+        /**
+         * event.type == 'x'
+         */
+        TYPE,
+
+        /**
+         * event.source == 'x'
+         */
+        SOURCE,
+
+        /**
+         * event.source.endsWith('.../x')：事件源最后一段路径等于 x
+         */
+        SOURCE_SEGMENT
+    }
+
+    Kind kind;
+
+    String value;
+
+    public static SubscriptionKey type(String type) {
+        return new SubscriptionKey(Kind.TYPE, type);
+    }
+
+    public static SubscriptionKey source(String source) {
+        return new SubscriptionKey(Kind.SOURCE, source);
+    }
+
+    public static SubscriptionKey sourceSegment(String segment) {
+        return new SubscriptionKey(Kind.SOURCE_SEGMENT, segment);
+    }
+
+    /**
+     * 取事件源的最后一段路径，如 "/pipelines/p1/nodes/node-a" -> "node-a"
+     */
+    public static String lastSegment(String source) {
+        return source.substring(source.lastIndexOf('/') + 1);
+    }
+}
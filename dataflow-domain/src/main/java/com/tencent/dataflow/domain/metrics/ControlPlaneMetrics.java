@@ -0,0 +1,56 @@
+package com.tencent.dataflow.domain.metrics;
+
+/**
+ * ControlPlaneMetrics - 控制平面各阶段的耗时指标
+ * <p>
+ * 领域层只定义埋点，不依赖具体的指标库；未配置实现时使用 {@link #NOOP}。
+ * 耗时均以纳秒为单位，由调用方以 System.nanoTime 计算：
+ * <ul>
+ *   <li>ingress：事件进入控制平面（发布）到源节点状态更新完成，包含排队与预写日志的等待；</li>
+ *   <li>matching：按订阅索引查找候选节点；</li>
+ *   <li>expression：单个条件表达式的求值；</li>
+ *   <li>dispatch：行为被触发到执行器开始调用，即分发队列与主机并发限制的等待；</li>
+ *   <li>executor：执行器调用的往返耗时。</li>
+ * </ul>
+ * </p>
+ */
+public interface ControlPlaneMetrics {
+
+    ControlPlaneMetrics NOOP = new ControlPlaneMetrics() {
+    };
+
+    /**
+     * 事件进入控制平面到源节点状态更新完成
+     */
+    default void recordIngress(long nanos) {
+    }
+
+    /**
+     * 候选节点匹配
+     * @param candidates 匹配到的候选节点数
+     */
+    default void recordMatching(long nanos, int candidates) {
+    }
+
+    /**
+     * 单个条件表达式求值
+     */
+    default void recordExpression(long nanos) {
+    }
+
+    /**
+     * 行为分发等待
+     */
+    default void recordDispatch(String action, long nanos) {
+    }
+
+    /**
+     * 执行器调用往返
+     * @param taskType 任务类型
+     * @param action 行为名称
+     * @param protocol 访问协议
+     * @param success 调用是否成功
+     */
+    default void recordExecutorCall(String taskType, String action, String protocol, long nanos, boolean success) {
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -25,6 +26,14 @@ public class Node {
      */
     private String id;
 
+    /**
+     * 所属 Pipeline ID
+     * <p>
+     * 提交 Pipeline 时设置，与节点 ID 共同构成事件源地址 "/pipelines/{pipelineId}/nodes/{nodeId}"。
+     * </p>
+     */
+    private String pipelineId;
+
     /**
      * 节点名称 (可读性更好)
      */
@@ -51,7 +60,7 @@ public class Node {
     /**
      * 触发条件表达式
      * <p>
-     * 定义节点何时启动。
+     * 定义节点何时启动：SpEL 表达式，或触发简写 "event:{节点引用名}.{事件类型}"。
      * 示例: "event:upstream_node.succeeded"
      * </p>
      */
@@ -80,6 +89,14 @@ public class Node {
      */
     private String status;
 
+    /**
+     * 当前状态对应事件的发生时间 (Event.time)
+     * <p>
+     * 用于识别乱序到达的事件：早于终态事件发生的非生命周期事件不再改写状态。
+     * </p>
+     */
+    private Instant statusTime;
+
     /**
      * 节点输出数据
      * <p>
@@ -88,6 +105,33 @@ public class Node {
      */
     private Map<String, Object> outputs;
 
+    /**
+     * 当前执行实例 ID
+     * <p>
+     * 由 ControlPlane 根据事件 (Event.executionId) 更新。
+     * </p>
+     */
+    private String executionId;
+
+    /**
+     * 最近一次获取到的状态值: 状态名 -> 值
+     * <p>
+     * 由 ControlPlane 根据状态轮询事件 (state.&lt;name&gt;) 更新，表达式中可直接按状态名引用，如 {@code metrics.lag}。
+     * </p>
+     */
+    private Map<String, Object> states;
+
+    /**
+     * 节点的全局键 "pipelineId/nodeId"
+     * <p>
+     * 节点 ID 只在 Pipeline 内唯一，跨 Pipeline 索引节点（缓存、轮询订阅、批量结果等）时必须使用该键；
+     * 未归属 Pipeline 的节点直接使用节点 ID。
+     * </p>
+     */
+    public static String keyOf(String pipelineId, String nodeId) {
+        return pipelineId != null ? pipelineId + "/" + nodeId : nodeId;
+    }
+
     public boolean isSucceeded() {
         return "succeeded".equalsIgnoreCase(status);
     }
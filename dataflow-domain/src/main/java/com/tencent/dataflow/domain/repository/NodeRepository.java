@@ -1,21 +1,59 @@
 package com.tencent.dataflow.domain.repository;
 
 import com.tencent.dataflow.domain.node.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 public interface NodeRepository {
     /**
      * 根据 ID 查找节点
+     * <p>
+     * 节点 ID 只在 Pipeline 内唯一，必须同时给出 pipelineId。
+     * </p>
+     * @param pipelineId Pipeline ID；null 表示未归属任何 Pipeline 的节点
+     * @param nodeId 节点 ID
      */
-    Node findById(String nodeId);
+    Node findById(String pipelineId, String nodeId);
 
     /**
      * 查找所有活跃的节点 (简化版，实际可能根据 PipelineId 或订阅关系查找)
      */
     List<Node> findAllActiveNodes();
 
+    /**
+     * 查找某个 Pipeline 的活跃节点
+     * <p>
+     * 默认实现过滤全部活跃节点，仓储应按 pipelineId 直接查询以免每个事件扫描全部节点。
+     * </p>
+     * @param pipelineId Pipeline ID；null 表示未归属任何 Pipeline 的节点
+     */
+    default List<Node> findActiveNodesByPipeline(String pipelineId) {
+        List<Node> nodes = new ArrayList<>();
+        for (Node node : findAllActiveNodes()) {
+            if (Objects.equals(pipelineId, node.getPipelineId())) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
     /**
      * 保存节点
      */
     void save(Node node);
+
+    /**
+     * 批量保存节点
+     * <p>
+     * 控制平面按事件批次调用，同一批次内被多次修改的节点只保存一次；默认逐个保存。
+     * </p>
+     */
+    default void saveAll(Collection<Node> nodes) {
+        for (Node node : nodes) {
+            save(node);
+        }
+    }
 }
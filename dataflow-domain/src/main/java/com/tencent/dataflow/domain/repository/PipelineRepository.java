@@ -0,0 +1,31 @@
+package com.tencent.dataflow.domain.repository;
+
+import com.tencent.dataflow.domain.pipeline.Pipeline;
+
+import java.util.List;
+
+/**
+ * Pipeline 仓储
+ * <p>
+ * 只保存 Pipeline 的元数据；Pipeline 包含的节点由 {@link NodeRepository} 保存，
+ * 按 pipelineId 通过 {@link NodeRepository#findActiveNodesByPipeline(String)} 查询。
+ * </p>
+ */
+public interface PipelineRepository {
+
+    /**
+     * 保存（新增或更新）Pipeline 元数据
+     */
+    void save(Pipeline pipeline);
+
+    /**
+     * 按 ID 查找 Pipeline
+     * @return Pipeline 元数据（不含节点）；不存在时返回 null
+     */
+    Pipeline findById(String pipelineId);
+
+    /**
+     * 全部 Pipeline 的 ID
+     */
+    List<String> findAllIds();
+}
@@ -0,0 +1,166 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.EventDefinition;
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Correlation - 一个逻辑关联 (correlationId) 的参与者视图
+ * <p>
+ * 参与者是携带该 correlationId 的事件所来自的节点，以及在处理这类事件时被启动的节点（状态为 null，即尚未上报）。
+ * 表达式中通过 {@code correlation} / {@code #correlation} 访问当前事件所属的关联，例如
+ * {@code correlation.allSucceeded}、{@code correlation.statuses['etl/sql-node'] == 'succeeded'}。
+ * 节点 ID 只在 Pipeline 内唯一，nodes / statuses 以节点键 {@code pipelineId/nodeId}（见 {@link Node#keyOf}）标识参与节点。
+ * 事件没有 correlationId 时 {@code correlation} 为 null，需使用安全导航：{@code correlation?.allSucceeded == true}。
+ * </p>
+ */
+public class Correlation {
+
+    private final String id;
+
+    /**
+     * 参与者键 (pipelineId/nodeId) -> 参与者
+     */
+    private final ConcurrentMap<String, Participant> participants = new ConcurrentHashMap<>();
+
+    private volatile long lastUpdatedMillis;
+
+    Correlation(String id, long now) {
+        this.id = id;
+        this.lastUpdatedMillis = now;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getSize() {
+        return participants.size();
+    }
+
+    public Collection<Participant> getParticipants() {
+        return participants.values();
+    }
+
+    /**
+     * 参与节点的节点键 (pipelineId/nodeId)
+     */
+    public Set<String> getNodes() {
+        Set<String> nodes = new LinkedHashSet<>();
+        for (Participant participant : participants.values()) {
+            if (participant.getNodeId() != null) {
+                nodes.add(Node.keyOf(participant.getPipelineId(), participant.getNodeId()));
+            }
+        }
+        return nodes;
+    }
+
+    public Set<String> getExecutionIds() {
+        Set<String> executionIds = new LinkedHashSet<>();
+        for (Participant participant : participants.values()) {
+            if (participant.getExecutionId() != null) {
+                executionIds.add(participant.getExecutionId());
+            }
+        }
+        return executionIds;
+    }
+
+    /**
+     * 节点键 (pipelineId/nodeId) -> 最近状态
+     */
+    public Map<String, String> getStatuses() {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (Participant participant : participants.values()) {
+            if (participant.getNodeId() != null) {
+                statuses.put(Node.keyOf(participant.getPipelineId(), participant.getNodeId()), participant.getStatus());
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * 全部参与者都已成功；没有参与者时为 false
+     */
+    public boolean isAllSucceeded() {
+        if (participants.isEmpty()) {
+            return false;
+        }
+        for (Participant participant : participants.values()) {
+            if (!EventDefinition.EVENT_SUCCEEDED.equalsIgnoreCase(participant.getStatus())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isAnyFailed() {
+        for (Participant participant : participants.values()) {
+            if (EventDefinition.EVENT_FAILED.equalsIgnoreCase(participant.getStatus())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 全部参与者都已结束（成功、失败或停止）；已完成的关联保留一段时间后才从索引中回收
+     */
+    public boolean isCompleted() {
+        if (participants.isEmpty()) {
+            return false;
+        }
+        for (Participant participant : participants.values()) {
+            if (!participant.isTerminal()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getLastUpdatedMillis() {
+        return lastUpdatedMillis;
+    }
+
+    void update(String key, Participant participant, long now) {
+        participants.put(key, participant);
+        lastUpdatedMillis = now;
+    }
+
+    Participant get(String key) {
+        return participants.get(key);
+    }
+
+    void remove(String key) {
+        participants.remove(key);
+    }
+
+    /**
+     * 参与者快照；状态变化时整体替换
+     */
+    @Value
+    public static class Participant {
+
+        String pipelineId;
+
+        String nodeId;
+
+        String executionId;
+
+        /**
+         * 最近状态；null 表示已被启动但尚未上报
+         */
+        String status;
+
+        public boolean isTerminal() {
+            return EventDefinition.isTerminal(status);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.node.Node;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * CorrelationIndex - correlationId 到参与节点的索引
+ * <p>
+ * 由事件增量维护：携带 correlationId 的事件把其源节点的最新状态与 executionId 记入对应关联，
+ * 处理这类事件时被启动的节点以“未上报”状态加入关联。策略因此可以直接判断一个关联的整体进度，而无需扫描节点。
+ * 执行实例绑定到节点之前到达的事件暂以 executionId 作为参与者，节点可定位后合并为该节点的参与者。
+ * </p>
+ * <p>
+ * 全部参与者结束后关联不会立即回收：下游节点可能在稍后才因同一 correlationId 被启动并加入，
+ * 过早回收会让它看到一个只有自己的新关联。已完成的关联在 completedRetention 内没有新事件时才被清理；
+ * 长时间没有任何事件的关联（如参与者崩溃、不再上报）在超过 idleTimeout 后被清理，索引大小与活跃关联数成正比。
+ * </p>
+ */
+public class CorrelationIndex {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final long DEFAULT_COMPLETED_RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ConcurrentMap<String, Correlation> correlations = new ConcurrentHashMap<>();
+
+    private final long idleTimeoutMillis;
+
+    private final long completedRetentionMillis;
+
+    private final LongSupplier clock;
+
+    private volatile long nextSweepAt;
+
+    public CorrelationIndex() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_COMPLETED_RETENTION_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param idleTimeoutMillis 关联无事件超过该时间后被清理
+     * @param completedRetentionMillis 已完成的关联无事件超过该时间后被清理
+     * @param clock 时钟
+     */
+    public CorrelationIndex(long idleTimeoutMillis, long completedRetentionMillis, LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.completedRetentionMillis = Math.min(completedRetentionMillis, idleTimeoutMillis);
+        this.clock = clock;
+        this.nextSweepAt = clock.getAsLong() + sweepInterval();
+    }
+
+    /**
+     * 记录事件
+     * @param event 事件
+     * @param source 产生事件的节点；无法定位时为 null，此时以 executionId / source 作为参与者
+     * @return 事件所属的关联；事件没有 correlationId 时返回 null
+     */
+    public Correlation record(Event event, Node source) {
+        String correlationId = event.getCorrelationId();
+        if (correlationId == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+        Correlation correlation = correlations.computeIfAbsent(correlationId, id -> new Correlation(id, now));
+        if (source != null) {
+            String executionId = event.getExecutionId() != null ? event.getExecutionId() : source.getExecutionId();
+            correlation.update(keyOf(source), new Correlation.Participant(
+                    source.getPipelineId(), source.getId(), executionId, source.getStatus()), now);
+            // 绑定到节点之前到达的事件以 executionId 记为参与者，节点已可定位后由节点参与者取代
+            if (event.getExecutionId() != null) {
+                correlation.remove(event.getExecutionId());
+            }
+            if (source.getExecutionId() != null) {
+                correlation.remove(source.getExecutionId());
+            }
+        } else {
+            String key = event.getExecutionId() != null ? event.getExecutionId() : event.getSource();
+            if (key != null) {
+                Correlation.Participant previous = correlation.get(key);
+                String status = isStateEvent(event) && previous != null ? previous.getStatus() : event.getType();
+                correlation.update(key, new Correlation.Participant(
+                        event.getPipelineId(), null, event.getExecutionId(), status), now);
+            }
+        }
+        return correlation;
+    }
+
+    /**
+     * 节点因关联中的事件被启动（或重启），作为尚未上报的参与者加入关联
+     */
+    public void join(String correlationId, Node node) {
+        if (correlationId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        correlations.computeIfAbsent(correlationId, id -> new Correlation(id, now))
+                .update(keyOf(node), new Correlation.Participant(node.getPipelineId(), node.getId(), null, null), now);
+    }
+
+    public Correlation get(String correlationId) {
+        return correlationId != null ? correlations.get(correlationId) : null;
+    }
+
+    /**
+     * 索引中的关联数，包含保留期内已完成的关联
+     */
+    public int size() {
+        return correlations.size();
+    }
+
+    /**
+     * 尚未完成的关联数
+     */
+    public int activeCount() {
+        int count = 0;
+        for (Correlation correlation : correlations.values()) {
+            if (!correlation.isCompleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void sweepIfDue(long now) {
+        if (now < nextSweepAt) {
+            return;
+        }
+        nextSweepAt = now + sweepInterval();
+        correlations.values().removeIf(correlation -> isExpired(correlation, now));
+    }
+
+    private boolean isExpired(Correlation correlation, long now) {
+        long idle = now - correlation.getLastUpdatedMillis();
+        return idle >= idleTimeoutMillis || (idle >= completedRetentionMillis && correlation.isCompleted());
+    }
+
+    private long sweepInterval() {
+        return Math.max(1, completedRetentionMillis / 10);
+    }
+
+    private static boolean isStateEvent(Event event) {
+        return StatePoller.KIND_STATE.equals(event.attribute(StatePoller.ATTRIBUTE_KIND));
+    }
+
+    private static String keyOf(Node node) {
+        return Node.keyOf(node.getPipelineId(), node.getId());
+    }
+}
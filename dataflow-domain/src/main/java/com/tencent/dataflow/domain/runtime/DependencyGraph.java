@@ -0,0 +1,206 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.expression.StartDependencies;
+import com.tencent.dataflow.domain.expression.SubscriptionKey;
+import com.tencent.dataflow.domain.taskschema.EventDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DependencyGraph - 启动依赖的有向无环图
+ * <p>
+ * startWhen 被编译为上游依赖的节点（见 {@code DependencyCompiler}）不再参与每个事件的 SpEL 求值，
+ * 而是在图中维护一个待满足依赖计数：上游变为成功时其全部下游计数减一，上游离开成功状态（如重跑）时加一。
+ * 因此一次状态变化的开销与上游的出度成正比，与 Pipeline 中的节点数无关。
+ * </p>
+ * <p>
+ * 节点就绪的时机：
+ * <ul>
+ *   <li>只依赖上游状态的节点：计数降为 0 时就绪（包括注册时上游已全部成功）；</li>
+ *   <li>依赖成功事件触发的节点：收到匹配的 succeeded 事件且计数为 0 时就绪，与原表达式一样每个匹配的事件都会触发。</li>
+ * </ul>
+ * 就绪的节点进入就绪队列，由控制平面在处理事件时取出。同一次就绪只触发一次：
+ * 节点启动失败后不会因其他无关事件被反复启动，重试交给 retryWhen。
+ * </p>
+ * <p>
+ * 上游按表达式中的引用名匹配，只在同一个节点表（同一 Pipeline）内解析。
+ * </p>
+ */
+public class DependencyGraph {
+
+    /**
+     * nodeId -> 依赖
+     */
+    private final Map<String, Dependent> dependents = new HashMap<>();
+
+    /**
+     * 上游引用名 -> 下游 nodeId
+     */
+    private final Map<String, Set<String>> downstreams = new HashMap<>();
+
+    /**
+     * 触发事件源 -> 下游 nodeId
+     */
+    private final Map<String, Set<String>> bySource = new HashMap<>();
+
+    /**
+     * 触发事件源后缀的最后一段路径 -> 下游 nodeId
+     */
+    private final Map<String, Set<String>> bySourceSegment = new HashMap<>();
+
+    /**
+     * 当前处于成功状态的节点引用名
+     */
+    private final Set<String> succeeded = new HashSet<>();
+
+    private final Set<String> ready = new LinkedHashSet<>();
+
+    /**
+     * 注册（或替换）节点的启动依赖
+     * <p>
+     * 节点重新注册（如仓储返回了新的节点实例）而依赖未变化时保留原有的计数与就绪状态，
+     * 否则已消费过的就绪会被重新触发。
+     * </p>
+     */
+    public synchronized void add(String nodeId, StartDependencies dependencies) {
+        Dependent existing = dependents.get(nodeId);
+        if (existing != null && existing.dependencies.equals(dependencies)) {
+            return;
+        }
+        remove(nodeId);
+        Dependent dependent = new Dependent(dependencies);
+        for (String upstream : dependencies.getUpstreams()) {
+            downstreams.computeIfAbsent(upstream, k -> new LinkedHashSet<>()).add(nodeId);
+            if (!succeeded.contains(upstream)) {
+                dependent.pending++;
+            }
+        }
+        if (dependencies.getTriggerSource() != null) {
+            bySource.computeIfAbsent(dependencies.getTriggerSource(), k -> new LinkedHashSet<>()).add(nodeId);
+        }
+        if (dependencies.getTriggerSuffix() != null) {
+            bySourceSegment.computeIfAbsent(SubscriptionKey.lastSegment(dependencies.getTriggerSuffix()),
+                    k -> new LinkedHashSet<>()).add(nodeId);
+        }
+        dependents.put(nodeId, dependent);
+        if (dependent.pending == 0 && !dependencies.isEventTriggered()) {
+            ready.add(nodeId);
+        }
+    }
+
+    public synchronized void remove(String nodeId) {
+        Dependent dependent = dependents.remove(nodeId);
+        if (dependent == null) {
+            return;
+        }
+        ready.remove(nodeId);
+        StartDependencies dependencies = dependent.dependencies;
+        for (String upstream : dependencies.getUpstreams()) {
+            removeFrom(downstreams, upstream, nodeId);
+        }
+        if (dependencies.getTriggerSource() != null) {
+            removeFrom(bySource, dependencies.getTriggerSource(), nodeId);
+        }
+        if (dependencies.getTriggerSuffix() != null) {
+            removeFrom(bySourceSegment, SubscriptionKey.lastSegment(dependencies.getTriggerSuffix()), nodeId);
+        }
+    }
+
+    public synchronized boolean contains(String nodeId) {
+        return dependents.containsKey(nodeId);
+    }
+
+    public synchronized int size() {
+        return dependents.size();
+    }
+
+    /**
+     * 尚未满足的上游依赖数
+     * @return 依赖数；节点没有编译的依赖时返回 -1
+     */
+    public synchronized int pending(String nodeId) {
+        Dependent dependent = dependents.get(nodeId);
+        return dependent != null ? dependent.pending : -1;
+    }
+
+    /**
+     * 上游节点的状态变化
+     * @param referenceName 上游节点引用名
+     * @param isSucceeded 上游当前是否成功
+     */
+    public synchronized void updateStatus(String referenceName, boolean isSucceeded) {
+        boolean changed = isSucceeded ? succeeded.add(referenceName) : succeeded.remove(referenceName);
+        if (!changed) {
+            return;
+        }
+        Set<String> nodeIds = downstreams.get(referenceName);
+        if (nodeIds == null) {
+            return;
+        }
+        for (String nodeId : nodeIds) {
+            Dependent dependent = dependents.get(nodeId);
+            if (isSucceeded) {
+                dependent.pending--;
+                if (dependent.pending == 0 && !dependent.dependencies.isEventTriggered()) {
+                    ready.add(nodeId);
+                }
+            } else {
+                dependent.pending++;
+                ready.remove(nodeId);
+            }
+        }
+    }
+
+    /**
+     * 取出就绪的节点：就绪队列，以及被本事件触发且依赖已满足的节点
+     * @param event 当前事件
+     * @return 就绪节点 ID
+     */
+    public synchronized List<String> drainReady(Event event) {
+        List<String> result = new ArrayList<>(ready);
+        ready.clear();
+        String source = event.getSource();
+        if (source == null || !EventDefinition.EVENT_SUCCEEDED.equals(event.getType())) {
+            return result;
+        }
+        for (String nodeId : bySource.getOrDefault(source, Collections.emptySet())) {
+            if (dependents.get(nodeId).pending == 0) {
+                result.add(nodeId);
+            }
+        }
+        for (String nodeId : bySourceSegment.getOrDefault(SubscriptionKey.lastSegment(source),
+                Collections.emptySet())) {
+            Dependent dependent = dependents.get(nodeId);
+            if (dependent.pending == 0 && source.endsWith(dependent.dependencies.getTriggerSuffix())) {
+                result.add(nodeId);
+            }
+        }
+        return result;
+    }
+
+    private static void removeFrom(Map<String, Set<String>> index, String key, String nodeId) {
+        Set<String> nodeIds = index.get(key);
+        if (nodeIds != null && nodeIds.remove(nodeId) && nodeIds.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static final class Dependent {
+
+        private final StartDependencies dependencies;
+
+        private int pending;
+
+        private Dependent(StartDependencies dependencies) {
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.expression.ConditionAnalyzer;
+import com.tencent.dataflow.domain.expression.DependencyCompiler;
+import com.tencent.dataflow.domain.expression.EvaluationRoot;
+import com.tencent.dataflow.domain.expression.StartDependencies;
+import com.tencent.dataflow.domain.expression.SubscriptionKey;
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.PolicyRule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * NodeTable - 运行期节点表
+ * <p>
+ * 控制平面持有的活跃节点视图，负责维护事件订阅索引、事件源到节点的索引以及表达式中节点引用名的索引。
+ * 节点注册时对其全部条件做一次静态分析，之后每个事件只需查询索引得到候选节点。
+ * </p>
+ * <p>
+ * 通过 {@link #sync(Collection)} 与仓储中的活跃节点对账：按值比较 startWhen 与 ControlPolicy 判断条件是否变化，
+ * 条件未变化的节点不会重复分析；仓储每次返回新实例时，只替换表中的节点实例并同步状态与执行实例。
+ * 节点的条件表达式视为不可变，修改条件需替换 startWhen 或 ControlPolicy 对象。
+ * </p>
+ * <p>
+ * 配置了 {@link DependencyCompiler} 时，startWhen 可编译为上游依赖的节点进入 {@link DependencyGraph}，
+ * 其 startWhen 不再参与订阅与 SpEL 求值，由 {@link #readyNodes(Event)} 给出就绪的节点。
+ * 依赖图只跟踪本表内节点的状态，因此只有引用的上游全部注册在本表中时才编译；
+ * 引用了其他表（如共享表）节点的 startWhen 仍由 SpEL 求值，待上游注册到本表后再编译，上游被移除时退回 SpEL。
+ * </p>
+ */
+public class NodeTable {
+
+    private final ConditionAnalyzer conditionAnalyzer;
+
+    private final DependencyCompiler dependencyCompiler;
+
+    private final NodeTableListener listener;
+
+    private final DependencyGraph dependencyGraph = new DependencyGraph();
+
+    private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> nodeIdByExecution = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> nodeIdByReference = new ConcurrentHashMap<>();
+
+    /**
+     * startWhen 可编译、但引用的上游尚未全部注册在本表中的节点 ID
+     */
+    private final Set<String> deferred = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 最近一次完成对账的节点列表
+     */
+    private volatile Collection<Node> lastSynced;
+
+    public NodeTable(ConditionAnalyzer conditionAnalyzer) {
+        this(conditionAnalyzer, null);
+    }
+
+    /**
+     * @param conditionAnalyzer 条件分析器
+     * @param dependencyCompiler startWhen 依赖编译器；null 表示全部 startWhen 由 SpEL 求值
+     */
+    public NodeTable(ConditionAnalyzer conditionAnalyzer, DependencyCompiler dependencyCompiler) {
+        this(conditionAnalyzer, dependencyCompiler, NodeTableListener.NOOP);
+    }
+
+    /**
+     * @param conditionAnalyzer 条件分析器
+     * @param dependencyCompiler startWhen 依赖编译器；null 表示全部 startWhen 由 SpEL 求值
+     * @param listener 节点注册与移除的监听器
+     */
+    public NodeTable(ConditionAnalyzer conditionAnalyzer, DependencyCompiler dependencyCompiler,
+                     NodeTableListener listener) {
+        this.conditionAnalyzer = conditionAnalyzer;
+        this.dependencyCompiler = dependencyCompiler;
+        this.listener = listener;
+    }
+
+    /**
+     * 与仓储中的活跃节点对账
+     * <p>
+     * 可被多个线程并发调用：注册是幂等的，移除只在表中节点多于入参时发生。
+     * 入参与上次对账的是同一个列表实例时直接返回，因此调用方不应原地修改已传入的列表。
+     * </p>
+     * @param nodes 当前全部活跃节点
+     * @return 是否执行了对账；入参未变化时返回 false
+     */
+    public boolean sync(Collection<Node> nodes) {
+        if (nodes == lastSynced) {
+            return false;
+        }
+        for (Node node : nodes) {
+            put(node);
+        }
+        // 表中节点是入参的超集，数量一致即说明没有被移除的节点
+        if (entries.size() > nodes.size()) {
+            Set<String> activeIds = new HashSet<>(nodes.size() * 2);
+            for (Node node : nodes) {
+                activeIds.add(node.getId());
+            }
+            List<Node> removedNodes = new ArrayList<>();
+            entries.values().removeIf(entry -> {
+                if (!activeIds.contains(entry.node.getId())) {
+                    subscriptionIndex.unsubscribe(entry.node.getId());
+                    unbindExecution(entry);
+                    nodeIdByReference.remove(EvaluationRoot.referenceName(entry.node.getId()), entry.node.getId());
+                    dependencyGraph.remove(entry.node.getId());
+                    dependencyGraph.updateStatus(EvaluationRoot.referenceName(entry.node.getId()), false);
+                    deferred.remove(entry.node.getId());
+                    removedNodes.add(entry.node);
+                    return true;
+                }
+                return false;
+            });
+            if (!removedNodes.isEmpty()) {
+                demoteNonLocal();
+                for (Node node : removedNodes) {
+                    listener.onRemoved(node);
+                }
+            }
+        }
+        lastSynced = nodes;
+        return true;
+    }
+
+    /**
+     * 注册或更新单个节点
+     * @param node 节点
+     */
+    public void put(Node node) {
+        Entry entry = entries.get(node.getId());
+        if (entry == null || entry.isConditionChanged(node)) {
+            register(node);
+            if (!deferred.isEmpty()) {
+                promoteDeferred();
+            }
+        } else if (entry.node != node) {
+            refresh(entry, node);
+        }
+    }
+
+    /**
+     * 查询可能受事件影响的候选节点
+     * @param event 事件
+     * @return 候选节点
+     */
+    public List<Node> candidates(Event event) {
+        Set<String> ids = subscriptionIndex.candidates(event);
+        List<Node> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                result.add(entry.node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 定位产生事件的节点
+     * <p>
+     * 优先按事件源地址 (pipelineId, nodeId) 查找；事件源缺失或不是节点地址时，按 executionId 查找。
+     * </p>
+     * @param event 事件
+     * @return 产生事件的节点；无法定位时返回 null
+     */
+    public Node resolve(Event event) {
+        EventSource source = EventSource.parse(event.getSource());
+        if (source != null) {
+            Entry entry = entries.get(source.getNodeId());
+            if (entry == null) {
+                return null;
+            }
+            String pipelineId = entry.node.getPipelineId();
+            boolean samePipeline = pipelineId == null || source.getPipelineId() == null
+                    || pipelineId.equals(source.getPipelineId());
+            return samePipeline ? entry.node : null;
+        }
+        if (event.getSource() == null && event.getExecutionId() != null) {
+            String nodeId = nodeIdByExecution.get(event.getExecutionId());
+            return nodeId != null ? get(nodeId) : null;
+        }
+        return null;
+    }
+
+    /**
+     * 节点状态变化后更新其下游的依赖计数
+     * @param node 状态已变化的节点；不在本表中时忽略
+     */
+    public void updateStatus(Node node) {
+        Entry entry = entries.get(node.getId());
+        if (entry != null && entry.node == node) {
+            dependencyGraph.updateStatus(EvaluationRoot.referenceName(node.getId()), node.isSucceeded());
+        }
+    }
+
+    /**
+     * 取出启动依赖已满足的节点
+     * @param event 当前事件，用于匹配事件触发的依赖
+     * @return 就绪节点
+     */
+    public List<Node> readyNodes(Event event) {
+        List<String> ids = dependencyGraph.drainReady(event);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Node> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                result.add(entry.node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 节点的 startWhen 是否已编译为依赖（不再需要 SpEL 求值）
+     */
+    public boolean isCompiled(Node node) {
+        return dependencyGraph.contains(node.getId());
+    }
+
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * 记录节点当前的执行实例
+     * @param node 节点
+     * @param executionId 执行实例 ID
+     */
+    public void bindExecution(Node node, String executionId) {
+        node.setExecutionId(executionId);
+        Entry entry = entries.get(node.getId());
+        if (entry == null || executionId.equals(entry.executionId)) {
+            return;
+        }
+        unbindExecution(entry);
+        entry.executionId = executionId;
+        nodeIdByExecution.put(executionId, node.getId());
+    }
+
+    /**
+     * 按表达式中的引用名查找节点
+     * @param referenceName 引用名，如 sql_node
+     * @return 节点；不存在时返回 null
+     */
+    public Node findByReference(String referenceName) {
+        String nodeId = nodeIdByReference.get(referenceName);
+        return nodeId != null ? get(nodeId) : null;
+    }
+
+    public Node get(String nodeId) {
+        Entry entry = entries.get(nodeId);
+        return entry != null ? entry.node : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry register(Node node) {
+        Entry entry = new Entry(node, dependencyCompiler != null
+                ? dependencyCompiler.compile(node.getStartWhen()) : null);
+        Entry previous = entries.put(node.getId(), entry);
+        if (previous != null) {
+            unbindExecution(previous);
+        }
+        boolean compiled = entry.dependencies != null && isLocal(entry.dependencies);
+        if (compiled) {
+            dependencyGraph.add(node.getId(), entry.dependencies);
+            deferred.remove(node.getId());
+        } else {
+            dependencyGraph.remove(node.getId());
+            if (entry.dependencies != null) {
+                deferred.add(node.getId());
+            } else {
+                deferred.remove(node.getId());
+            }
+        }
+        subscriptionIndex.subscribe(node.getId(), analyze(node, !compiled));
+        nodeIdByReference.put(EvaluationRoot.referenceName(node.getId()), node.getId());
+        dependencyGraph.updateStatus(EvaluationRoot.referenceName(node.getId()), node.isSucceeded());
+        if (node.getExecutionId() != null) {
+            bindExecution(node, node.getExecutionId());
+        }
+        listener.onRegistered(node);
+        return entry;
+    }
+
+    /**
+     * 条件未变化的节点只替换实例，并同步其状态与执行实例，不重新分析订阅与编译依赖
+     */
+    private void refresh(Entry entry, Node node) {
+        entry.node = node;
+        dependencyGraph.updateStatus(EvaluationRoot.referenceName(node.getId()), node.isSucceeded());
+        if (node.getExecutionId() != null) {
+            bindExecution(node, node.getExecutionId());
+        }
+    }
+
+    /**
+     * 依赖引用的上游是否全部注册在本表中
+     */
+    private boolean isLocal(StartDependencies dependencies) {
+        for (String upstream : dependencies.getUpstreams()) {
+            if (!nodeIdByReference.containsKey(upstream)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 上游已全部注册到本表的延迟节点改为编译
+     */
+    private void promoteDeferred() {
+        for (String nodeId : deferred) {
+            Entry entry = entries.get(nodeId);
+            if (entry == null) {
+                deferred.remove(nodeId);
+            } else if (isLocal(entry.dependencies)) {
+                register(entry.node);
+            }
+        }
+    }
+
+    /**
+     * 上游已从本表移除的编译节点退回 SpEL 求值
+     */
+    private void demoteNonLocal() {
+        for (Entry entry : entries.values()) {
+            if (entry.dependencies != null && !deferred.contains(entry.node.getId()) && !isLocal(entry.dependencies)) {
+                register(entry.node);
+            }
+        }
+    }
+
+    private void unbindExecution(Entry entry) {
+        if (entry.executionId != null) {
+            nodeIdByExecution.remove(entry.executionId, entry.node.getId());
+        }
+    }
+
+    /**
+     * 合并节点全部条件的订阅键：任一条件为通配，则节点为通配
+     * @param includeStartWhen startWhen 已编译为依赖时不参与订阅
+     */
+    private Set<SubscriptionKey> analyze(Node node, boolean includeStartWhen) {
+        List<String> conditions = new ArrayList<>();
+        if (includeStartWhen) {
+            conditions.add(node.getStartWhen());
+        }
+        ControlPolicy policy = node.getControlPolicy();
+        if (policy != null) {
+            conditions.add(policy.getStopWhen());
+            conditions.add(policy.getRestartWhen());
+            conditions.add(policy.getRetryWhen());
+            if (policy.getCustomRules() != null) {
+                for (PolicyRule rule : policy.getCustomRules()) {
+                    conditions.add(rule.getCondition());
+                }
+            }
+        }
+
+        Set<SubscriptionKey> keys = new LinkedHashSet<>();
+        for (String condition : conditions) {
+            Set<SubscriptionKey> conditionKeys = conditionAnalyzer.analyze(condition);
+            if (conditionKeys == null) {
+                return null;
+            }
+            keys.addAll(conditionKeys);
+        }
+        return keys.isEmpty() ? Collections.emptySet() : keys;
+    }
+
+    private static final class Entry {
+
+        private volatile Node node;
+
+        private final String startWhen;
+
+        private final ControlPolicy controlPolicy;
+
+        /**
+         * startWhen 编译得到的依赖；不可编译时为 null
+         */
+        private final StartDependencies dependencies;
+
+        private volatile String executionId;
+
+        private Entry(Node node, StartDependencies dependencies) {
+            this.node = node;
+            this.startWhen = node.getStartWhen();
+            this.controlPolicy = node.getControlPolicy();
+            this.dependencies = dependencies;
+        }
+
+        private boolean isConditionChanged(Node current) {
+            return !Objects.equals(startWhen, current.getStartWhen())
+                    || !Objects.equals(controlPolicy, current.getControlPolicy());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.node.Node;
+
+/**
+ * NodeTableListener - 节点表变更监听器
+ * <p>
+ * 节点注册到节点表（含条件变化后的重新注册）与从节点表移除时回调，
+ * 用于维护与活跃节点生命周期一致的外部订阅（如状态轮询）。仅替换实例、条件未变化的节点不回调。
+ * 回调在对账线程中同步执行，实现应保持轻量且幂等。
+ * </p>
+ */
+public interface NodeTableListener {
+
+    NodeTableListener NOOP = new NodeTableListener() {
+    };
+
+    /**
+     * 节点已注册到节点表
+     */
+    default void onRegistered(Node node) {
+    }
+
+    /**
+     * 节点已从节点表移除
+     */
+    default void onRemoved(Node node) {
+    }
+}
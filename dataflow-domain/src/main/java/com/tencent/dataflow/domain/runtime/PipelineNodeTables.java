@@ -0,0 +1,207 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.expression.ConditionAnalyzer;
+import com.tencent.dataflow.domain.expression.DependencyCompiler;
+import com.tencent.dataflow.domain.node.Node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * PipelineNodeTables - 按 Pipeline 划分的节点表
+ * <p>
+ * 每个 Pipeline 拥有独立的 {@link NodeTable}（订阅索引、事件源索引、节点引用名均限定在 Pipeline 内），
+ * 事件只在所属 Pipeline 内评估，单个事件的开销取决于 Pipeline 的规模而不是全部节点数。
+ * 事件所属的 Pipeline 依次取 event.pipelineId、事件源地址中的 pipelineId、executionId 绑定的节点所在的 Pipeline。
+ * </p>
+ * <p>
+ * 跨 Pipeline 的事件（如维护窗口）须显式声明：attributes.scope = global 的事件分发给全部 Pipeline。
+ * 未归属任何 Pipeline 的节点（pipelineId 为空）放在共享表中，接收所有事件，与按 Pipeline 划分之前的行为一致。
+ * </p>
+ */
+public class PipelineNodeTables {
+
+    /**
+     * 共享表的键：未归属任何 Pipeline 的节点
+     */
+    private static final String SHARED = "";
+
+    private final ConditionAnalyzer conditionAnalyzer;
+
+    private final DependencyCompiler dependencyCompiler;
+
+    private final NodeTableListener listener;
+
+    private final ConcurrentMap<String, NodeTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * executionId -> pipelineId，用于只携带 executionId 的事件
+     */
+    private final ConcurrentMap<String, String> pipelineByExecution = new ConcurrentHashMap<>();
+
+    public PipelineNodeTables(ConditionAnalyzer conditionAnalyzer, DependencyCompiler dependencyCompiler) {
+        this(conditionAnalyzer, dependencyCompiler, NodeTableListener.NOOP);
+    }
+
+    /**
+     * @param listener 各节点表中节点注册与移除的监听器
+     */
+    public PipelineNodeTables(ConditionAnalyzer conditionAnalyzer, DependencyCompiler dependencyCompiler,
+                              NodeTableListener listener) {
+        this.conditionAnalyzer = conditionAnalyzer;
+        this.dependencyCompiler = dependencyCompiler;
+        this.listener = listener;
+    }
+
+    /**
+     * 事件是否显式声明为全局事件
+     */
+    public static boolean isGlobal(Event event) {
+        return Event.SCOPE_GLOBAL.equals(event.attribute(Event.ATTRIBUTE_SCOPE));
+    }
+
+    /**
+     * 事件所属的 Pipeline
+     * @return pipelineId；无法确定时返回 null
+     */
+    public String pipelineOf(Event event) {
+        if (event.getPipelineId() != null) {
+            return event.getPipelineId();
+        }
+        EventSource source = EventSource.parse(event.getSource());
+        if (source != null && source.getPipelineId() != null) {
+            return source.getPipelineId();
+        }
+        return event.getExecutionId() != null ? pipelineByExecution.get(event.getExecutionId()) : null;
+    }
+
+    /**
+     * 与仓储中某个 Pipeline 的活跃节点对账
+     * @param pipelineId Pipeline ID；null 表示共享表
+     * @param nodes 该 Pipeline 的全部活跃节点
+     * @return 该 Pipeline 的节点表
+     */
+    public NodeTable sync(String pipelineId, Collection<Node> nodes) {
+        String key = keyOf(pipelineId);
+        NodeTable table = tables.computeIfAbsent(key, k -> newTable());
+        if (table.sync(nodes) && pipelineId != null) {
+            for (Node node : nodes) {
+                if (node.getExecutionId() != null) {
+                    pipelineByExecution.put(node.getExecutionId(), pipelineId);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 与仓储中全部 Pipeline 的活跃节点对账（全局事件）；已不存在的 Pipeline 的节点表被清空
+     * @param pipelineIds 当前存在活跃节点的 Pipeline；null 表示共享表
+     * @param loader 按 Pipeline 加载活跃节点，同一 Pipeline 未变化时应返回同一个列表实例
+     * @return 全部节点表
+     */
+    public List<NodeTable> syncAll(Collection<String> pipelineIds,
+                                   Function<String, ? extends Collection<Node>> loader) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String pipelineId : pipelineIds) {
+            keys.add(keyOf(pipelineId));
+        }
+        keys.addAll(tables.keySet());
+        List<NodeTable> synced = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String pipelineId = SHARED.equals(key) ? null : key;
+            synced.add(sync(pipelineId, loader.apply(pipelineId)));
+        }
+        return synced;
+    }
+
+    /**
+     * 注册或更新单个节点
+     */
+    public void put(Node node) {
+        tables.computeIfAbsent(keyOf(node.getPipelineId()), k -> newTable()).put(node);
+        if (node.getPipelineId() != null && node.getExecutionId() != null) {
+            pipelineByExecution.put(node.getExecutionId(), node.getPipelineId());
+        }
+    }
+
+    /**
+     * 节点所在 Pipeline 的节点表
+     * @return 节点表；尚未创建时返回 null
+     */
+    public NodeTable tableOf(String pipelineId) {
+        return tables.get(keyOf(pipelineId));
+    }
+
+    /**
+     * 节点表中的当前节点实例
+     * @param pipelineId Pipeline ID；null 表示共享表
+     * @param nodeId 节点 ID
+     * @return 节点；不在节点表中时返回 null
+     */
+    public Node find(String pipelineId, String nodeId) {
+        NodeTable table = tableOf(pipelineId);
+        return table != null ? table.get(nodeId) : null;
+    }
+
+    /**
+     * 记录节点当前的执行实例
+     */
+    public void bindExecution(Node node, String executionId) {
+        String previous = node.getExecutionId();
+        NodeTable table = tableOf(node.getPipelineId());
+        if (table != null) {
+            table.bindExecution(node, executionId);
+        } else {
+            node.setExecutionId(executionId);
+        }
+        if (node.getPipelineId() != null) {
+            if (previous != null && !previous.equals(executionId)) {
+                pipelineByExecution.remove(previous, node.getPipelineId());
+            }
+            pipelineByExecution.put(executionId, node.getPipelineId());
+        }
+    }
+
+    /**
+     * 全部 Pipeline 的节点数
+     */
+    public int size() {
+        int size = 0;
+        for (NodeTable table : tables.values()) {
+            size += table.size();
+        }
+        return size;
+    }
+
+    /**
+     * startWhen 已编译为依赖的节点数（全部 Pipeline）
+     */
+    public int compiledCount() {
+        int count = 0;
+        for (NodeTable table : tables.values()) {
+            count += table.getDependencyGraph().size();
+        }
+        return count;
+    }
+
+    public int pipelineCount() {
+        return tables.size();
+    }
+
+    private NodeTable newTable() {
+        return new NodeTable(conditionAnalyzer, dependencyCompiler, listener);
+    }
+
+    private static String keyOf(String pipelineId) {
+        return pipelineId != null ? pipelineId : SHARED;
+    }
+}
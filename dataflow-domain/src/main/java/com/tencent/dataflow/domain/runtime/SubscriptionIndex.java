@@ -0,0 +1,102 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.expression.SubscriptionKey;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SubscriptionIndex - 事件订阅索引
+ * <p>
+ * 按事件类型、事件源、事件源最后一段路径索引节点 ID。
+ * 收到事件时只返回可能受影响的候选节点，而不是全部节点。
+ * 条件无法静态分析的节点进入通配桶，对所有事件都是候选。
+ * </p>
+ */
+public class SubscriptionIndex {
+
+    private final ConcurrentMap<String, Set<String>> byType = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Set<String>> bySource = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Set<String>> bySourceSegment = new ConcurrentHashMap<>();
+
+    private final Set<String> wildcard = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentMap<String, Set<SubscriptionKey>> keysByNode = new ConcurrentHashMap<>();
+
+    /**
+     * 订阅
+     * @param nodeId 节点 ID
+     * @param keys 订阅键；null 表示通配，空集合表示不订阅任何事件
+     */
+    public void subscribe(String nodeId, Set<SubscriptionKey> keys) {
+        unsubscribe(nodeId);
+        if (keys == null) {
+            wildcard.add(nodeId);
+            return;
+        }
+        for (SubscriptionKey key : keys) {
+            bucketOf(key).computeIfAbsent(key.getValue(), k -> ConcurrentHashMap.newKeySet()).add(nodeId);
+        }
+        keysByNode.put(nodeId, keys);
+    }
+
+    /**
+     * 取消订阅
+     * @param nodeId 节点 ID
+     */
+    public void unsubscribe(String nodeId) {
+        wildcard.remove(nodeId);
+        Set<SubscriptionKey> keys = keysByNode.remove(nodeId);
+        if (keys == null) return;
+        for (SubscriptionKey key : keys) {
+            Map<String, Set<String>> bucket = bucketOf(key);
+            Set<String> subscribers = bucket.get(key.getValue());
+            if (subscribers != null) {
+                subscribers.remove(nodeId);
+                if (subscribers.isEmpty()) {
+                    bucket.remove(key.getValue(), subscribers);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查询可能受事件影响的候选节点
+     * @param event 事件
+     * @return 候选节点 ID
+     */
+    public Set<String> candidates(Event event) {
+        Set<String> result = new LinkedHashSet<>();
+        addAll(result, bySource, event.getSource());
+        if (event.getSource() != null && !bySourceSegment.isEmpty()) {
+            addAll(result, bySourceSegment, SubscriptionKey.lastSegment(event.getSource()));
+        }
+        addAll(result, byType, event.getType());
+        result.addAll(wildcard);
+        return result;
+    }
+
+    public int wildcardSize() {
+        return wildcard.size();
+    }
+
+    private void addAll(Set<String> result, Map<String, Set<String>> bucket, String value) {
+        if (value == null) return;
+        result.addAll(bucket.getOrDefault(value, Collections.emptySet()));
+    }
+
+    private Map<String, Set<String>> bucketOf(SubscriptionKey key) {
+        return switch (key.getKind()) {
+            case TYPE -> byType;
+            case SOURCE -> bySource;
+            case SOURCE_SEGMENT -> bySourceSegment;
+        };
+    }
+}
@@ -1,7 +1,11 @@
 package com.tencent.dataflow.domain.service;
 
 import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventListener;
 import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
+
+import java.util.List;
 
 /**
  * ControlPlaneService - 控制平面服务接口
@@ -12,7 +16,17 @@ import com.tencent.dataflow.domain.node.Node;
  * 3. 触发相应的行为 (Action)
  * </p>
  */
-public interface ControlPlaneService {
+public interface ControlPlaneService extends EventListener {
+
+    /**
+     * 控制平面内部事件：异步行为返回的 executionId 交回控制循环绑定到节点
+     * （attributes.kind = binding，payload.executionId 为执行实例 ID）
+     */
+    String EVENT_EXECUTION_BOUND = "execution.bound";
+
+    String KIND_BINDING = "binding";
+
+    String PAYLOAD_EXECUTION_ID = "executionId";
 
     /**
      * 处理事件并评估控制策略
@@ -21,8 +35,54 @@ public interface ControlPlaneService {
      * </p>
      * @param event 发生的事件
      */
+    @Override
     void onEvent(Event event);
 
+    /**
+     * 按顺序处理一批事件
+     * <p>
+     * 每个事件的处理结果与逐个调用 {@link #onEvent} 相同；节点只在批次开始时加载一次，
+     * 批次内的节点状态更新合并为一次仓储写入，异步行为在批次结束时统一分发。
+     * 单个事件处理失败不影响批次内的其他事件。
+     * </p>
+     * @param events 事件列表，按发布顺序排列
+     */
+    @Override
+    void onEvents(List<Event> events);
+
+    /**
+     * 事件所属的 Pipeline
+     * <p>
+     * 依次取 pipelineId、事件源地址中的 pipelineId、executionId 绑定的 Pipeline，
+     * 与处理事件时选择节点表的方式一致；事件引擎据此分区，保证同一 Pipeline 的事件由同一线程按序处理。
+     * 可在任意线程调用。
+     * </p>
+     * @param event 事件
+     * @return pipelineId；无法确定时返回 null
+     */
+    String pipelineOf(Event event);
+
+    /**
+     * 注册流水线
+     * <p>
+     * Pipeline 提交时调用，预先完成节点表达式的解析等准备工作，避免在事件热路径上重复处理。
+     * </p>
+     * @param pipeline 已提交的流水线
+     */
+    void registerPipeline(Pipeline pipeline);
+
+    /**
+     * 控制平面当前持有的节点实例
+     * <p>
+     * 仓储可能每次返回新的节点实例，需要读取节点最新状态的组件（如状态轮询器）应在使用时按地址解析，
+     * 而不是长期持有注册时的实例。可在任意线程调用。
+     * </p>
+     * @param pipelineId Pipeline ID；null 表示未归属 Pipeline 的节点
+     * @param nodeId 节点 ID
+     * @return 节点；不在活跃节点中时返回 null
+     */
+    Node findNode(String pipelineId, String nodeId);
+
     /**
      * 手动执行节点行为
      * @param node 目标节点
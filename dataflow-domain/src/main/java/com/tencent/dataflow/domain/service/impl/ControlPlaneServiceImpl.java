@@ -1,26 +1,55 @@
 package com.tencent.dataflow.domain.service.impl;
 
 import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventDeduplicator;
+import com.tencent.dataflow.domain.event.EventMatcher;
+import com.tencent.dataflow.domain.event.EventPriority;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.executor.ActionDispatcher;
+import com.tencent.dataflow.domain.executor.StatePoller;
 import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.expression.ConditionAnalyzer;
+import com.tencent.dataflow.domain.expression.DependencyCompiler;
+import com.tencent.dataflow.domain.expression.EvaluationRoot;
+import com.tencent.dataflow.domain.expression.EventEvaluationContext;
+import com.tencent.dataflow.domain.expression.ExpressionCache;
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
 import com.tencent.dataflow.domain.node.ControlPolicy;
 import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.node.PolicyRule;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
 import com.tencent.dataflow.domain.repository.NodeRepository;
+import com.tencent.dataflow.domain.runtime.Correlation;
+import com.tencent.dataflow.domain.runtime.CorrelationIndex;
+import com.tencent.dataflow.domain.runtime.NodeTable;
+import com.tencent.dataflow.domain.runtime.NodeTableListener;
+import com.tencent.dataflow.domain.runtime.PipelineNodeTables;
 import com.tencent.dataflow.domain.service.ControlPlaneService;
 import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
 import com.tencent.dataflow.domain.taskschema.TaskSchema;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -32,45 +61,378 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
     // In a real app, this would be a service to look up schemas
     private final Map<String, TaskSchema> schemaRegistry; 
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionCache expressionCache = new ExpressionCache();
+
+    /**
+     * 按 Pipeline 划分的节点表：事件只在所属 Pipeline（以及未归属 Pipeline 的共享节点）内评估；
+     * 节点注册与移除时同步开始、停止状态轮询
+     */
+    private final PipelineNodeTables pipelineTables = new PipelineNodeTables(new ConditionAnalyzer(expressionCache),
+            new DependencyCompiler(expressionCache), new StateWatchListener());
+
+    private final CorrelationIndex correlationIndex = new CorrelationIndex();
+
+    /**
+     * 共享节点表（未归属 Pipeline 的节点）的访问锁；共享表为空时不加锁
+     */
+    private final Object sharedTableLock = new Object();
+
+    /**
+     * 异步行为分发器；未配置时行为在控制循环中同步执行
+     */
+    private ActionDispatcher actionDispatcher;
+
+    /**
+     * 状态轮询器；未配置时不轮询状态
+     */
+    private StatePoller statePoller;
+
+    private ControlPlaneMetrics metrics = ControlPlaneMetrics.NOOP;
+
+    /**
+     * 事件发布器：异步行为完成后，绑定事件经由它交回节点所属的分区；未配置时暂存到 pendingBindings
+     */
+    private EventPublisher eventPublisher;
+
+    private final Queue<Event> pendingBindings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 事件去重；未配置时不去重
+     */
+    private EventDeduplicator eventDeduplicator;
+
+    @Autowired(required = false)
+    public void setActionDispatcher(ActionDispatcher actionDispatcher) {
+        this.actionDispatcher = actionDispatcher;
+    }
+
+    @Autowired(required = false)
+    public void setStatePoller(StatePoller statePoller) {
+        this.statePoller = statePoller;
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(ControlPlaneMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 事件发布器依赖控制平面，延迟注入以避免循环依赖
+     */
+    @Autowired(required = false)
+    public void setEventPublisher(@Lazy EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Autowired(required = false)
+    public void setEventDeduplicator(EventDeduplicator eventDeduplicator) {
+        this.eventDeduplicator = eventDeduplicator;
+    }
 
     @Override
     public void onEvent(Event event) {
+        EventBatch batch = new EventBatch();
+        try {
+            processPendingBindings(batch);
+            process(event, batch);
+        } finally {
+            flush(batch);
+        }
+    }
+
+    @Override
+    public void onEvents(List<Event> events) {
+        EventBatch batch = new EventBatch();
+        try {
+            processPendingBindings(batch);
+            for (Event event : events) {
+                try {
+                    process(event, batch);
+                } catch (Exception e) {
+                    log.error("Failed to process event [{}] of type [{}]", event.getId(), event.getType(), e);
+                }
+            }
+        } finally {
+            flush(batch);
+        }
+        log.debug("Processed batch of {} events, saved {} nodes", events.size(), batch.saved.size());
+    }
+
+    /**
+     * 未配置事件发布器时，异步行为完成后暂存的绑定在控制循环中处理
+     */
+    private void processPendingBindings(EventBatch batch) {
+        Event binding;
+        while ((binding = pendingBindings.poll()) != null) {
+            process(binding, batch);
+        }
+    }
+
+    /**
+     * 处理单个事件；节点写入与异步行为记录到批次中，由 {@link #flush} 统一提交
+     */
+    private void process(Event event, EventBatch batch) {
+        event.markIngress();
+        if (eventDeduplicator != null && eventDeduplicator.isDuplicate(event)) {
+            log.debug("Dropped duplicate event [{}] of type [{}]", event.getId(), event.getType());
+            return;
+        }
         log.info("Received event: {}", event.getType());
         
-        List<Node> nodes = nodeRepository.findAllActiveNodes();
-        
+        List<NodeTable> tables = tablesOf(event, batch);
+        if (batch.table(null).size() == 0) {
+            evaluate(event, tables, batch);
+            return;
+        }
+        // 共享节点表接收所有 Pipeline 的事件，各分区线程串行访问
+        synchronized (sharedTableLock) {
+            evaluate(event, tables, batch);
+        }
+    }
+
+    private void evaluate(Event event, List<NodeTable> tables, EventBatch batch) {
+        if (isBinding(event)) {
+            applyBinding(event, tables, batch);
+            return;
+        }
         // 0. Update state of the source node based on event
-        updateNodeState(nodes, event);
+        Node source = updateNodeState(event, tables, batch);
+        if (source != null) {
+            for (NodeTable table : tables) {
+                table.updateStatus(source);
+            }
+        }
+        Correlation correlation = correlationIndex.record(event, source);
+        long matchStart = System.nanoTime();
+        metrics.recordIngress(matchStart - event.ingressNanos());
 
-        // 1. Find affected nodes (Simplified: find all for demo)
-        for (Node node : nodes) {
-            try {
-                // 1. Evaluate Control Policy (Running nodes)
-                evaluateNodePolicy(node, event, nodes);
-                
-                // 2. Evaluate Start Condition (Waiting nodes)
-                evaluateStartCondition(node, event, nodes);
-            } catch (Exception e) {
-                log.error("Failed to evaluate policy for node {}", node.getId(), e);
+        // 1. Find affected nodes via the subscription index of each table in scope
+        List<List<Node>> candidatesByTable = new ArrayList<>(tables.size());
+        int candidateCount = 0;
+        for (NodeTable table : tables) {
+            List<Node> candidates = table.candidates(event);
+            candidatesByTable.add(candidates);
+            candidateCount += candidates.size();
+        }
+        metrics.recordMatching(System.nanoTime() - matchStart, candidateCount);
+        for (int i = 0; i < tables.size(); i++) {
+            NodeTable table = tables.get(i);
+            List<Node> candidates = candidatesByTable.get(i);
+            // Nodes whose compiled start dependencies became satisfied
+            List<Node> ready = table.readyNodes(event);
+            if (candidates.isEmpty() && ready.isEmpty()) continue;
+            EventEvaluationContext context = new EventEvaluationContext(event,
+                    referencesOf(table, tables), correlation);
+            for (Node node : candidates) {
+                try {
+                    context.bindNode(node);
+
+                    // 1. Evaluate Control Policy (Running nodes)
+                    evaluateNodePolicy(node, context, batch);
+
+                    // 2. Evaluate Start Condition (Waiting nodes)
+                    if (!table.isCompiled(node)) {
+                        evaluateStartCondition(node, context, batch);
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to evaluate policy for node {}", node.getId(), e);
+                }
+            }
+            for (Node node : ready) {
+                try {
+                    startReadyNode(node, context.bindNode(node), batch);
+                } catch (Exception e) {
+                    log.error("Failed to start node {}", node.getId(), e);
+                }
+            }
+        }
+        if (correlation != null && correlation.isCompleted()) {
+            log.debug("Correlation [{}] completed", correlation.getId());
+        }
+    }
+
+    /**
+     * 提交批次：先保存批次内更新过的节点，再按触发顺序分发异步行为
+     */
+    private void flush(EventBatch batch) {
+        if (!batch.saved.isEmpty()) {
+            nodeRepository.saveAll(batch.saved);
+        }
+        for (PendingAction action : batch.actions) {
+            dispatch(action.node, action.actionName, action.definition, action.params);
+        }
+    }
+
+    @Override
+    public String pipelineOf(Event event) {
+        return pipelineTables.pipelineOf(event);
+    }
+
+    @Override
+    public void registerPipeline(Pipeline pipeline) {
+        if (pipeline.getNodes() == null) return;
+        for (Node node : pipeline.getNodes()) {
+            if (node.getPipelineId() == null) {
+                node.setPipelineId(pipeline.getId());
             }
+            expressionCache.warmUp(node);
+            pipelineTables.put(node);
+        }
+        log.info("Registered pipeline [{}], cached expressions: {}", pipeline.getId(), expressionCache.size());
+    }
+
+    @Override
+    public Node findNode(String pipelineId, String nodeId) {
+        return pipelineTables.find(pipelineId, nodeId);
+    }
+
+    public ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
+
+    public CorrelationIndex getCorrelationIndex() {
+        return correlationIndex;
+    }
+
+    /**
+     * 节点表中的节点数（全部 Pipeline）
+     */
+    public int activeNodeCount() {
+        return pipelineTables.size();
+    }
+
+    public PipelineNodeTables getPipelineTables() {
+        return pipelineTables;
+    }
+
+    /**
+     * 事件需要评估的节点表，依次为事件所属 Pipeline 的节点表、共享节点表
+     * <p>
+     * 声明为全局的事件评估全部 Pipeline。只携带 executionId 且该执行实例尚未登记到任何 Pipeline 时
+     * （如重启后首次收到的事件），对账全部 Pipeline 以建立执行实例的索引。
+     * </p>
+     */
+    private List<NodeTable> tablesOf(Event event, EventBatch batch) {
+        if (PipelineNodeTables.isGlobal(event)) {
+            return batch.allTables();
+        }
+        NodeTable shared = batch.table(null);
+        String pipelineId = pipelineTables.pipelineOf(event);
+        if (pipelineId == null && event.getSource() == null && event.getExecutionId() != null
+                && shared.resolve(event) == null) {
+            batch.allTables();
+            pipelineId = pipelineTables.pipelineOf(event);
+        }
+        if (pipelineId == null) {
+            return List.of(shared);
+        }
+        return List.of(batch.table(pipelineId), shared);
+    }
+
+    /**
+     * 表达式中的节点引用：优先在节点自身所在的表中查找，其次在同一事件范围内的其他表中查找
+     */
+    private static Function<String, Node> referencesOf(NodeTable primary, List<NodeTable> tables) {
+        if (tables.size() == 1) {
+            return primary::findByReference;
+        }
+        return name -> {
+            Node node = primary.findByReference(name);
+            for (int i = 0; node == null && i < tables.size(); i++) {
+                if (tables.get(i) != primary) {
+                    node = tables.get(i).findByReference(name);
+                }
+            }
+            return node;
+        };
+    }
+
+    private void watchStates(Node node) {
+        if (statePoller == null || node.getTaskConfig() == null) return;
+        TaskSchema schema = schemaRegistry.get(node.getTaskConfig().getTaskType());
+        if (schema == null || schema.getStates() == null) return;
+        for (StateDefinition state : schema.getStates().values()) {
+            if (state.requiresPolling()) {
+                statePoller.watch(node, state);
+            }
+        }
+    }
+
+    /**
+     * @return 产生事件的节点；无法定位时返回 null
+     */
+    private Node updateNodeState(Event event, List<NodeTable> tables, EventBatch batch) {
+        Node node = null;
+        for (int i = 0; node == null && i < tables.size(); i++) {
+            node = tables.get(i).resolve(event);
+        }
+        if (node == null) return null;
+        if (StatePoller.KIND_STATE.equals(event.attribute(StatePoller.ATTRIBUTE_KIND))) {
+            updatePolledState(node, event, batch);
+            return node;
+        }
+        if (isOutOfOrder(node, event)) {
+            log.debug("Ignored [{}] for node [{}] older than its current status [{}]",
+                    event.getType(), node.getId(), node.getStatus());
+            return node;
         }
+        node.setStatus(event.getType());
+        node.setStatusTime(event.getTime());
+        node.setOutputs(event.getPayload());
+        if (event.getExecutionId() != null) {
+            pipelineTables.bindExecution(node, event.getExecutionId());
+        }
+        batch.save(node);
+        log.info("Updated node [{}] status to [{}]", node.getId(), node.getStatus());
+        return node;
+    }
+
+    /**
+     * 早于节点当前状态发生的事件（生命周期事件也不例外）不再改写状态与输出
+     * <p>
+     * 引擎按优先级分道出队，同一节点的事件可能乱序处理：低优先级的 progress 晚于之后发生的 succeeded，
+     * 或高优先级的 failed / stopped 早于之前发生的 started。若仍按处理顺序覆盖状态，节点会退回非终态，
+     * 甚至被 startWhen 再次启动。按事件发生时间判断先后，当前状态之后才发生的事件（如重跑时的 running）照常生效。
+     * </p>
+     */
+    private static boolean isOutOfOrder(Node node, Event event) {
+        Instant statusTime = node.getStatusTime();
+        return statusTime != null && event.getTime() != null && event.getTime().isBefore(statusTime);
     }
 
-    private void updateNodeState(List<Node> nodes, Event event) {
-        if (event.getSource() == null) return;
-        for (Node node : nodes) {
-            // Simplified matching: assumes source ends with /nodes/{nodeId}
-            if (event.getSource().endsWith("/nodes/" + node.getId())) {
-                node.setStatus(event.getType());
-                node.setOutputs(event.getPayload());
-                nodeRepository.save(node);
-                log.info("Updated node [{}] status to [{}]", node.getId(), node.getStatus());
+    /**
+     * 轮询得到的状态值只写入 node.states，不改变节点的生命周期状态；status 状态除外
+     * <p>
+     * 轮询到的 status 与生命周期事件一样受 {@link #isOutOfOrder} 约束，早于当前状态的轮询结果不改写状态。
+     * </p>
+     */
+    private void updatePolledState(Node node, Event event, EventBatch batch) {
+        Map<String, Object> payload = event.peekPayload();
+        if (payload == null) return;
+        Object name = payload.get(StatePoller.PAYLOAD_NAME);
+        if (name == null) return;
+        Object value = payload.get(StatePoller.PAYLOAD_VALUE);
+        Map<String, Object> states = node.getStates();
+        if (states == null) {
+            states = new HashMap<>();
+            node.setStates(states);
+        }
+        states.put(name.toString(), value);
+        if (StateDefinition.STATE_STATUS.equals(name) && value instanceof String status && !status.isBlank()
+                && !status.equalsIgnoreCase(node.getStatus())) {
+            if (isOutOfOrder(node, event)) {
+                log.debug("Ignored polled status [{}] for node [{}] older than its current status [{}]",
+                        status, node.getId(), node.getStatus());
+            } else {
+                node.setStatus(status.toLowerCase());
+                node.setStatusTime(event.getTime());
             }
         }
+        batch.save(node);
+        log.debug("Updated node [{}] state [{}]", node.getId(), name);
     }
 
-    private void evaluateStartCondition(Node node, Event event, List<Node> allNodes) {
+    private void evaluateStartCondition(Node node, @NonNull EventEvaluationContext context, EventBatch batch) {
         // Prevent starting if already running or completed
         if (node.isRunning() || node.isSucceeded()) {
             return;
@@ -79,60 +441,64 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
         String startWhen = node.getStartWhen();
         if (startWhen == null || startWhen.isBlank()) return;
 
-        StandardEvaluationContext context = createEvaluationContext(node, event, allNodes);
-
         if (evaluate(startWhen, context)) {
             Map<String, Object> params = resolveParams(node.getStartPayload(), context);
-            executeAction(node, ActionDefinition.ACTION_START, params);
+            triggerAction(node, ActionDefinition.ACTION_START, params, context, batch);
         }
     }
 
-    @NonNull
-    private StandardEvaluationContext createEvaluationContext(Node node, Event event, List<Node> allNodes) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        Map<String, Object> root = new HashMap<>();
-        root.put("event", event);
-        root.put("node", node);
-        
-        // Inject all nodes into context with sanitized IDs (e.g., sql-node -> sql_node)
-        if (allNodes != null) {
-            for (Node n : allNodes) {
-                String safeId = n.getId().replace("-", "_");
-                root.put(safeId, n);
-                context.setVariable(safeId, n);
-            }
+    /**
+     * 启动依赖已由依赖图判定满足的节点，无需再对 startWhen 求值
+     */
+    private void startReadyNode(Node node, @NonNull EventEvaluationContext context, EventBatch batch) {
+        if (node.isRunning() || node.isSucceeded()) {
+            return;
         }
-
-        context.setRootObject(root);
-        context.setVariable("event", event);
-        context.setVariable("node", node);
-        return context;
+        log.debug("Start dependencies of node [{}] satisfied", node.getId());
+        Map<String, Object> params = resolveParams(node.getStartPayload(), context);
+        triggerAction(node, ActionDefinition.ACTION_START, params, context, batch);
     }
 
     @Override
     public void evaluateNodePolicy(Node node, Event event) {
-        // Delegate to the new method with empty list if called directly (backward compatibility if needed)
-        // But since this is an interface method, I should probably update the interface or keep this one.
-        // For now, I'll just call findAllActiveNodes here if needed, but better to update the flow.
-        // Wait, evaluateNodePolicy is in the interface?
-        evaluateNodePolicy(node, event, nodeRepository.findAllActiveNodes());
+        NodeTable table = pipelineTables.sync(node.getPipelineId(),
+                nodeRepository.findActiveNodesByPipeline(node.getPipelineId()));
+        List<NodeTable> tables = node.getPipelineId() == null ? List.of(table)
+                : List.of(table, pipelineTables.sync(null, nodeRepository.findActiveNodesByPipeline(null)));
+        EventEvaluationContext context = new EventEvaluationContext(event, referencesOf(table, tables),
+                correlationIndex.get(event.getCorrelationId()));
+        evaluateNodePolicy(node, context.bindNode(node), null);
     }
 
+    /**
+     * 以指定的节点集合作为表达式中可引用的节点，评估单个节点的策略
+     */
     public void evaluateNodePolicy(Node node, Event event, List<Node> allNodes) {
+        Map<String, Node> references = new HashMap<>();
+        for (Node n : allNodes) {
+            references.put(EvaluationRoot.referenceName(n.getId()), n);
+        }
+        EventEvaluationContext context = new EventEvaluationContext(event, references::get,
+                correlationIndex.get(event.getCorrelationId()));
+        evaluateNodePolicy(node, context.bindNode(node), null);
+    }
+
+    /**
+     * @param batch 事件批次；为 null 时行为立即分发
+     */
+    private void evaluateNodePolicy(Node node, @NonNull EventEvaluationContext context, EventBatch batch) {
         ControlPolicy policy = node.getControlPolicy();
         if (policy == null) return;
 
-        StandardEvaluationContext context = createEvaluationContext(node, event, allNodes);
-
         // 1. Evaluate Standard Policies
         if (evaluate(policy.getStopWhen(), context)) {
-            executeAction(node, ActionDefinition.ACTION_STOP, null);
+            triggerAction(node, ActionDefinition.ACTION_STOP, null, context, batch);
         }
         if (evaluate(policy.getRestartWhen(), context)) {
-            executeAction(node, ActionDefinition.ACTION_RESTART, null);
+            triggerAction(node, ActionDefinition.ACTION_RESTART, null, context, batch);
         }
         if (evaluate(policy.getRetryWhen(), context)) {
-            executeAction(node, ActionDefinition.ACTION_RETRY, null);
+            triggerAction(node, ActionDefinition.ACTION_RETRY, null, context, batch);
         }
 
         // 2. Evaluate Custom Rules
@@ -140,17 +506,27 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
             for (PolicyRule rule : policy.getCustomRules()) {
                 if (evaluate(rule.getCondition(), context)) {
                     Map<String, Object> params = resolveParams(rule.getActionParams(), context);
-                    executeAction(node, rule.getAction(), params);
+                    triggerAction(node, rule.getAction(), params, context, batch);
                 }
             }
         }
     }
 
-    private boolean evaluate(String expressionStr, @NonNull StandardEvaluationContext context) {
+    private boolean evaluate(String expressionStr, @NonNull EventEvaluationContext context) {
         if (expressionStr == null || expressionStr.isBlank()) return false;
         try {
-            Expression exp = parser.parseExpression(expressionStr);
+            // Simple type/source conditions and the event: shorthand are matched natively
+            EventMatcher matcher = expressionCache.matcher(expressionStr);
+            if (matcher != null) {
+                long start = System.nanoTime();
+                boolean matched = matcher.matches(context.getEvent());
+                metrics.recordExpression(System.nanoTime() - start);
+                return matched;
+            }
+            Expression exp = expressionCache.get(expressionStr);
+            long start = System.nanoTime();
             Boolean result = exp.getValue(context, Boolean.class);
+            metrics.recordExpression(System.nanoTime() - start);
             return result != null && result;
         } catch (Exception e) {
             log.warn("Expression evaluation failed: [{}]", expressionStr, e);
@@ -158,7 +534,7 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
         }
     }
 
-    private Map<String, Object> resolveParams(Map<String, String> paramExprs, @NonNull StandardEvaluationContext context) {
+    private Map<String, Object> resolveParams(Map<String, String> paramExprs, @NonNull EvaluationContext context) {
         Map<String, Object> params = new HashMap<>();
         if (paramExprs == null) return params;
         
@@ -166,7 +542,7 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
             String expr = entry.getValue();
             if (expr == null) continue;
             try {
-                Expression exp = parser.parseExpression(expr);
+                Expression exp = expressionCache.get(expr);
                 Object value = exp.getValue(context);
                 params.put(entry.getKey(), value);
             } catch (Exception e) {
@@ -176,8 +552,26 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
         return params;
     }
 
+    /**
+     * 由事件触发的行为：启动类行为使节点加入事件所属的关联
+     */
+    private void triggerAction(Node node, String actionName, Map<String, Object> params,
+                               EventEvaluationContext context, EventBatch batch) {
+        if (isStartAction(actionName)) {
+            correlationIndex.join(context.getEvent().getCorrelationId(), node);
+        }
+        executeAction(node, actionName, params, batch);
+    }
+
     @Override
     public void executeAction(Node node, String actionName, Map<String, Object> params) {
+        executeAction(node, actionName, params, null);
+    }
+
+    /**
+     * @param batch 事件批次；配置了分发器时行为推迟到批次提交时分发，为 null 时立即分发
+     */
+    private void executeAction(Node node, String actionName, Map<String, Object> params, EventBatch batch) {
         // Validate against Schema
         TaskSchema schema = schemaRegistry.get(node.getTaskConfig().getTaskType());
         if (schema == null) {
@@ -192,6 +586,224 @@ public class ControlPlaneServiceImpl implements ControlPlaneService {
         }
 
         log.info("Triggering Action [{}] on Node [{}]", actionName, node.getId());
-        taskExecutor.executeAction(node, actionDef, params);
+        if (actionDispatcher == null) {
+            Object result = executeSync(node, actionDef, params);
+            String executionId = isStartAction(actionName) ? executionIdOf(result) : null;
+            if (executionId != null) {
+                bindExecution(node, executionId, batch);
+            }
+        } else if (batch != null) {
+            batch.actions.add(new PendingAction(node, actionName, actionDef, params));
+        } else {
+            dispatch(node, actionName, actionDef, params);
+        }
+    }
+
+    private void dispatch(Node node, String actionName, ActionDefinition actionDef, Map<String, Object> params) {
+        actionDispatcher.submit(node, actionDef, params).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Action [{}] on Node [{}] failed", actionName, node.getId(), error);
+            } else {
+                onActionCompleted(node, actionName, result);
+            }
+        });
+    }
+
+    private Object executeSync(Node node, ActionDefinition actionDef, Map<String, Object> params) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = taskExecutor.executeAction(node, actionDef, params);
+            success = true;
+            return result;
+        } finally {
+            metrics.recordExecutorCall(node.getTaskConfig().getTaskType(), actionDef.getName(),
+                    String.valueOf(actionDef.getProtocol()), System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * 异步行为完成后的回写（分发器线程）：启动类行为返回的 executionId 交回控制循环绑定到节点
+     * <p>
+     * 分发器线程不修改节点与节点表：配置了事件发布器时发布高优先级的绑定事件，由节点所属的分区处理；
+     * 否则暂存，在下一次事件处理开始时绑定。
+     * </p>
+     */
+    private void onActionCompleted(Node node, String actionName, Object result) {
+        if (!isStartAction(actionName)) {
+            return;
+        }
+        String executionId = executionIdOf(result);
+        if (executionId == null) {
+            return;
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(PAYLOAD_EXECUTION_ID, executionId);
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(StatePoller.ATTRIBUTE_KIND, KIND_BINDING);
+        attributes.put(Event.ATTRIBUTE_PRIORITY, EventPriority.HIGH.name().toLowerCase());
+        Event binding = Event.builder()
+                .type(EVENT_EXECUTION_BOUND)
+                .source(EventSource.of(node.getPipelineId(), node.getId()))
+                .pipelineId(node.getPipelineId())
+                .payload(payload)
+                .attributes(attributes)
+                .build();
+        EventPublisher publisher = eventPublisher;
+        if (publisher == null) {
+            pendingBindings.add(binding);
+            return;
+        }
+        try {
+            publisher.publish(binding);
+        } catch (RuntimeException e) {
+            log.error("Failed to hand over execution [{}] of Node [{}]", executionId, node.getId(), e);
+        }
+    }
+
+    private static boolean isBinding(Event event) {
+        return KIND_BINDING.equals(event.attribute(StatePoller.ATTRIBUTE_KIND));
+    }
+
+    /**
+     * 在控制循环中处理绑定事件
+     */
+    private void applyBinding(Event event, List<NodeTable> tables, EventBatch batch) {
+        Object executionId = event.peekPayload().get(PAYLOAD_EXECUTION_ID);
+        Node node = null;
+        for (int i = 0; node == null && i < tables.size(); i++) {
+            node = tables.get(i).resolve(event);
+        }
+        if (node == null || !(executionId instanceof String id)) {
+            log.warn("Dropped execution binding [{}] for unknown node {}", executionId, event.getSource());
+            return;
+        }
+        bindExecution(node, id, batch);
+    }
+
+    /**
+     * 启动类行为返回的 executionId 绑定到节点，之后只携带 executionId 的事件也能定位到该节点
+     */
+    private void bindExecution(Node node, String executionId, EventBatch batch) {
+        if (executionId.equals(node.getExecutionId())) {
+            return;
+        }
+        pipelineTables.bindExecution(node, executionId);
+        if (batch != null) {
+            batch.save(node);
+        } else {
+            nodeRepository.save(node);
+        }
+        log.debug("Node [{}] bound to execution [{}]", node.getId(), executionId);
+    }
+
+    private static boolean isStartAction(String actionName) {
+        return ActionDefinition.ACTION_START.equals(actionName)
+                || ActionDefinition.ACTION_RESTART.equals(actionName)
+                || ActionDefinition.ACTION_RETRY.equals(actionName);
+    }
+
+    /**
+     * 从行为结果中提取 executionId：Map 结果取 executionId 字段，字符串结果须为单个标识符
+     */
+    private static String executionIdOf(Object result) {
+        Object value = result instanceof Map<?, ?> map ? map.get("executionId") : result;
+        if (!(value instanceof CharSequence)) {
+            return null;
+        }
+        String id = value.toString().trim();
+        if (id.isEmpty() || id.startsWith("{") || id.startsWith("[") || id.chars().anyMatch(Character::isWhitespace)) {
+            return null;
+        }
+        return id;
+    }
+
+    /**
+     * 一次 onEvent / onEvents 调用的批次状态，只在调用线程上使用
+     * <p>
+     * 各 Pipeline 的节点表在批次内只从仓储同步一次；被更新的节点按实例去重后在批次结束时一次保存；
+     * 异步行为按触发顺序记录，保存节点之后再分发。
+     * </p>
+     */
+    private final class EventBatch {
+
+        /**
+         * pipelineId -> 本批次已同步的节点表；共享节点表以空字符串为键
+         */
+        private final Map<String, NodeTable> tables = new HashMap<>();
+
+        private List<NodeTable> allTables;
+
+        private final Set<Node> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final List<PendingAction> actions = new ArrayList<>();
+
+        private NodeTable table(String pipelineId) {
+            return tables.computeIfAbsent(pipelineId != null ? pipelineId : "", key -> sync(pipelineId));
+        }
+
+        private NodeTable sync(String pipelineId) {
+            List<Node> nodes = nodeRepository.findActiveNodesByPipeline(pipelineId);
+            if (pipelineId != null) {
+                return pipelineTables.sync(pipelineId, nodes);
+            }
+            synchronized (sharedTableLock) {
+                return pipelineTables.sync(null, nodes);
+            }
+        }
+
+        private List<NodeTable> allTables() {
+            if (allTables == null) {
+                Set<String> pipelineIds = new LinkedHashSet<>();
+                for (Node node : nodeRepository.findAllActiveNodes()) {
+                    pipelineIds.add(node.getPipelineId());
+                }
+                allTables = pipelineTables.syncAll(pipelineIds, nodeRepository::findActiveNodesByPipeline);
+                for (String pipelineId : pipelineIds) {
+                    tables.putIfAbsent(pipelineId != null ? pipelineId : "", pipelineTables.tableOf(pipelineId));
+                }
+            }
+            return allTables;
+        }
+
+        private void save(Node node) {
+            saved.add(node);
+        }
+    }
+
+    /**
+     * 状态轮询跟随节点表：节点注册（含重启后从仓储加载）时开始轮询，从节点表移除时停止
+     */
+    private final class StateWatchListener implements NodeTableListener {
+
+        @Override
+        public void onRegistered(Node node) {
+            watchStates(node);
+        }
+
+        @Override
+        public void onRemoved(Node node) {
+            if (statePoller != null) {
+                statePoller.unwatch(node);
+            }
+        }
+    }
+
+    private static final class PendingAction {
+
+        private final Node node;
+
+        private final String actionName;
+
+        private final ActionDefinition definition;
+
+        private final Map<String, Object> params;
+
+        private PendingAction(Node node, String actionName, ActionDefinition definition, Map<String, Object> params) {
+            this.node = node;
+            this.actionName = actionName;
+            this.definition = definition;
+            this.params = params;
+        }
     }
 }
@@ -65,4 +65,32 @@ public class ActionDefinition {
      * </p>
      */
     private java.util.Map<String, Object> protocolConfig;
+
+    /**
+     * 批量调用端点（可选）
+     * <p>
+     * 声明后，同一执行器主机上同一行为的调用在 {@link #batchWindowMillis} 内合并为一次请求，
+     * 执行器按节点逐个返回结果。为空时逐个调用 {@link #endpoint}。
+     * </p>
+     */
+    private String batchEndpoint;
+
+    /**
+     * 单次批量调用的最大节点数，达到后立即发送
+     */
+    @Builder.Default
+    private int batchMaxSize = 100;
+
+    /**
+     * 批量合并窗口（毫秒）：首个调用到达后最多等待的时间
+     */
+    @Builder.Default
+    private long batchWindowMillis = 10;
+
+    /**
+     * 是否支持批量调用
+     */
+    public boolean supportsBatch() {
+        return batchEndpoint != null && !batchEndpoint.isBlank();
+    }
 }
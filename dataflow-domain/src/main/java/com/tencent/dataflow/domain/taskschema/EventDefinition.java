@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Set;
+
 /**
  * EventDefinition - 事件定义（值对象）
  * <p>
@@ -26,6 +28,12 @@ public class EventDefinition {
     public static final String EVENT_STOPPED = "stopped";
     public static final String EVENT_PAUSED = "paused";
     public static final String EVENT_RESUMED = "resumed";
+
+    /**
+     * 生命周期事件：驱动节点状态流转，不能被合并
+     */
+    private static final Set<String> LIFECYCLE_EVENTS = Set.of(EVENT_STARTED, EVENT_SUCCEEDED, EVENT_FAILED,
+            EVENT_STOPPED, EVENT_PAUSED, EVENT_RESUMED);
     
     /**
      * 事件名称（如 started, completed, failed）
@@ -36,6 +44,15 @@ public class EventDefinition {
      * 事件描述
      */
     private String description;
+
+    /**
+     * 是否允许合并
+     * <p>
+     * 适用于 progress、metrics 等高频的状态类事件：同一节点的该类事件尚未被处理时，
+     * 新事件取代旧事件，控制平面只评估最新的一个。生命周期事件不允许合并。
+     * </p>
+     */
+    private boolean conflate;
     
     /**
      * 验证事件定义的有效性
@@ -44,5 +61,24 @@ public class EventDefinition {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Event name cannot be empty");
         }
+        if (conflate && isLifecycle(name)) {
+            throw new IllegalArgumentException("Lifecycle event cannot be conflated: " + name);
+        }
+    }
+
+    /**
+     * 是否为生命周期事件
+     */
+    public static boolean isLifecycle(String name) {
+        return name != null && LIFECYCLE_EVENTS.contains(name);
+    }
+
+    /**
+     * 节点状态是否为终态（成功、失败或停止）
+     */
+    public static boolean isTerminal(String status) {
+        return EVENT_SUCCEEDED.equalsIgnoreCase(status)
+                || EVENT_FAILED.equalsIgnoreCase(status)
+                || EVENT_STOPPED.equalsIgnoreCase(status);
     }
 }
@@ -88,4 +88,46 @@ public class StateDefinition {
      */
     @Builder.Default
     private boolean terminal = false;
+
+    /**
+     * 轮询间隔（毫秒）
+     * <p>
+     * 大于 0 时由状态轮询器周期性获取该状态，并以 {@code state.<name>} 事件发布。
+     * 实际间隔在 [minPollIntervalMillis, maxPollIntervalMillis] 内自适应调整。
+     * </p>
+     */
+    private long pollIntervalMillis;
+
+    /**
+     * 最小轮询间隔（毫秒），节点运行且状态频繁变化时使用；为 0 时取 pollIntervalMillis / 4
+     */
+    private long minPollIntervalMillis;
+
+    /**
+     * 最大轮询间隔（毫秒），节点空闲或状态长期不变时退避到此值；为 0 时取 pollIntervalMillis * 8
+     */
+    private long maxPollIntervalMillis;
+
+    /**
+     * 状态缓存有效期（毫秒）
+     * <p>
+     * 大于 0 时，有效期内对同一节点同一状态的读取直接返回缓存值，不再调用执行器。
+     * </p>
+     */
+    private long cacheTtlMillis;
+
+    /**
+     * 过期后仍可返回旧值的时长（毫秒）
+     * <p>
+     * 在此窗口内读取立即返回旧值，同时在后台刷新；超出窗口后读取会等待刷新完成。
+     * </p>
+     */
+    private long staleWhileRevalidateMillis;
+
+    /**
+     * 是否需要轮询
+     */
+    public boolean requiresPolling() {
+        return pollIntervalMillis > 0;
+    }
 }
@@ -0,0 +1,91 @@
+package com.tencent.dataflow.domain.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventIdsTest {
+
+    @Test
+    void testVersionAndMonotonicWithinThread() {
+        long before = System.currentTimeMillis();
+        String previous = EventIds.next();
+        for (int i = 0; i < 10_000; i++) {
+            String id = EventIds.next();
+            // 小写十六进制字符串的字典序与数值序一致
+            assertTrue(id.compareTo(previous) > 0, id + " <= " + previous);
+            previous = id;
+        }
+        UUID uuid = UUID.fromString(previous);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = EventIds.timestampOf(previous);
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testUniqueAcrossThreads() throws InterruptedException {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(EventIds.next());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void testEmptyMapsSharedUntilWritten() {
+        Event first = new Event();
+        Event second = Event.builder().type("test.event").build();
+        assertSame(first.peekPayload(), second.peekPayload());
+        assertSame(first.peekAttributes(), second.peekAttributes());
+        assertNull(first.attribute("kind"));
+        assertEquals(first, Event.builder().id(first.getId()).time(first.getTime()).build());
+
+        first.getPayload().put("seq", 1);
+        first.getAttributes().put("kind", "state");
+        assertEquals(Map.of("seq", 1), first.peekPayload());
+        assertEquals("state", first.attribute("kind"));
+        // 写入不影响其他事件
+        assertTrue(second.peekPayload().isEmpty());
+        assertTrue(second.peekAttributes().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> second.peekPayload().put("seq", 2));
+    }
+
+    @Test
+    void testBuilderDefaultsAndIngressNotConstructible() {
+        Event event = Event.builder().type("test.event").build();
+        assertEquals(7, UUID.fromString(event.getId()).version());
+        assertNotNull(event.getTime());
+        assertEquals(0, event.ingressNanos());
+
+        // ingressNanos 只能通过 markIngress 标记，任何构造函数都不接受该字段
+        for (Constructor<?> constructor : Event.class.getConstructors()) {
+            assertFalse(Arrays.asList(constructor.getParameterTypes()).contains(long.class), constructor.toString());
+        }
+        event.markIngress();
+        long marked = event.ingressNanos();
+        assertTrue(marked > 0);
+        event.markIngress();
+        assertEquals(marked, event.ingressNanos());
+        assertEquals(event, Event.builder().id(event.getId()).type("test.event").time(event.getTime()).build());
+    }
+}
@@ -0,0 +1,242 @@
+package com.tencent.dataflow.domain.executor;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.repository.InMemoryNodeRepository;
+import com.tencent.dataflow.domain.service.ControlPlaneService;
+import com.tencent.dataflow.domain.service.impl.ControlPlaneServiceImpl;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import com.tencent.dataflow.domain.taskschema.TaskSchema;
+import com.tencent.dataflow.domain.taskschema.example.ExampleTaskSchemas;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionDispatcherTest {
+
+    @Test
+    void testSubmitDoesNotWaitForSlowExecutor() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskExecutor slowExecutor = new BlockingTaskExecutor(release, new AtomicInteger(), new AtomicInteger());
+
+        try (ActionDispatcher dispatcher = new ActionDispatcher(slowExecutor, 4, 100)) {
+            long startNanos = System.nanoTime();
+            CompletableFuture<Object> result = dispatcher.submit(node("n1", "http://svc-a:8080"), action(), Map.of());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1000);
+            assertFalse(result.isDone());
+
+            release.countDown();
+            assertEquals("exec-n1", result.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testConcurrencyLimitedPerHost() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        TaskExecutor executor = new BlockingTaskExecutor(release, running, maxRunning);
+
+        try (ActionDispatcher dispatcher = new ActionDispatcher(executor, 2, 100)) {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(dispatcher.submit(node("n" + i, "http://svc-a:8080"), action(), Map.of()));
+            }
+            // 另一主机不受 svc-a 并发限制影响
+            CompletableFuture<Object> other = dispatcher.submit(node("other", "http://svc-b:8080"), action(), Map.of());
+
+            waitUntil(() -> dispatcher.inFlightCount("svc-a:8080") == 2 && dispatcher.inFlightCount("svc-b:8080") == 1);
+            assertEquals(3, running.get());
+
+            release.countDown();
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            other.get(5, TimeUnit.SECONDS);
+            assertEquals(3, maxRunning.get());
+        }
+    }
+
+    @Test
+    void testStartResultBindsExecutionId() throws Exception {
+        CountDownLatch release = new CountDownLatch(0);
+        TaskExecutor executor = new BlockingTaskExecutor(release, new AtomicInteger(), new AtomicInteger());
+        Map<String, Node> nodeStore = new HashMap<>();
+        Map<String, TaskSchema> schemaRegistry = new HashMap<>();
+        TaskSchema shellSchema = ExampleTaskSchemas.shellTaskSchema();
+        schemaRegistry.put(shellSchema.getType(), shellSchema);
+
+        Node node = Node.builder()
+                .id("loader")
+                .taskConfig(TaskConfig.builder().taskType(shellSchema.getType()).config(Map.of("host", "http://svc-a")).build())
+                .startWhen("#event.type == 'go'")
+                .build();
+        nodeStore.put(node.getId(), node);
+
+        ControlPlaneServiceImpl controlPlane = new ControlPlaneServiceImpl(
+                new InMemoryNodeRepository(nodeStore), executor, schemaRegistry);
+        List<Event> published = new CopyOnWriteArrayList<>();
+        try (ActionDispatcher dispatcher = new ActionDispatcher(executor, 4, 100)) {
+            controlPlane.setActionDispatcher(dispatcher);
+            controlPlane.setEventPublisher(published::add);
+            controlPlane.onEvent(Event.builder().type("go").build());
+
+            // 分发器线程不修改节点，executionId 以绑定事件交回控制循环
+            waitUntil(() -> published.size() == 1);
+            Event binding = published.get(0);
+            assertEquals(ControlPlaneService.EVENT_EXECUTION_BOUND, binding.getType());
+            assertEquals("/nodes/loader", binding.getSource());
+            assertNull(node.getExecutionId());
+
+            controlPlane.onEvent(binding);
+            assertEquals("exec-loader", node.getExecutionId());
+            assertNull(node.getStatus());
+
+            // 仅携带 executionId 的事件可以定位到该节点
+            controlPlane.onEvent(Event.builder().type("succeeded").executionId("exec-loader").build());
+            assertTrue(node.isSucceeded());
+        }
+    }
+
+    @Test
+    void testStartResultBoundOnNextEventWithoutPublisher() throws Exception {
+        TaskExecutor executor = new BlockingTaskExecutor(new CountDownLatch(0), new AtomicInteger(), new AtomicInteger());
+        Map<String, Node> nodeStore = new HashMap<>();
+        Map<String, TaskSchema> schemaRegistry = new HashMap<>();
+        TaskSchema shellSchema = ExampleTaskSchemas.shellTaskSchema();
+        schemaRegistry.put(shellSchema.getType(), shellSchema);
+        Node node = Node.builder()
+                .id("loader")
+                .pipelineId("pipe-1")
+                .taskConfig(TaskConfig.builder().taskType(shellSchema.getType()).config(Map.of("host", "http://svc-a")).build())
+                .startWhen("#event.type == 'go'")
+                .build();
+        nodeStore.put(node.getId(), node);
+
+        ControlPlaneServiceImpl controlPlane = new ControlPlaneServiceImpl(
+                new InMemoryNodeRepository(nodeStore), executor, schemaRegistry);
+        try (ActionDispatcher dispatcher = new ActionDispatcher(executor, 4, 100)) {
+            controlPlane.setActionDispatcher(dispatcher);
+            controlPlane.onEvent(Event.builder().type("go").pipelineId("pipe-1").build());
+
+            // 暂存的绑定在下一次事件处理开始时生效
+            waitUntil(() -> {
+                controlPlane.onEvent(Event.builder().type("tick").pipelineId("pipe-1").build());
+                return "exec-loader".equals(node.getExecutionId());
+            });
+            controlPlane.onEvent(Event.builder().type("succeeded").executionId("exec-loader").build());
+            assertTrue(node.isSucceeded());
+        }
+    }
+
+    @Test
+    void testBatchableActionsCoalescedPerHost() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        TaskExecutor executor = new BlockingTaskExecutor(new CountDownLatch(0), new AtomicInteger(), new AtomicInteger()) {
+            @Override
+            public List<ActionResult> executeBatchAction(ActionDefinition action, List<ActionRequest> requests) {
+                batchSizes.add(requests.size());
+                List<ActionResult> results = new ArrayList<>();
+                for (ActionRequest request : requests) {
+                    Node node = request.getNode();
+                    results.add("n13".equals(node.getId())
+                            ? ActionResult.failure(node, "already stopped")
+                            : ActionResult.success(node, "stopped"));
+                }
+                return results;
+            }
+        };
+        ActionDefinition stop = ActionDefinition.builder()
+                .name(ActionDefinition.ACTION_STOP)
+                .batchEndpoint("/stop/batch")
+                .batchMaxSize(20)
+                .batchWindowMillis(50)
+                .build();
+
+        try (ActionDispatcher dispatcher = new ActionDispatcher(executor, 4, 100)) {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(dispatcher.submit(node("n" + i, "http://svc-a:8080"), stop, Map.of()));
+            }
+
+            for (int i = 0; i < 50; i++) {
+                if (i == 13) {
+                    ExecutionException error = assertThrows(ExecutionException.class,
+                            () -> results.get(13).get(5, TimeUnit.SECONDS));
+                    assertTrue(error.getCause().getMessage().contains("already stopped"));
+                } else {
+                    assertEquals("stopped", results.get(i).get(5, TimeUnit.SECONDS));
+                }
+            }
+            assertEquals(3, dispatcher.batchCount());
+            assertEquals(List.of(20, 20, 10), batchSizes);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static Node node(String id, String baseUrl) {
+        return Node.builder()
+                .id(id)
+                .taskConfig(TaskConfig.builder().taskType("shell_script").config(Map.of("baseUrl", baseUrl)).build())
+                .build();
+    }
+
+    private static ActionDefinition action() {
+        return ActionDefinition.builder().name(ActionDefinition.ACTION_START).build();
+    }
+
+    /**
+     * 在 release 前阻塞的执行器，记录并发数
+     */
+    private static class BlockingTaskExecutor implements TaskExecutor {
+
+        private final CountDownLatch release;
+
+        private final AtomicInteger running;
+
+        private final AtomicInteger maxRunning;
+
+        private BlockingTaskExecutor(CountDownLatch release, AtomicInteger running, AtomicInteger maxRunning) {
+            this.release = release;
+            this.running = running;
+            this.maxRunning = maxRunning;
+        }
+
+        @Override
+        public Object executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return "exec-" + node.getId();
+        }
+
+        @Override
+        public Object getState(Node node, StateDefinition state) {
+            return null;
+        }
+    }
+}
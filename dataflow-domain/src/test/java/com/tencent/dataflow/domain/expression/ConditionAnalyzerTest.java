@@ -0,0 +1,50 @@
+package com.tencent.dataflow.domain.expression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionAnalyzerTest {
+
+    private final ConditionAnalyzer analyzer = new ConditionAnalyzer(new ExpressionCache());
+
+    @Test
+    void testTypeEquality() {
+        assertEquals(Set.of(SubscriptionKey.type("MAINTENANCE")),
+                analyzer.analyze("#event.type == 'MAINTENANCE'"));
+        assertEquals(Set.of(SubscriptionKey.type("MAINTENANCE")),
+                analyzer.analyze("'MAINTENANCE' == event.type"));
+    }
+
+    @Test
+    void testConjunctionPrefersSource() {
+        Set<SubscriptionKey> keys = analyzer.analyze(
+                "#event.source == '/pipelines/p1/nodes/node-a' && #event.type == 'succeeded'");
+        assertEquals(Set.of(SubscriptionKey.source("/pipelines/p1/nodes/node-a")), keys);
+    }
+
+    @Test
+    void testEndsWithIndexedByLastSegment() {
+        Set<SubscriptionKey> keys = analyzer.analyze(
+                "event.type == 'task.node.succeeded' && event.source.endsWith('/nodes/batch-loader')");
+        assertEquals(Set.of(SubscriptionKey.sourceSegment("batch-loader")), keys);
+    }
+
+    @Test
+    void testDisjunction() {
+        Set<SubscriptionKey> keys = analyzer.analyze("#event.type == 'a' || #event.type == 'b'");
+        assertEquals(Set.of(SubscriptionKey.type("a"), SubscriptionKey.type("b")), keys);
+
+        // 任一侧无法分析，则整体为通配
+        assertNull(analyzer.analyze("#event.type == 'a' || #node.status == 'failed'"));
+    }
+
+    @Test
+    void testWildcardAndInvalid() {
+        assertNull(analyzer.analyze("#event.payload['lag'] > 1000"));
+        assertNull(analyzer.analyze("#event.source.endsWith('-a')"));
+        assertTrue(analyzer.analyze("#event.type ==").isEmpty());
+    }
+}
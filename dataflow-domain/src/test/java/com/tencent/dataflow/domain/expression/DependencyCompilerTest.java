@@ -0,0 +1,47 @@
+package com.tencent.dataflow.domain.expression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyCompilerTest {
+
+    private final DependencyCompiler compiler = new DependencyCompiler(new ExpressionCache());
+
+    @Test
+    void testStatusDependencies() {
+        StartDependencies dependencies = compiler.compile(
+                "upstream_a.succeeded && #upstream_b.status == 'succeeded' && 'succeeded' == c.status && d.isSucceeded()");
+        assertEquals(Set.of("upstream_a", "upstream_b", "c", "d"), dependencies.getUpstreams());
+        assertFalse(dependencies.isEventTriggered());
+    }
+
+    @Test
+    void testEventTriggeredDependency() {
+        StartDependencies exact = compiler.compile(
+                "#event.source == '/pipelines/p1/nodes/node-a' && #event.type == 'succeeded' && node_b.succeeded");
+        assertEquals("/pipelines/p1/nodes/node-a", exact.getTriggerSource());
+        assertEquals(Set.of("node_b"), exact.getUpstreams());
+
+        StartDependencies suffix = compiler.compile(
+                "event.type == 'succeeded' && event.source.endsWith('/nodes/node-a')");
+        assertEquals("/nodes/node-a", suffix.getTriggerSuffix());
+        assertTrue(suffix.getUpstreams().isEmpty());
+    }
+
+    @Test
+    void testUnrecognisedFallsBackToSpel() {
+        // 非成功事件、缺少事件类型、析取、其他条件
+        assertNull(compiler.compile("#event.source == '/pipelines/p/nodes/a' && #event.type == 'approved'"));
+        assertNull(compiler.compile("#event.source == '/pipelines/p/nodes/a'"));
+        assertNull(compiler.compile("#event.type == 'succeeded'"));
+        assertNull(compiler.compile("a.succeeded || b.succeeded"));
+        assertNull(compiler.compile("a.succeeded && correlation.allSucceeded"));
+        assertNull(compiler.compile("a.status == 'failed'"));
+        assertNull(compiler.compile("node.succeeded"));
+        assertNull(compiler.compile("a.succeeded &&"));
+        assertNull(compiler.compile(null));
+    }
+}
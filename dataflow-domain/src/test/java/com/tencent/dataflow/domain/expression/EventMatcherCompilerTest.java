@@ -0,0 +1,68 @@
+package com.tencent.dataflow.domain.expression;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventMatcher;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventMatcherCompilerTest {
+
+    private final ExpressionCache expressionCache = new ExpressionCache();
+
+    @Test
+    void testTypeAndSourceForms() {
+        EventMatcher matcher = expressionCache.matcher(
+                "#event.source == '/pipelines/p/nodes/a' && (event.type == 'succeeded' || 'skipped' == #event.type)");
+        assertTrue(matcher.matches(event("succeeded", "/pipelines/p/nodes/a")));
+        assertTrue(matcher.matches(event("skipped", "/pipelines/p/nodes/a")));
+        assertFalse(matcher.matches(event("failed", "/pipelines/p/nodes/a")));
+        assertFalse(matcher.matches(event("succeeded", null)));
+
+        EventMatcher notEquals = expressionCache.matcher("#event.type != 'succeeded'");
+        assertTrue(notEquals.matches(event(null, null)));
+        assertFalse(notEquals.matches(event("succeeded", null)));
+
+        EventMatcher endsWith = expressionCache.matcher("#event.source.endsWith('/nodes/a')");
+        assertTrue(endsWith.matches(event(null, "/pipelines/p/nodes/a")));
+        assertFalse(endsWith.matches(event(null, null)));
+
+        // && 之下 endsWith 抛出异常与 false 结果一致，仍然编译
+        EventMatcher andEndsWith = expressionCache.matcher(
+                "#event.type == 'succeeded' && #event.source.endsWith('/nodes/a')");
+        assertTrue(andEndsWith.matches(event("succeeded", "/pipelines/p/nodes/a")));
+        assertFalse(andEndsWith.matches(event("succeeded", null)));
+    }
+
+    @Test
+    void testShorthand() {
+        EventMatcher matcher = expressionCache.matcher("event:upstream_node.succeeded");
+        assertTrue(matcher.matches(event("succeeded", "/pipelines/p/nodes/upstream-node")));
+        assertTrue(matcher.matches(event("upstream_node.succeeded", null)));
+        assertFalse(matcher.matches(event("succeeded", "/pipelines/p/nodes/upstream-node-2")));
+        assertFalse(matcher.matches(event("failed", "/pipelines/p/nodes/upstream-node")));
+
+        EventMatcher type = expressionCache.matcher("event:pipeline.started");
+        assertTrue(type.matches(event("pipeline.started", null)));
+        assertTrue(expressionCache.matcher("event:tick").matches(event("tick", null)));
+    }
+
+    @Test
+    void testComplexConditionsFallBackToSpel() {
+        assertNull(expressionCache.matcher("#event.type == 'alert' && #event.payload['lag'] > 100"));
+        assertNull(expressionCache.matcher("upstream.status == 'succeeded'"));
+        assertNull(expressionCache.matcher("!(#event.source.endsWith('/nodes/a'))"));
+        // source 为 null 时 SpEL 整体按 false 处理，|| 下的原生匹配结果会与之不同
+        assertNull(expressionCache.matcher("#event.source.endsWith('/nodes/a') || #event.type == 'tick'"));
+        assertNull(expressionCache.matcher(
+                "#event.type == 'tick' || (#event.type == 'succeeded' && #event.source.endsWith('/nodes/a'))"));
+        assertNull(expressionCache.matcher("#event.type =="));
+        // 不可编译的结果同样被缓存
+        assertNull(expressionCache.matcher("upstream.status == 'succeeded'"));
+        assertEquals(0, expressionCache.matcherCount());
+    }
+
+    private static Event event(String type, String source) {
+        return Event.builder().type(type).source(source).build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tencent.dataflow.domain.expression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCacheTest {
+
+    private final ExpressionCache expressionCache = new ExpressionCache();
+
+    @Test
+    void testMatcherAndExpressionCountedSeparately() {
+        String condition = "#event.type == 'alert' && #event.payload['lag'] > 100";
+
+        // 无法编译为匹配器的条件：表达式与匹配器各记一次未命中
+        expressionCache.get(condition);
+        assertNull(expressionCache.matcher(condition));
+        assertEquals(1, expressionCache.matcherMissCount());
+        assertEquals(1, expressionCache.missCount());
+
+        expressionCache.get(condition);
+        assertNull(expressionCache.matcher(condition));
+        assertEquals(1, expressionCache.matcherHitCount());
+        assertEquals(1, expressionCache.hitCount());
+
+        // 匹配器命中不计入表达式缓存
+        assertNotNull(expressionCache.matcher("#event.type == 'tick'"));
+        assertNotNull(expressionCache.matcher("#event.type == 'tick'"));
+        assertEquals(2, expressionCache.matcherHitCount());
+        assertEquals(1, expressionCache.hitCount());
+        assertEquals(1, expressionCache.missCount());
+    }
+
+    @Test
+    void testParseFailureCached() {
+        ParseException first = assertThrows(ParseException.class, () -> expressionCache.get("#event.type =="));
+        ParseException second = assertThrows(ParseException.class, () -> expressionCache.get("#event.type =="));
+
+        assertSame(first, second, "Invalid expressions should not be parsed again");
+        assertEquals(1, expressionCache.missCount());
+        assertEquals(1, expressionCache.hitCount());
+        assertEquals(0, expressionCache.size());
+    }
+}
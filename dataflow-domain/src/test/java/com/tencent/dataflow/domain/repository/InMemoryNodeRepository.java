@@ -4,6 +4,7 @@ import com.tencent.dataflow.domain.node.Node;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class InMemoryNodeRepository implements NodeRepository {
     private final Map<String, Node> nodeStore;
@@ -13,8 +14,9 @@ public class InMemoryNodeRepository implements NodeRepository {
     }
 
     @Override
-    public Node findById(String nodeId) {
-        return nodeStore.get(nodeId);
+    public Node findById(String pipelineId, String nodeId) {
+        Node node = nodeStore.get(nodeId);
+        return node != null && Objects.equals(pipelineId, node.getPipelineId()) ? node : null;
     }
 
     @Override
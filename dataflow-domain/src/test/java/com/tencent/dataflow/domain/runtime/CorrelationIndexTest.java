@@ -0,0 +1,118 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.node.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIndexTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private final CorrelationIndex index = new CorrelationIndex(10_000, 1_000, now::get);
+
+    @Test
+    void testMaintainedFromEventsAndRetainedAfterCompletion() {
+        Node batch = node("batch", "succeeded");
+        Correlation correlation = index.record(event("v1", "run-1"), batch);
+        assertTrue(correlation.isAllSucceeded());
+
+        // 下游节点被启动，尚未上报
+        Node consumer = node("consumer", null);
+        index.join("v1", consumer);
+        assertFalse(correlation.isAllSucceeded());
+        assertFalse(correlation.isCompleted());
+        assertEquals(Set.of("p/batch", "p/consumer"), correlation.getNodes());
+
+        consumer.setStatus("failed");
+        index.record(event("v1", "run-2"), consumer);
+        assertTrue(correlation.isAnyFailed());
+        assertEquals(Set.of("run-1", "run-2"), correlation.getExecutionIds());
+        assertEquals(Map.of("p/batch", "succeeded", "p/consumer", "failed"), correlation.getStatuses());
+
+        assertTrue(correlation.isCompleted());
+        assertSame(correlation, index.get("v1"));
+        assertEquals(1, index.size());
+        assertEquals(0, index.activeCount());
+        assertNull(index.record(event(null, "run-3"), batch));
+    }
+
+    @Test
+    void testEventBeforeBindingMergedIntoNodeParticipant() {
+        // started 先于 execution.bound 到达，节点尚无法定位，以 executionId 记为参与者
+        Correlation correlation = index.record(Event.builder()
+                .type("started").correlationId("v1").executionId("run-1").build(), null);
+        assertFalse(correlation.isCompleted());
+
+        Node batch = node("batch", "succeeded");
+        batch.setExecutionId("run-1");
+        index.record(Event.builder().type("succeeded").correlationId("v1").executionId("run-1").build(), batch);
+        assertEquals(1, correlation.getSize());
+        assertEquals(Set.of("p/batch"), correlation.getNodes());
+        assertEquals(Set.of("run-1"), correlation.getExecutionIds());
+        assertTrue(correlation.isAllSucceeded());
+        assertTrue(correlation.isCompleted());
+    }
+
+    @Test
+    void testCompletedCorrelationRetainedForLateParticipants() {
+        Correlation correlation = index.record(event("v1", "run-1"), node("batch", "succeeded"));
+        assertTrue(correlation.isCompleted());
+
+        // 保留期内加入的下游节点看到完整的关联
+        now.addAndGet(500);
+        index.record(event("other", "run-2"), node("b", "running"));
+        index.join("v1", node("consumer", null));
+        assertSame(correlation, index.get("v1"));
+        assertEquals(Set.of("p/batch", "p/consumer"), correlation.getNodes());
+
+        Node consumer = node("consumer", "succeeded");
+        index.record(event("v1", "run-3"), consumer);
+        assertTrue(correlation.isAllSucceeded());
+
+        // 完成后超过保留期没有新事件才被清理；未完成的关联仍按 idleTimeout 保留
+        now.addAndGet(1_000);
+        index.record(event("fresh", "run-4"), node("c", "running"));
+        assertNull(index.get("v1"));
+        assertNotNull(index.get("other"));
+    }
+
+    @Test
+    void testSameNodeIdInDifferentPipelinesTrackedSeparately() {
+        index.record(event("v1", "run-1"), node("extract", "succeeded"));
+        Node other = Node.builder().id("extract").pipelineId("q").status("failed").build();
+        Correlation correlation = index.record(event("v1", "run-2"), other);
+        assertEquals(2, correlation.getSize());
+        assertEquals(Map.of("p/extract", "succeeded", "q/extract", "failed"), correlation.getStatuses());
+    }
+
+    @Test
+    void testIdleCorrelationsSwept() {
+        index.record(event("stale", "run-1"), node("a", "running"));
+        now.addAndGet(5_000);
+        index.record(event("fresh", "run-2"), node("b", "running"));
+        assertEquals(2, index.size());
+
+        now.addAndGet(6_000);
+        index.record(event("fresh", "run-2"), node("b", "running"));
+        assertNull(index.get("stale"));
+        assertNotNull(index.get("fresh"));
+    }
+
+    private static Node node(String id, String status) {
+        return Node.builder().id(id).pipelineId("p").status(status).build();
+    }
+
+    private static Event event(String correlationId, String executionId) {
+        return Event.builder()
+                .type("test")
+                .correlationId(correlationId)
+                .executionId(executionId)
+                .build();
+    }
+}
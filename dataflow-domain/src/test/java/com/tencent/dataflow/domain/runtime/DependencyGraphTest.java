@@ -0,0 +1,69 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.expression.StartDependencies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static final Event TICK = Event.builder().type("tick").build();
+
+    private final DependencyGraph graph = new DependencyGraph();
+
+    @Test
+    void testFanInCountsDown() {
+        graph.add("join", new StartDependencies(Set.of("a", "b", "c"), null, null));
+        assertEquals(3, graph.pending("join"));
+
+        graph.updateStatus("a", true);
+        graph.updateStatus("b", true);
+        // 重复的成功不重复计数
+        graph.updateStatus("b", true);
+        assertEquals(1, graph.pending("join"));
+        assertTrue(graph.drainReady(TICK).isEmpty());
+
+        graph.updateStatus("c", true);
+        assertEquals(List.of("join"), graph.drainReady(TICK));
+        assertTrue(graph.drainReady(TICK).isEmpty());
+
+        // 上游重跑：重新等待
+        graph.updateStatus("a", false);
+        assertEquals(1, graph.pending("join"));
+        graph.updateStatus("a", true);
+        assertEquals(List.of("join"), graph.drainReady(TICK));
+    }
+
+    @Test
+    void testReadyAtRegistrationWhenUpstreamsSucceeded() {
+        graph.updateStatus("a", true);
+        graph.add("b", new StartDependencies(Set.of("a"), null, null));
+        assertEquals(0, graph.pending("b"));
+        assertEquals(List.of("b"), graph.drainReady(TICK));
+    }
+
+    @Test
+    void testEventTriggeredFiresOnEachMatchingEvent() {
+        graph.add("b", new StartDependencies(Set.of(), "/pipelines/p/nodes/a", null));
+        graph.add("c", new StartDependencies(Set.of("x"), null, "/nodes/a"));
+        assertTrue(graph.drainReady(TICK).isEmpty());
+
+        Event succeeded = Event.builder().type("succeeded").source("/pipelines/p/nodes/a").build();
+        assertEquals(List.of("b"), graph.drainReady(succeeded));
+        assertEquals(List.of("b"), graph.drainReady(succeeded));
+        assertTrue(graph.drainReady(Event.builder().type("failed").source("/pipelines/p/nodes/a").build()).isEmpty());
+
+        // 状态依赖满足后，事件触发的节点也不会在无关事件上就绪
+        graph.updateStatus("x", true);
+        assertTrue(graph.drainReady(TICK).isEmpty());
+        assertEquals(List.of("b", "c"), graph.drainReady(succeeded));
+
+        graph.remove("b");
+        assertEquals(List.of("c"), graph.drainReady(succeeded));
+        assertEquals(1, graph.size());
+    }
+}
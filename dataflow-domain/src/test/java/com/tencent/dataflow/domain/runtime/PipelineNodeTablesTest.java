@@ -0,0 +1,140 @@
+package com.tencent.dataflow.domain.runtime;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.expression.ConditionAnalyzer;
+import com.tencent.dataflow.domain.expression.DependencyCompiler;
+import com.tencent.dataflow.domain.expression.ExpressionCache;
+import com.tencent.dataflow.domain.expression.SubscriptionKey;
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineNodeTablesTest {
+
+    private final ExpressionCache expressionCache = new ExpressionCache();
+
+    private final PipelineNodeTables tables = new PipelineNodeTables(new ConditionAnalyzer(expressionCache),
+            new DependencyCompiler(expressionCache));
+
+    @Test
+    void testSameNodeIdIsolatedPerPipeline() {
+        Node loaderP1 = node("p1", "loader");
+        Node loaderP2 = node("p2", "loader");
+        NodeTable p1 = tables.sync("p1", List.of(loaderP1));
+        NodeTable p2 = tables.sync("p2", List.of(loaderP2));
+
+        Event event = Event.builder().type("MAINTENANCE").source("/pipelines/p2/nodes/loader").build();
+        assertEquals("p2", tables.pipelineOf(event));
+        assertSame(loaderP2, p2.resolve(event));
+        assertNull(p1.resolve(event));
+        assertEquals(List.of(loaderP1), p1.candidates(event));
+        assertEquals(2, tables.size());
+        assertEquals(2, tables.pipelineCount());
+    }
+
+    @Test
+    void testPipelineResolvedFromExecutionId() {
+        Node loader = node("p1", "loader");
+        tables.sync("p1", List.of(loader));
+        tables.bindExecution(loader, "run-1");
+        assertEquals("p1", tables.pipelineOf(Event.builder().type("succeeded").executionId("run-1").build()));
+
+        // 重新启动后旧的执行实例不再指向该 Pipeline
+        tables.bindExecution(loader, "run-2");
+        assertNull(tables.pipelineOf(Event.builder().type("succeeded").executionId("run-1").build()));
+        assertEquals("p1", tables.pipelineOf(Event.builder().type("succeeded").executionId("run-2").build()));
+    }
+
+    @Test
+    void testGlobalScopeIsExplicit() {
+        assertFalse(PipelineNodeTables.isGlobal(Event.builder().type("MAINTENANCE").build()));
+        assertTrue(PipelineNodeTables.isGlobal(Event.builder().type("MAINTENANCE")
+                .attributes(Map.of(Event.ATTRIBUTE_SCOPE, Event.SCOPE_GLOBAL)).build()));
+    }
+
+    @Test
+    void testSyncAllClearsRemovedPipelines() {
+        tables.sync("p1", List.of(node("p1", "a")));
+        tables.sync("p2", List.of(node("p2", "b")));
+
+        List<Node> p1 = List.of(node("p1", "a"));
+        List<NodeTable> synced = tables.syncAll(List.of("p1"),
+                pipelineId -> "p1".equals(pipelineId) ? p1 : List.of());
+        assertEquals(2, synced.size());
+        assertEquals(1, tables.size());
+        assertEquals(0, tables.tableOf("p2").size());
+    }
+
+    @Test
+    void testDependencyOnNodeOutsideTableKeptAsSpel() {
+        // 上游 extract 在共享表中，p1 表的依赖图看不到它的状态变化
+        tables.sync(null, List.of(node(null, "extract")));
+        Node report = Node.builder().id("report").pipelineId("p1").startWhen("extract.succeeded").build();
+        NodeTable p1 = tables.sync("p1", List.of(report));
+        assertFalse(p1.isCompiled(report));
+        assertEquals(-1, p1.getDependencyGraph().pending("report"));
+
+        // 上游注册到同一个表后编译；上游移除后退回 SpEL
+        Node extract = node("p1", "extract");
+        p1.sync(List.of(report, extract));
+        assertTrue(p1.isCompiled(report));
+        p1.sync(List.of(report));
+        assertFalse(p1.isCompiled(report));
+        assertEquals(-1, p1.getDependencyGraph().pending("report"));
+    }
+
+    @Test
+    void testNewInstancesWithSameConditionsNotReanalyzed() {
+        AtomicInteger analyzed = new AtomicInteger();
+        NodeTable table = new NodeTable(new ConditionAnalyzer(expressionCache) {
+            @Override
+            public Set<SubscriptionKey> analyze(String condition) {
+                analyzed.incrementAndGet();
+                return super.analyze(condition);
+            }
+        }, new DependencyCompiler(expressionCache));
+        Node extract = node("p1", "extract");
+        Node report = node("p1", "report");
+        report.setStartWhen("extract.succeeded");
+        table.sync(List.of(extract, report));
+        int analyzedOnRegister = analyzed.get();
+        assertTrue(table.isCompiled(report));
+        assertEquals(1, table.getDependencyGraph().pending("report"));
+
+        // 仓储每次返回新实例：条件未变化时只替换实例，状态与执行实例随之同步
+        Node extractCopy = node("p1", "extract");
+        extractCopy.setStatus("succeeded");
+        extractCopy.setExecutionId("run-1");
+        Node reportCopy = node("p1", "report");
+        reportCopy.setStartWhen("extract.succeeded");
+        table.sync(List.of(extractCopy, reportCopy));
+        assertEquals(analyzedOnRegister, analyzed.get());
+        assertSame(extractCopy, table.get("extract"));
+        assertSame(reportCopy, table.get("report"));
+        assertTrue(table.isCompiled(reportCopy));
+        assertEquals(0, table.getDependencyGraph().pending("report"));
+        assertSame(extractCopy, table.resolve(Event.builder().type("succeeded").executionId("run-1").build()));
+
+        // 条件按值变化时重新分析
+        Node reportChanged = node("p1", "report");
+        reportChanged.setStartWhen("extract.failed");
+        table.sync(List.of(extractCopy, reportChanged));
+        assertTrue(analyzed.get() > analyzedOnRegister);
+    }
+
+    private static Node node(String pipelineId, String nodeId) {
+        return Node.builder()
+                .id(nodeId)
+                .pipelineId(pipelineId)
+                .status("running")
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build();
+    }
+}
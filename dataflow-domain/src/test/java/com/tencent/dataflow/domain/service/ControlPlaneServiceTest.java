@@ -2,18 +2,23 @@ package com.tencent.dataflow.domain.service;
 
 import com.tencent.dataflow.domain.event.Event;
 import com.tencent.dataflow.domain.executor.MockTaskExecutor;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
 import com.tencent.dataflow.domain.node.ControlPolicy;
 import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.node.PolicyRule;
 import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
 import com.tencent.dataflow.domain.repository.NodeRepository;
 import com.tencent.dataflow.domain.service.impl.ControlPlaneServiceImpl;
 import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
 import com.tencent.dataflow.domain.taskschema.TaskSchema;
 import com.tencent.dataflow.domain.taskschema.example.ExampleTaskSchemas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -138,4 +143,466 @@ class ControlPlaneServiceTest {
         List<String> history = mockExecutor.getActionHistory(node.getId());
         assertTrue(history.isEmpty(), "No action should be triggered");
     }
+
+    @Test
+    void testExpressionCache_ParsedOncePerSource() {
+        // 1. Register a pipeline: both nodes share the same stopWhen expression
+        String stopWhen = "#event.type == 'MAINTENANCE'";
+        Node node1 = Node.builder()
+                .id("flink-job-4")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen(stopWhen).build())
+                .build();
+        Node node2 = Node.builder()
+                .id("flink-job-5")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen(stopWhen).build())
+                .build();
+        nodeStore.put(node1.getId(), node1);
+        nodeStore.put(node2.getId(), node2);
+        controlPlaneService.registerPipeline(Pipeline.builder()
+                .id("pipe-cache")
+                .nodes(List.of(node1, node2))
+                .build());
+
+        // 2. Send events
+        controlPlaneService.onEvent(Event.builder().type("NORMAL_INFO").build());
+        controlPlaneService.onEvent(Event.builder().type("MAINTENANCE").build());
+
+        // 3. Assert: expression was parsed and compiled at submit time and only served from cache afterwards
+        assertEquals(1, controlPlaneService.getExpressionCache().size());
+        assertEquals(0, controlPlaneService.getExpressionCache().missCount());
+        assertEquals(0, controlPlaneService.getExpressionCache().matcherMissCount());
+        assertTrue(controlPlaneService.getExpressionCache().matcherHitCount() > 0);
+        assertTrue(mockExecutor.getActionHistory(node1.getId()).contains(ActionDefinition.ACTION_STOP));
+        assertTrue(mockExecutor.getActionHistory(node2.getId()).contains(ActionDefinition.ACTION_STOP));
+    }
+
+    @Test
+    void testUpdateNodeState_ResolveBySourceAndExecutionId() {
+        // 1. Two pipelines contain a node with the same id
+        Node nodeP1 = Node.builder()
+                .id("loader")
+                .pipelineId("pipe-1")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        nodeStore.put(nodeP1.getId(), nodeP1);
+
+        // 2. Event from another pipeline must not touch the node
+        controlPlaneService.onEvent(Event.builder()
+                .type("running")
+                .source("/pipelines/pipe-2/nodes/loader")
+                .build());
+        assertNull(nodeP1.getStatus());
+
+        // 3. Event from its own pipeline updates status and binds the execution
+        controlPlaneService.onEvent(Event.builder()
+                .type("running")
+                .source("/pipelines/pipe-1/nodes/loader")
+                .executionId("run-1")
+                .build());
+        assertEquals("running", nodeP1.getStatus());
+        assertEquals("run-1", nodeP1.getExecutionId());
+
+        // 4. Event carrying only the executionId is routed to the same node
+        controlPlaneService.onEvent(Event.builder()
+                .type("succeeded")
+                .executionId("run-1")
+                .build());
+        assertTrue(nodeP1.isSucceeded());
+    }
+
+    @Test
+    void testUpdateNodeState_EarlierProgressDoesNotRegressTerminalStatus() {
+        Node extract = Node.builder()
+                .id("extract")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        nodeStore.put(extract.getId(), extract);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+        controlPlaneService.onEvent(Event.builder()
+                .type("succeeded").source("/pipelines/p/nodes/extract").time(start.plusSeconds(10))
+                .payload(new HashMap<>(Map.of("path", "s3://bucket/out"))).build());
+        assertTrue(extract.isSucceeded());
+
+        // 低优先级的 progress 在 succeeded 之前发生，但更晚被处理：不改写终态与输出
+        controlPlaneService.onEvent(Event.builder()
+                .type("progress").source("/pipelines/p/nodes/extract").time(start.plusSeconds(5))
+                .attributes(Map.of(Event.ATTRIBUTE_PRIORITY, "low"))
+                .payload(new HashMap<>(Map.of("percent", 90))).build());
+        assertTrue(extract.isSucceeded());
+        assertEquals("s3://bucket/out", extract.getOutputs().get("path"));
+
+        // 终态之后发生的事件（重跑）照常生效
+        controlPlaneService.onEvent(Event.builder()
+                .type("running").source("/pipelines/p/nodes/extract").time(start.plusSeconds(20)).build());
+        assertTrue(extract.isRunning());
+    }
+
+    @Test
+    void testUpdateNodeState_EarlierLifecycleEventDoesNotRegressTerminalStatus() {
+        Node extract = Node.builder()
+                .id("extract")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        nodeStore.put(extract.getId(), extract);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+        // 高优先级的 failed 先出队，之前发生的 started 后被处理：不改写终态
+        controlPlaneService.onEvent(Event.builder()
+                .type("failed").source("/pipelines/p/nodes/extract").time(start.plusSeconds(10))
+                .attributes(Map.of(Event.ATTRIBUTE_PRIORITY, "high")).build());
+        assertTrue(extract.isFailed());
+        controlPlaneService.onEvent(Event.builder()
+                .type("started").source("/pipelines/p/nodes/extract").time(start.plusSeconds(5)).build());
+        assertTrue(extract.isFailed());
+        assertEquals(start.plusSeconds(10), extract.getStatusTime());
+    }
+
+    @Test
+    void testPolledStateEvent_UpdatesStatesNotStatus() {
+        // 1. Running streaming node reacting to polled metrics
+        PolicyRule scaleRule = PolicyRule.builder()
+                .name("Scale on lag")
+                .condition("#event.type == 'state.metrics' && metrics.lag > 10000")
+                .action("scale")
+                .actionParams(Map.of("replicas", "8"))
+                .build();
+        Node node = Node.builder()
+                .id("flink-poll")
+                .pipelineId("pipe-1")
+                .status("running")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().customRules(List.of(scaleRule)).build())
+                .build();
+        nodeStore.put(node.getId(), node);
+
+        // 2. State event as published by the poller
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(StatePoller.PAYLOAD_NAME, "metrics");
+        payload.put(StatePoller.PAYLOAD_VALUE, Map.of("lag", 20000));
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(StatePoller.ATTRIBUTE_KIND, StatePoller.KIND_STATE);
+        controlPlaneService.onEvent(Event.builder()
+                .type("state.metrics")
+                .source("/pipelines/pipe-1/nodes/flink-poll")
+                .payload(payload)
+                .attributes(attributes)
+                .build());
+
+        // 3. Assert: value stored as state, lifecycle status untouched, rule sees the state
+        assertEquals("running", node.getStatus());
+        assertEquals(Map.of("lag", 20000), node.getStates().get("metrics"));
+        assertTrue(mockExecutor.getActionHistory(node.getId()).contains("scale"));
+    }
+
+    @Test
+    void testPolledStatus_GuardedAndSaved() {
+        List<Node> saved = new ArrayList<>();
+        controlPlaneService = new ControlPlaneServiceImpl(
+                new com.tencent.dataflow.domain.repository.InMemoryNodeRepository(nodeStore) {
+                    @Override
+                    public void save(Node node) {
+                        saved.add(node);
+                        super.save(node);
+                    }
+                }, mockExecutor, schemaRegistry);
+        Node node = Node.builder()
+                .id("flink-status")
+                .pipelineId("pipe-1")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .build();
+        nodeStore.put(node.getId(), node);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        controlPlaneService.onEvent(Event.builder()
+                .type("failed").source("/pipelines/pipe-1/nodes/flink-status").time(start.plusSeconds(10)).build());
+        assertTrue(node.isFailed());
+
+        // 早于终态的轮询结果不改写状态，但状态值照常记录并持久化
+        saved.clear();
+        controlPlaneService.onEvent(polledStatus("RUNNING", start.plusSeconds(5)));
+        assertTrue(node.isFailed());
+        assertEquals("RUNNING", node.getStates().get("status"));
+        assertEquals(List.of(node), saved);
+
+        // 之后的轮询结果更新状态与状态时间
+        controlPlaneService.onEvent(polledStatus("RUNNING", start.plusSeconds(20)));
+        assertTrue(node.isRunning());
+        assertEquals(start.plusSeconds(20), node.getStatusTime());
+    }
+
+    private static Event polledStatus(String status, Instant time) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(StatePoller.PAYLOAD_NAME, StateDefinition.STATE_STATUS);
+        payload.put(StatePoller.PAYLOAD_VALUE, status);
+        return Event.builder()
+                .type("state.status")
+                .source("/pipelines/pipe-1/nodes/flink-status")
+                .time(time)
+                .payload(payload)
+                .attributes(Map.of(StatePoller.ATTRIBUTE_KIND, StatePoller.KIND_STATE))
+                .build();
+    }
+
+    @Test
+    void testStatePolling_FollowsNodeTable() {
+        TaskSchema polledSchema = new TaskSchema();
+        polledSchema.setType("polled_job");
+        polledSchema.getStates().put("metrics", StateDefinition.builder()
+                .name("metrics").endpoint("/metrics").pollIntervalMillis(1000).build());
+        schemaRegistry.put(polledSchema.getType(), polledSchema);
+        List<String> watched = new ArrayList<>();
+        controlPlaneService.setStatePoller(new StatePoller() {
+            @Override
+            public void watch(Node node, StateDefinition state) {
+                watched.add(Node.keyOf(node.getPipelineId(), node.getId()));
+            }
+
+            @Override
+            public void unwatch(Node node) {
+                watched.remove(Node.keyOf(node.getPipelineId(), node.getId()));
+            }
+
+            @Override
+            public int watchedCount() {
+                return watched.size();
+            }
+        });
+
+        // 1. 重启后从仓储加载、未经 registerPipeline 的节点同样开始轮询
+        Node node = Node.builder()
+                .id("polled")
+                .pipelineId("p")
+                .status("running")
+                .taskConfig(TaskConfig.builder().taskType("polled_job").build())
+                .build();
+        nodeStore.put(node.getId(), node);
+        controlPlaneService.onEvent(Event.builder().type("tick").pipelineId("p").build());
+        assertEquals(List.of(Node.keyOf("p", "polled")), watched);
+        assertSame(node, controlPlaneService.findNode("p", "polled"));
+
+        // 2. 节点不再活跃后停止轮询
+        nodeStore.remove(node.getId());
+        controlPlaneService.onEvent(Event.builder().type("tick").pipelineId("p").build());
+        assertTrue(watched.isEmpty());
+        assertNull(controlPlaneService.findNode("p", "polled"));
+    }
+
+    @Test
+    void testMetrics_RecordsEachStage() {
+        Node node = Node.builder()
+                .id("flink-job-metrics")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build();
+        nodeStore.put(node.getId(), node);
+
+        List<String> stages = new ArrayList<>();
+        controlPlaneService.setMetrics(new ControlPlaneMetrics() {
+            @Override
+            public void recordIngress(long nanos) {
+                stages.add("ingress");
+            }
+
+            @Override
+            public void recordMatching(long nanos, int candidates) {
+                stages.add("matching:" + candidates);
+            }
+
+            @Override
+            public void recordExpression(long nanos) {
+                stages.add("expression");
+            }
+
+            @Override
+            public void recordExecutorCall(String taskType, String action, String protocol, long nanos,
+                                           boolean success) {
+                stages.add("executor:" + taskType + "/" + action + "/" + success);
+            }
+        });
+
+        Event event = Event.builder().type("MAINTENANCE").build();
+        controlPlaneService.onEvent(event);
+
+        assertTrue(event.ingressNanos() > 0);
+        assertEquals(List.of("ingress", "matching:1", "expression", "executor:flink_streaming/stop/true"), stages);
+    }
+
+    @Test
+    void testDuplicateEvent_NotEvaluatedTwice() {
+        Node node = Node.builder()
+                .id("flink-job-dedup")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build();
+        nodeStore.put(node.getId(), node);
+        Set<String> seen = new HashSet<>();
+        controlPlaneService.setEventDeduplicator(event -> !seen.add(event.getId()));
+
+        Event event = Event.builder().type("MAINTENANCE").build();
+        controlPlaneService.onEvent(event);
+        // 上游重复投递同一事件
+        controlPlaneService.onEvent(event);
+        controlPlaneService.onEvent(Event.builder().type("MAINTENANCE").build());
+
+        assertEquals(2, Collections.frequency(mockExecutor.getActionHistory(node.getId()), ActionDefinition.ACTION_STOP));
+    }
+
+    @Test
+    void testPipelineScopedEvaluation_GlobalEventsOptIn() {
+        Node p1 = Node.builder()
+                .id("flink-p1")
+                .pipelineId("p1")
+                .status("running")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build();
+        Node p2 = Node.builder()
+                .id("flink-p2")
+                .pipelineId("p2")
+                .status("running")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build();
+        nodeStore.put(p1.getId(), p1);
+        nodeStore.put(p2.getId(), p2);
+
+        // 1. Scoped event only reaches its own pipeline
+        controlPlaneService.onEvent(Event.builder().type("MAINTENANCE").pipelineId("p1").build());
+        assertEquals(List.of(ActionDefinition.ACTION_STOP), mockExecutor.getActionHistory(p1.getId()));
+        assertTrue(mockExecutor.getActionHistory(p2.getId()).isEmpty());
+
+        // 2. Unscoped event reaches neither
+        controlPlaneService.onEvent(Event.builder().type("MAINTENANCE").build());
+        assertEquals(1, mockExecutor.getActionHistory(p1.getId()).size());
+        assertTrue(mockExecutor.getActionHistory(p2.getId()).isEmpty());
+
+        // 3. Global event reaches every pipeline
+        controlPlaneService.onEvent(Event.builder().type("MAINTENANCE")
+                .attributes(Map.of(Event.ATTRIBUTE_SCOPE, Event.SCOPE_GLOBAL)).build());
+        assertEquals(2, mockExecutor.getActionHistory(p1.getId()).size());
+        assertEquals(List.of(ActionDefinition.ACTION_STOP), mockExecutor.getActionHistory(p2.getId()));
+        assertEquals(2, controlPlaneService.getPipelineTables().size());
+    }
+
+    @Test
+    void testShorthandTrigger_MatchedNatively() {
+        Node upstream = Node.builder()
+                .id("upstream-node")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        Node downstream = Node.builder()
+                .id("downstream")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .startWhen("event:upstream_node.succeeded")
+                .build();
+        nodeStore.put(upstream.getId(), upstream);
+        nodeStore.put(downstream.getId(), downstream);
+        controlPlaneService.registerPipeline(Pipeline.builder().id("p").nodes(List.of(upstream, downstream)).build());
+
+        controlPlaneService.onEvent(Event.builder().type("failed").source("/pipelines/p/nodes/upstream-node").build());
+        assertTrue(mockExecutor.getActionHistory(downstream.getId()).isEmpty());
+
+        controlPlaneService.onEvent(Event.builder().type("succeeded").source("/pipelines/p/nodes/upstream-node").build());
+        assertEquals(List.of(ActionDefinition.ACTION_START), mockExecutor.getActionHistory(downstream.getId()));
+        // The shorthand never reaches the SpEL parser
+        assertEquals(0, controlPlaneService.getExpressionCache().size());
+        assertEquals(1, controlPlaneService.getExpressionCache().matcherCount());
+    }
+
+    @Test
+    void testCorrelation_ExposedToExpressionsAndRetainedAfterCompletion() {
+        Node batch = Node.builder()
+                .id("batch")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        Node consumer = Node.builder()
+                .id("consumer")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .startWhen("#event.source == '/pipelines/p/nodes/batch' && #event.type == 'succeeded'")
+                .build();
+        Node report = Node.builder()
+                .id("report")
+                .pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .startWhen("#event.source == '/pipelines/p/nodes/consumer' && correlation.allSucceeded")
+                .build();
+        for (Node node : List.of(batch, consumer, report)) {
+            nodeStore.put(node.getId(), node);
+        }
+
+        // 1. Batch V1 succeeded: consumer is started and joins the correlation
+        controlPlaneService.onEvent(Event.builder()
+                .type("succeeded").source("/pipelines/p/nodes/batch").correlationId("v1").build());
+        assertTrue(mockExecutor.getActionHistory(consumer.getId()).contains(ActionDefinition.ACTION_START));
+        Map<String, String> statuses = new HashMap<>();
+        statuses.put("p/batch", "succeeded");
+        statuses.put("p/consumer", null);
+        assertEquals(statuses, controlPlaneService.getCorrelationIndex().get("v1").getStatuses());
+
+        // 2. Consumer of V1 succeeded: every participant succeeded, report starts
+        controlPlaneService.onEvent(Event.builder()
+                .type("succeeded").source("/pipelines/p/nodes/consumer").correlationId("v1").build());
+        assertTrue(mockExecutor.getActionHistory(report.getId()).contains(ActionDefinition.ACTION_START));
+
+        // 3. Report finished: correlation completed but retained for late participants until the sweep
+        controlPlaneService.onEvent(Event.builder()
+                .type("succeeded").source("/pipelines/p/nodes/report").correlationId("v1").build());
+        assertTrue(controlPlaneService.getCorrelationIndex().get("v1").isCompleted());
+        assertEquals(1, controlPlaneService.getCorrelationIndex().size());
+    }
+
+    @Test
+    void testOnEvents_BatchMatchesSingleEventPath() {
+        List<Event> events = List.of(
+                Event.builder().type("running").source("/pipelines/p/nodes/extract").build(),
+                Event.builder().type("succeeded").source("/pipelines/p/nodes/extract").build(),
+                Event.builder().type("MAINTENANCE").pipelineId("p").build());
+
+        int[] singleSaves = new int[1];
+        MockTaskExecutor single = new MockTaskExecutor();
+        ControlPlaneServiceImpl singleService = batchFixture(single, singleSaves);
+        events.forEach(singleService::onEvent);
+
+        int[] batchSaves = new int[1];
+        MockTaskExecutor batched = new MockTaskExecutor();
+        ControlPlaneServiceImpl batchService = batchFixture(batched, batchSaves);
+        batchService.onEvents(events);
+
+        for (String nodeId : List.of("extract", "load", "stream")) {
+            assertEquals(single.getActionHistory(nodeId), batched.getActionHistory(nodeId), nodeId);
+        }
+        assertTrue(batched.getActionHistory("load").contains(ActionDefinition.ACTION_START));
+        assertTrue(batched.getActionHistory("stream").contains(ActionDefinition.ACTION_STOP));
+        // extract 在批次内被更新两次，只保存一次
+        assertEquals(singleSaves[0] - 1, batchSaves[0]);
+    }
+
+    private ControlPlaneServiceImpl batchFixture(MockTaskExecutor executor, int[] saves) {
+        Map<String, Node> store = new HashMap<>();
+        store.put("extract", Node.builder().id("extract").pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build()).build());
+        store.put("load", Node.builder().id("load").pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .startWhen("extract.succeeded").build());
+        store.put("stream", Node.builder().id("stream").pipelineId("p")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("#event.type == 'MAINTENANCE'").build())
+                .build());
+        NodeRepository repository = new com.tencent.dataflow.domain.repository.InMemoryNodeRepository(store) {
+            @Override
+            public void save(Node node) {
+                saves[0]++;
+                super.save(node);
+            }
+        };
+        return new ControlPlaneServiceImpl(repository, executor, schemaRegistry);
+    }
 }
@@ -90,4 +90,144 @@ class PipelineBatchTest {
         System.out.println(">>> Node B History: " + historyB);
         assertTrue(historyB.contains("start"), "Node B should have started after A succeeded");
     }
+
+    @Test
+    void testBatchPipeline_StatusDependency() {
+        // 1. Define Pipeline: Node A + Node B -> Node C (depends on upstream status, not on the event)
+        Node nodeA = Node.builder()
+                .id("upstream-a")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        Node nodeB = Node.builder()
+                .id("upstream-b")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .build();
+        Node nodeC = Node.builder()
+                .id("node-c")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                // Root property and variable references are both resolved lazily
+                .startWhen("upstream_a.succeeded && #upstream_b.status == 'succeeded'")
+                .startPayload(Map.of("input", "upstream_a.outputs['path']"))
+                .build();
+        nodeStore.put(nodeA.getId(), nodeA);
+        nodeStore.put(nodeB.getId(), nodeB);
+        nodeStore.put(nodeC.getId(), nodeC);
+
+        // 2. A succeeds: C must keep waiting for B
+        controlPlaneService.onEvent(Event.builder()
+                .type(EventDefinition.EVENT_SUCCEEDED)
+                .source("/pipelines/pipe-1/nodes/upstream-a")
+                .payload(new HashMap<>(Map.of("path", "s3://bucket/a")))
+                .build());
+        assertTrue(mockExecutor.getActionHistory("node-c").isEmpty(), "Node C should wait for Node B");
+
+        // 3. B succeeds: C starts
+        controlPlaneService.onEvent(Event.builder()
+                .type(EventDefinition.EVENT_SUCCEEDED)
+                .source("/pipelines/pipe-1/nodes/upstream-b")
+                .build());
+        assertTrue(mockExecutor.getActionHistory("node-c").contains("start"), "Node C should start after A and B");
+    }
+
+    @Test
+    void testBatchPipeline_FanInCompiledToDependencyCounters() {
+        assertFanInStartsOncePerReadiness();
+    }
+
+    @Test
+    void testBatchPipeline_FanInWithRepositoryReturningNewInstances() {
+        // 无节点缓存时仓储每次读取都反序列化出新实例，节点表会重新注册节点
+        controlPlaneService = new ControlPlaneServiceImpl(new CopyingNodeRepository(nodeStore), mockExecutor,
+                schemaRegistry);
+        assertFanInStartsOncePerReadiness();
+    }
+
+    private void assertFanInStartsOncePerReadiness() {
+        // 1. Three upstreams -> join, all in pipeline pipe-1
+        List<String> upstreams = List.of("part-1", "part-2", "part-3");
+        for (String id : upstreams) {
+            Node upstream = Node.builder()
+                    .id(id)
+                    .pipelineId("pipe-1")
+                    .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                    .build();
+            nodeStore.put(id, upstream);
+        }
+        Node join = Node.builder()
+                .id("join")
+                .pipelineId("pipe-1")
+                .taskConfig(TaskConfig.builder().taskType("shell_script").build())
+                .startWhen("part_1.succeeded && part_2.succeeded && part_3.status == 'succeeded'")
+                .startPayload(Map.of("input", "part_3.outputs['path']"))
+                .build();
+        nodeStore.put(join.getId(), join);
+
+        // 2. Upstreams complete one by one: join starts exactly once, after the last one
+        for (String id : upstreams) {
+            assertTrue(mockExecutor.getActionHistory("join").isEmpty(), "join should wait for " + id);
+            controlPlaneService.onEvent(Event.builder()
+                    .type(EventDefinition.EVENT_SUCCEEDED)
+                    .source("/pipelines/pipe-1/nodes/" + id)
+                    .payload(new HashMap<>(Map.of("path", "s3://bucket/" + id)))
+                    .build());
+        }
+        assertEquals(List.of("start"), mockExecutor.getActionHistory("join"));
+        assertEquals(1, controlPlaneService.getPipelineTables().compiledCount());
+
+        // 3. Join fails: unrelated events do not start it again
+        controlPlaneService.onEvent(Event.builder().type("failed").source("/pipelines/pipe-1/nodes/join").build());
+        controlPlaneService.onEvent(Event.builder().type("tick").pipelineId("pipe-1").build());
+        assertEquals(List.of("start"), mockExecutor.getActionHistory("join"));
+
+        // 4. An upstream reruns and succeeds again: join becomes ready again
+        controlPlaneService.onEvent(Event.builder().type("running").source("/pipelines/pipe-1/nodes/part-2").build());
+        controlPlaneService.onEvent(Event.builder()
+                .type(EventDefinition.EVENT_SUCCEEDED).source("/pipelines/pipe-1/nodes/part-2").build());
+        assertEquals(List.of("start", "start"), mockExecutor.getActionHistory("join"));
+    }
+
+    /**
+     * 模拟不带缓存的持久化仓储：读写都复制节点
+     */
+    private static final class CopyingNodeRepository implements NodeRepository {
+
+        private final Map<String, Node> store;
+
+        private CopyingNodeRepository(Map<String, Node> store) {
+            this.store = store;
+        }
+
+        @Override
+        public Node findById(String pipelineId, String nodeId) {
+            Node node = store.get(nodeId);
+            return node != null && Objects.equals(pipelineId, node.getPipelineId()) ? copy(node) : null;
+        }
+
+        @Override
+        public List<Node> findAllActiveNodes() {
+            List<Node> nodes = new ArrayList<>();
+            store.values().forEach(node -> nodes.add(copy(node)));
+            return nodes;
+        }
+
+        @Override
+        public void save(Node node) {
+            store.put(node.getId(), copy(node));
+        }
+
+        private static Node copy(Node node) {
+            return Node.builder()
+                    .id(node.getId())
+                    .pipelineId(node.getPipelineId())
+                    .taskConfig(node.getTaskConfig())
+                    .controlPolicy(node.getControlPolicy())
+                    .startWhen(node.getStartWhen())
+                    .startPayload(node.getStartPayload())
+                    .status(node.getStatus())
+                    .statusTime(node.getStatusTime())
+                    .outputs(node.getOutputs())
+                    .executionId(node.getExecutionId())
+                    .build();
+        }
+    }
 }
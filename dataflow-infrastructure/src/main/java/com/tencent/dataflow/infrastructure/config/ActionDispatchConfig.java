@@ -0,0 +1,29 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.domain.executor.ActionDispatcher;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ActionDispatchConfig - 异步行为分发配置
+ */
+@Configuration
+@EnableConfigurationProperties(ActionDispatchProperties.class)
+public class ActionDispatchConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "dataflow.action-dispatch", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public ActionDispatcher actionDispatcher(TaskExecutor taskExecutor, ActionDispatchProperties properties,
+            ObjectProvider<ControlPlaneMetrics> metrics) {
+        ActionDispatcher dispatcher = new ActionDispatcher(taskExecutor, properties.getMaxConcurrencyPerHost(),
+                properties.getQueueCapacity());
+        metrics.ifAvailable(dispatcher::setMetrics);
+        return dispatcher;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ActionDispatchProperties - 异步行为分发配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.action-dispatch")
+public class ActionDispatchProperties {
+
+    /**
+     * 是否异步分发行为；关闭时行为在控制循环中同步执行
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个执行器主机的最大并发调用数
+     */
+    private int maxConcurrencyPerHost = 64;
+
+    /**
+     * 分发队列容量
+     */
+    private int queueCapacity = 10000;
+}
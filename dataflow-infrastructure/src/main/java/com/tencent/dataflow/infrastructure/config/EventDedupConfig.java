@@ -0,0 +1,23 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.infrastructure.event.dedup.BloomEventDeduplicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * EventDedupConfig - 事件去重配置
+ */
+@Configuration
+@EnableConfigurationProperties(EventDedupProperties.class)
+public class EventDedupConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dataflow.event-dedup", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public BloomEventDeduplicator bloomEventDeduplicator(EventDedupProperties properties) {
+        return new BloomEventDeduplicator(properties.getWindowMs(), properties.getExpectedEvents(),
+                properties.getFalsePositiveRate(), properties.getExactEntries());
+    }
+}
@@ -0,0 +1,37 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * EventDedupProperties - 事件去重配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.event-dedup")
+public class EventDedupProperties {
+
+    /**
+     * 是否按事件 ID 去重
+     */
+    private boolean enabled = true;
+
+    /**
+     * 去重窗口（毫秒），事件 ID 至少被记住这么久
+     */
+    private long windowMs = 600000;
+
+    /**
+     * 单个窗口内预计到达的事件数，决定布隆过滤器的大小
+     */
+    private long expectedEvents = 1000000;
+
+    /**
+     * 新事件被误判为重复的概率上限
+     */
+    private double falsePositiveRate = 1e-6;
+
+    /**
+     * 精确判定的最近事件 ID 数
+     */
+    private int exactEntries = 10000;
+}
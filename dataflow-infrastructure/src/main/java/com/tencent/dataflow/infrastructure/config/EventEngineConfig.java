@@ -0,0 +1,58 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.domain.event.EventPriority;
+import com.tencent.dataflow.domain.service.ControlPlaneService;
+import com.tencent.dataflow.domain.taskschema.EventDefinition;
+import com.tencent.dataflow.domain.taskschema.TaskSchema;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * EventEngineConfig - 事件引擎配置
+ * <p>
+ * 将控制平面注册为分区事件引擎的监听者，事件发布方通过 EventPublisher 异步投递。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(EventEngineProperties.class)
+public class EventEngineConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "dataflow.event-engine", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public PartitionedEventEngine partitionedEventEngine(ControlPlaneService controlPlaneService,
+            EventEngineProperties properties, ObjectProvider<TaskSchema> taskSchemas) {
+        PartitionedEventEngine engine = new PartitionedEventEngine(controlPlaneService,
+                properties.getPartitions(), properties.getBufferSize(), properties.getBatchSize());
+        engine.setOverflowPolicy(EventPriority.HIGH, properties.getHighOverflow());
+        engine.setOverflowPolicy(EventPriority.NORMAL, properties.getNormalOverflow());
+        engine.setOverflowPolicy(EventPriority.LOW, properties.getLowOverflow());
+        engine.setMaxQueueLatencyMillis(properties.getMaxQueueLatencyMs());
+        engine.setRetryAfterMillis(properties.getRetryAfterMs());
+        engine.setPipelineResolver(controlPlaneService::pipelineOf);
+        engine.setConflatedTypes(conflatedTypes(properties, taskSchemas));
+        return engine;
+    }
+
+    /**
+     * 配置的合并类型与 TaskSchema 中声明 conflate 的事件
+     */
+    private Set<String> conflatedTypes(EventEngineProperties properties, ObjectProvider<TaskSchema> taskSchemas) {
+        Set<String> types = new LinkedHashSet<>(properties.getConflateTypes());
+        taskSchemas.orderedStream().forEach(schema -> {
+            for (EventDefinition definition : schema.getEvents()) {
+                if (definition.isConflate()) {
+                    types.add(definition.getName());
+                }
+            }
+        });
+        return types;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.infrastructure.event.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EventEngineProperties - 事件引擎配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.event-engine")
+public class EventEngineProperties {
+
+    /**
+     * 是否启用分区事件引擎；关闭时事件在调用线程上同步处理
+     */
+    private boolean enabled = true;
+
+    /**
+     * 分区数，默认等于 CPU 核数
+     */
+    private int partitions = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 每个分区的队列容量（向上取整为 2 的幂）
+     */
+    private int bufferSize = 16384;
+
+    /**
+     * 消费线程单次批量处理的最大事件数；1 表示逐个处理
+     */
+    private int batchSize = 256;
+
+    /**
+     * 高优先级队列满时的处理策略
+     */
+    private OverflowPolicy highOverflow = OverflowPolicy.BLOCK;
+
+    /**
+     * 普通优先级队列满时的处理策略；REJECT 时批量接入接口返回 429
+     */
+    private OverflowPolicy normalOverflow = OverflowPolicy.BLOCK;
+
+    /**
+     * 低优先级队列满时的处理策略
+     */
+    private OverflowPolicy lowOverflow = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * 准入控制的排队延迟上限（毫秒），超出时丢弃低优先级事件、拒绝策略为 REJECT 的普通事件；0 表示不限制
+     */
+    private long maxQueueLatencyMs = 2000;
+
+    /**
+     * 拒绝事件时建议的最短重试间隔（毫秒）
+     */
+    private long retryAfterMs = 1000;
+
+    /**
+     * 合并的事件类型（如 progress、metrics）：同一节点的该类事件排队时只保留最新的一个。
+     * TaskSchema 中声明 conflate 的事件自动加入；生命周期事件不会合并
+     */
+    private List<String> conflateTypes = new ArrayList<>();
+}
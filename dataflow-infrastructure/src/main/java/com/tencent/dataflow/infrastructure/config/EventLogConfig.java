@@ -0,0 +1,48 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.service.ControlPlaneService;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import com.tencent.dataflow.infrastructure.event.wal.EventLog;
+import com.tencent.dataflow.infrastructure.event.wal.EventRecordCodec;
+import com.tencent.dataflow.infrastructure.event.wal.WriteAheadEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+
+/**
+ * EventLogConfig - 事件预写日志配置
+ * <p>
+ * 以预写日志发布器作为首选 EventPublisher：事件先持久化，再投递给分区事件引擎
+ * （引擎关闭时直接交给控制平面处理）；启动时从检查点重放上次未处理完的事件。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(EventLogProperties.class)
+@ConditionalOnProperty(prefix = "dataflow.event-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EventLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventLog eventLog(EventLogProperties properties) {
+        return new EventLog(Path.of(properties.getDir()), properties.getSegmentSizeMb() * 1024 * 1024);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Primary
+    public WriteAheadEventPublisher writeAheadEventPublisher(EventLog eventLog, ObjectMapper objectMapper,
+            ObjectProvider<PartitionedEventEngine> partitionedEventEngine, ControlPlaneService controlPlaneService,
+            EventLogProperties properties) {
+        EventPublisher downstream = partitionedEventEngine.getIfAvailable();
+        if (downstream == null) {
+            downstream = controlPlaneService::onEvent;
+        }
+        return new WriteAheadEventPublisher(eventLog, new EventRecordCodec(objectMapper), downstream,
+                Path.of(properties.getDir()), properties.getCheckpointIntervalMs());
+    }
+}
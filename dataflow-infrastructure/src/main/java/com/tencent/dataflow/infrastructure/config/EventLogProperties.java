@@ -0,0 +1,32 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * EventLogProperties - 事件预写日志配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.event-log")
+public class EventLogProperties {
+
+    /**
+     * 是否启用事件预写日志；关闭时事件只存在于内存中
+     */
+    private boolean enabled = true;
+
+    /**
+     * 日志目录
+     */
+    private String dir = "data/event-log";
+
+    /**
+     * 段文件大小（MB）
+     */
+    private int segmentSizeMb = 64;
+
+    /**
+     * 检查点写入间隔（毫秒）
+     */
+    private long checkpointIntervalMs = 1000;
+}
@@ -1,16 +1,25 @@
 package com.tencent.dataflow.infrastructure.config;
 
+import com.tencent.dataflow.infrastructure.executor.HttpTransport;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableConfigurationProperties(HttpTransportProperties.class)
 public class HttpConfig {
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public HttpTransport httpTransport(HttpTransportProperties properties) {
+        return new HttpTransport(properties);
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpTransport httpTransport) {
+        return httpTransport.getRestTemplate();
     }
 }
@@ -0,0 +1,61 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HttpTransportProperties - 执行器 HTTP 传输配置
+ * <p>
+ * 超时为默认值，可被 ActionDefinition / StateDefinition 的 protocolConfig 按调用覆盖
+ * (connectTimeoutMs, readTimeoutMs, totalTimeoutMs)。
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.http")
+public class HttpTransportProperties {
+
+    /**
+     * 每个执行器主机的最大连接数
+     */
+    private int maxConnectionsPerHost = 50;
+
+    /**
+     * 连接池总连接数
+     */
+    private int maxConnectionsTotal = 500;
+
+    /**
+     * 建立连接超时（毫秒）
+     */
+    private long connectTimeoutMs = 2000;
+
+    /**
+     * 读取响应超时（毫秒）
+     */
+    private long readTimeoutMs = 10000;
+
+    /**
+     * 单次调用总超时（毫秒），异步调用时生效
+     */
+    private long totalTimeoutMs = 30000;
+
+    /**
+     * 从连接池获取连接的超时（毫秒）
+     */
+    private long connectionRequestTimeoutMs = 1000;
+
+    /**
+     * 空闲连接保留时间（毫秒），超过后被回收
+     */
+    private long idleTimeoutMs = 60000;
+
+    /**
+     * 连接最大存活时间（毫秒），用于配合服务端滚动发布
+     */
+    private long connectionTimeToLiveMs = 300000;
+
+    /**
+     * 异步调用是否使用 HTTP/2（同一主机的请求复用单个连接）
+     */
+    private boolean http2Enabled = false;
+}
@@ -0,0 +1,71 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.domain.executor.ActionDispatcher;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
+import com.tencent.dataflow.domain.service.impl.ControlPlaneServiceImpl;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import com.tencent.dataflow.infrastructure.event.dedup.BloomEventDeduplicator;
+import com.tencent.dataflow.infrastructure.event.wal.WriteAheadEventPublisher;
+import com.tencent.dataflow.infrastructure.executor.CachingTaskExecutor;
+import com.tencent.dataflow.infrastructure.executor.HttpTransport;
+import com.tencent.dataflow.infrastructure.metrics.ControlPlaneMeterBinder;
+import com.tencent.dataflow.infrastructure.metrics.MicrometerControlPlaneMetrics;
+import com.tencent.dataflow.infrastructure.persistence.node.CachingNodeRepository;
+import com.tencent.dataflow.infrastructure.persistence.node.MybatisNodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MetricsConfig - 控制平面指标配置
+ * <p>
+ * 耗时指标写入 Actuator 提供的 MeterRegistry；没有 MeterRegistry 时（如未引入 Actuator）不记录。
+ * 队列深度与缓存指标由 MeterBinder 在注册表创建时绑定。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+@ConditionalOnProperty(prefix = "dataflow.metrics", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public ControlPlaneMetrics controlPlaneMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+            MetricsProperties properties) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return ControlPlaneMetrics.NOOP;
+        }
+        return new MicrometerControlPlaneMetrics(registry, properties.isPercentileHistogram());
+    }
+
+    @Bean
+    public ControlPlaneMeterBinder controlPlaneMeterBinder(
+            ObjectProvider<ControlPlaneServiceImpl> controlPlaneService,
+            ObjectProvider<PartitionedEventEngine> eventEngine,
+            ObjectProvider<WriteAheadEventPublisher> eventLogPublisher,
+            ObjectProvider<BloomEventDeduplicator> eventDeduplicator,
+            ObjectProvider<ActionDispatcher> actionDispatcher,
+            ObjectProvider<StatePoller> statePoller,
+            ObjectProvider<CachingTaskExecutor> stateCache,
+            ObjectProvider<CachingNodeRepository> nodeCache,
+            ObjectProvider<MybatisNodeRepository> nodeStore,
+            ObjectProvider<HttpTransport> httpTransport) {
+        return ControlPlaneMeterBinder.builder()
+                .controlPlaneService(controlPlaneService.getIfAvailable())
+                .eventEngine(eventEngine.getIfAvailable())
+                .eventLogPublisher(eventLogPublisher.getIfAvailable())
+                .eventDeduplicator(eventDeduplicator.getIfAvailable())
+                .actionDispatcher(actionDispatcher.getIfAvailable())
+                .statePoller(statePoller.getIfAvailable())
+                .stateCache(stateCache.getIfAvailable())
+                .nodeCache(nodeCache.getIfAvailable())
+                .nodeStore(nodeStore.getIfAvailable())
+                .httpTransport(httpTransport.getIfAvailable())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * MetricsProperties - 控制平面指标配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.metrics")
+public class MetricsProperties {
+
+    /**
+     * 是否记录控制平面各阶段的耗时
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否为耗时指标导出直方图桶（用于在 Prometheus 中计算 p99）
+     */
+    private boolean percentileHistogram = true;
+}
@@ -0,0 +1,27 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * NodeCacheProperties - 节点读缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.node-cache")
+public class NodeCacheProperties {
+
+    /**
+     * 是否在节点仓储之上启用读缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * findById 缓存的最大条目数
+     */
+    private int maxEntries = 100000;
+
+    /**
+     * findById 缓存的有效期（毫秒）
+     */
+    private long ttlMs = 60000;
+}
@@ -0,0 +1,47 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.infrastructure.persistence.node.CachingNodeRepository;
+import com.tencent.dataflow.infrastructure.persistence.node.MybatisNodeRepository;
+import com.tencent.dataflow.infrastructure.persistence.pipeline.MybatisPipelineRepository;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * NodeStoreConfig - 节点持久化配置
+ * <p>
+ * 控制平面依赖节点仓储，关闭时仓储在控制平面之后销毁，能刷完停机前的全部写入。
+ * 启用读缓存时，以带缓存的装饰器作为首选 NodeRepository。Pipeline 元数据与节点一同持久化。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties({NodeStoreProperties.class, NodeCacheProperties.class})
+@ConditionalOnProperty(prefix = "dataflow.node-store", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class NodeStoreConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public MybatisNodeRepository mybatisNodeRepository(SqlSessionFactory sqlSessionFactory,
+            ObjectMapper objectMapper, NodeStoreProperties properties) {
+        return new MybatisNodeRepository(sqlSessionFactory, objectMapper,
+                properties.getFlushIntervalMs(), properties.getBatchSize());
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "dataflow.node-cache", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public CachingNodeRepository cachingNodeRepository(MybatisNodeRepository mybatisNodeRepository,
+            NodeCacheProperties properties) {
+        return new CachingNodeRepository(mybatisNodeRepository, properties.getMaxEntries(), properties.getTtlMs());
+    }
+
+    @Bean
+    public MybatisPipelineRepository mybatisPipelineRepository(SqlSessionFactory sqlSessionFactory) {
+        return new MybatisPipelineRepository(sqlSessionFactory);
+    }
+}
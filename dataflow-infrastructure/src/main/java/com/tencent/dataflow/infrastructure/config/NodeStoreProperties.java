@@ -0,0 +1,27 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * NodeStoreProperties - 节点持久化配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.node-store")
+public class NodeStoreProperties {
+
+    /**
+     * 是否启用数据库节点仓储
+     */
+    private boolean enabled = true;
+
+    /**
+     * 写后缓冲的刷写间隔（毫秒），即数据库中节点状态的最大延迟
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * 单个 JDBC batch 的最大语句数
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,31 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.infrastructure.executor.CachingTaskExecutor;
+import com.tencent.dataflow.infrastructure.executor.HttpTaskExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executors;
+
+/**
+ * StateCacheConfig - 状态缓存配置
+ * <p>
+ * 以带缓存的装饰器作为首选 TaskExecutor，控制平面、分发器与轮询器都经由它访问执行器。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(StateCacheProperties.class)
+public class StateCacheConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "dataflow.state-cache", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public CachingTaskExecutor cachingTaskExecutor(HttpTaskExecutor httpTaskExecutor, StateCacheProperties properties) {
+        return new CachingTaskExecutor(httpTaskExecutor, properties.getMaxEntries(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
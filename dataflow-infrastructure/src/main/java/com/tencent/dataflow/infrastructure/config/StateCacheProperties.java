@@ -0,0 +1,25 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * StateCacheProperties - 状态缓存配置
+ * <p>
+ * 各状态的有效期由 StateDefinition.cacheTtlMillis 声明，这里只控制开关与容量。
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.state-cache")
+public class StateCacheProperties {
+
+    /**
+     * 是否启用状态缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数
+     */
+    private int maxEntries = 100000;
+}
@@ -0,0 +1,48 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.service.ControlPlaneService;
+import com.tencent.dataflow.infrastructure.poller.HierarchicalTimingWheel;
+import com.tencent.dataflow.infrastructure.poller.TimingWheelStatePoller;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.concurrent.Executors;
+
+/**
+ * StatePollerConfig - 状态轮询配置
+ * <p>
+ * 轮询结果优先经事件引擎异步投递；未启用事件引擎时直接交给控制平面处理。
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(StatePollerProperties.class)
+@ConditionalOnProperty(prefix = "dataflow.state-poller", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class StatePollerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public HierarchicalTimingWheel statePollerTimingWheel(StatePollerProperties properties) {
+        return new HierarchicalTimingWheel(properties.getTickMillis(), properties.getWheelSize(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public TimingWheelStatePoller statePoller(TaskExecutor taskExecutor,
+                                              ObjectProvider<EventPublisher> eventPublisher,
+                                              @Lazy ControlPlaneService controlPlaneService,
+                                              HierarchicalTimingWheel statePollerTimingWheel,
+                                              StatePollerProperties properties) {
+        // 发布时再解析：事件引擎与控制平面都依赖轮询器所在的上下文，避免构造期循环依赖
+        EventPublisher publisher = event -> eventPublisher
+                .getIfAvailable(() -> controlPlaneService::onEvent)
+                .publish(event);
+        return new TimingWheelStatePoller(taskExecutor, publisher, statePollerTimingWheel,
+                properties.getJitterRatio(), controlPlaneService::findNode);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tencent.dataflow.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * StatePollerProperties - 状态轮询配置
+ */
+@Data
+@ConfigurationProperties(prefix = "dataflow.state-poller")
+public class StatePollerProperties {
+
+    /**
+     * 是否轮询声明了 pollIntervalMillis 的状态
+     */
+    private boolean enabled = true;
+
+    /**
+     * 时间轮 tick 时长（毫秒），即轮询调度精度
+     */
+    private long tickMillis = 10;
+
+    /**
+     * 时间轮每层槽位数
+     */
+    private int wheelSize = 512;
+
+    /**
+     * 轮询间隔的随机抖动比例
+     */
+    private double jitterRatio = 0.1;
+}
@@ -0,0 +1,22 @@
+package com.tencent.dataflow.infrastructure.event;
+
+/**
+ * OverflowPolicy - 事件队列已满时的处理策略
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 发布方等待队列腾出空间（背压）
+     */
+    BLOCK,
+
+    /**
+     * 丢弃队列中最早的事件，为新事件腾出空间；适用于只关心最新值的事件（如指标）
+     */
+    DROP_OLDEST,
+
+    /**
+     * 拒绝新事件，发布方收到 {@link com.tencent.dataflow.domain.event.EventRejectedException}
+     */
+    REJECT
+}
@@ -0,0 +1,694 @@
+package com.tencent.dataflow.infrastructure.event;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventListener;
+import com.tencent.dataflow.domain.event.EventPriority;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.runtime.PipelineNodeTables;
+import com.tencent.dataflow.domain.taskschema.EventDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * PartitionedEventEngine - 分区事件处理引擎
+ * <p>
+ * 进程内的事件总线实现。事件按所属 Pipeline 哈希到固定分区，
+ * 每个分区由一组有界环形队列和一个专属消费线程组成（单写者）：
+ * <ul>
+ *   <li>同一 Pipeline、同一优先级的事件总是落在同一分区的同一队列，按发布顺序处理；</li>
+ *   <li>不同 Pipeline 的事件在各分区并行处理，节点状态无需加锁；</li>
+ *   <li>队列有界，不会无限堆积。</li>
+ * </ul>
+ * 事件所属的 Pipeline 由 Pipeline 解析器给出（控制平面依次取 pipelineId、事件源地址中的 pipelineId、
+ * executionId 绑定的 Pipeline），与控制平面选择节点表的方式一致。
+ * 全局事件、以及只携带 executionId 且尚未绑定到 Pipeline 的事件会访问全部 Pipeline 的节点表，
+ * 它们进入额外的串行分区（编号为 partitionCount() - 1），处理时独占控制平面，其他分区在批次之间等待；
+ * 串行分区的事件与各 Pipeline 分区中已排队的事件之间不保证先后顺序。
+ * 无法确定 Pipeline 的其他事件依次按 correlationId、source 哈希，只涉及共享节点表。</p>
+ * <p>
+ * 消费线程一次取出队列中已积压的事件（最多 maxBatchSize 个），以 {@link EventListener#onEvents} 批量处理，
+ * 负载高时摊薄每个事件的节点加载与持久化开销；队列中只有一个事件时仍走 {@link EventListener#onEvent}。
+ * </p>
+ * <p>
+ * 过载保护：
+ * <ul>
+ *   <li>每个分区按 {@link EventPriority} 分为三个队列，消费线程总是先处理高优先级队列，
+ *       维护窗口等关键事件不会排在大量指标事件之后；</li>
+ *   <li>队列满时按该优先级的 {@link OverflowPolicy} 处理：等待、丢弃最早的事件或拒绝新事件；</li>
+ *   <li>准入控制：分区的排队延迟（事件进入控制平面到被取出的耗时，指数滑动平均）超过上限时，
+ *       低优先级事件直接丢弃，普通优先级事件在其策略为 REJECT 时被拒绝，高优先级事件始终接收。</li>
+ * </ul>
+ * 被丢弃的事件同样触发完成回调（预写日志据此推进检查点），并按原因计数。
+ * </p>
+ * <p>
+ * 合并：对配置为合并的事件类型（如 progress、metrics），同一节点（source，其次 executionId）、同一类型、
+ * 同一优先级的事件在队列中最多占一个位置。尚未被取出时，新事件取代旧事件，位置保持不变，
+ * 消费线程只处理最新的一个；控制平面的评估量由其处理能力而非执行器的上报频率决定。
+ * 生命周期事件（started、succeeded、failed 等）从不合并。
+ * </p>
+ */
+@Slf4j
+public class PartitionedEventEngine implements EventPublisher, AutoCloseable {
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    /**
+     * 事件被丢弃或拒绝的原因
+     */
+    public enum ShedReason {
+
+        /**
+         * 队列已满，丢弃最早的事件
+         */
+        OVERFLOW,
+
+        /**
+         * 排队延迟超出上限，准入时丢弃
+         */
+        LATENCY,
+
+        /**
+         * 拒绝发布（发布方收到 EventRejectedException）
+         */
+        REJECTED,
+
+        /**
+         * 尚未处理时被同一节点、同一类型的新事件取代
+         */
+        CONFLATED
+    }
+
+    private final EventListener listener;
+
+    private final Partition[] partitions;
+
+    private final int maxBatchSize;
+
+    private final OverflowPolicy[] overflowPolicies = {OverflowPolicy.BLOCK, OverflowPolicy.BLOCK,
+            OverflowPolicy.DROP_OLDEST};
+
+    private final LongAdder[][] shed = new LongAdder[PRIORITIES.length][ShedReason.values().length];
+
+    private volatile long maxQueueLatencyNanos;
+
+    private volatile long retryAfterMillis = 1000;
+
+    private volatile Set<String> conflatedTypes = Collections.emptySet();
+
+    private volatile boolean running;
+
+    private volatile Consumer<Event> completionListener;
+
+    private volatile Function<Event, String> pipelineResolver = PartitionedEventEngine::pipelineOf;
+
+    /**
+     * Pipeline 分区处理时持有读锁，串行分区处理时持有写锁
+     */
+    private final ReadWriteLock exclusion = new ReentrantReadWriteLock();
+
+    /**
+     * @param listener 事件处理者（控制平面）
+     * @param partitionCount 分区数，通常等于 CPU 核数
+     * @param bufferSize 每个分区的队列容量
+     */
+    public PartitionedEventEngine(EventListener listener, int partitionCount, int bufferSize) {
+        this(listener, partitionCount, bufferSize, 1);
+    }
+
+    /**
+     * @param listener 事件处理者（控制平面）
+     * @param partitionCount 分区数，通常等于 CPU 核数
+     * @param bufferSize 每个分区每个优先级的队列容量
+     * @param maxBatchSize 消费线程单次交给处理者的最大事件数；1 表示逐个处理
+     */
+    public PartitionedEventEngine(EventListener listener, int partitionCount, int bufferSize, int maxBatchSize) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitionCount);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        // 最后一个分区为串行分区
+        this.partitions = new Partition[partitionCount + 1];
+        for (int i = 0; i <= partitionCount; i++) {
+            partitions[i] = new Partition(i, bufferSize, i == partitionCount);
+        }
+        for (LongAdder[] counters : shed) {
+            Arrays.setAll(counters, i -> new LongAdder());
+        }
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (Partition partition : partitions) {
+            partition.start();
+        }
+        log.info("Event engine started with {} partitions", partitions.length);
+    }
+
+    /**
+     * @throws EventRejectedException 事件因过载被拒绝
+     */
+    @Override
+    public void publish(Event event) {
+        if (!running) {
+            throw new IllegalStateException("Event engine is not running");
+        }
+        event.markIngress();
+        EventPriority priority = EventPriority.of(event);
+        ConflationKey key = conflationKey(event, priority);
+        Partition partition = partitionOf(event);
+        if (key == null) {
+            partition.enqueue(event, priority);
+        } else {
+            partition.conflate(key, event, priority);
+        }
+        if (!running) {
+            // 与 close 竞争：消费线程可能已在事件入队前退出
+            partition.drainIfStopped();
+        }
+    }
+
+    /**
+     * 停止引擎：不再接收新事件，等待各分区处理完已入队的事件
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+        log.info("Event engine stopped, processed {} events", processedCount());
+    }
+
+    /**
+     * 设置事件处理完成（无论成功与否，包括被丢弃）后的回调，在分区线程或发布线程上调用
+     */
+    public void setCompletionListener(Consumer<Event> completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    /**
+     * 设置 Pipeline 解析器，需在启动前设置；返回 null 表示无法确定事件所属的 Pipeline。
+     * 默认依次取 pipelineId、事件源地址中的 pipelineId
+     */
+    public void setPipelineResolver(Function<Event, String> pipelineResolver) {
+        this.pipelineResolver = pipelineResolver;
+    }
+
+    /**
+     * 设置指定优先级的队列已满时的处理策略；默认高、普通优先级等待，低优先级丢弃最早的事件
+     */
+    public void setOverflowPolicy(EventPriority priority, OverflowPolicy policy) {
+        overflowPolicies[priority.ordinal()] = policy;
+    }
+
+    /**
+     * 设置准入控制的排队延迟上限；0 表示不限制
+     */
+    public void setMaxQueueLatencyMillis(long maxQueueLatencyMillis) {
+        this.maxQueueLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueLatencyMillis);
+    }
+
+    /**
+     * 设置拒绝事件时建议的最短重试间隔；排队延迟更长时以排队延迟为准
+     */
+    public void setRetryAfterMillis(long retryAfterMillis) {
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 设置合并的事件类型，需在启动前设置；生命周期事件即使配置也不会合并
+     */
+    public void setConflatedTypes(Collection<String> types) {
+        Set<String> conflated = new HashSet<>();
+        for (String type : types) {
+            if (EventDefinition.isLifecycle(type)) {
+                log.warn("Ignored conflation of lifecycle event type [{}]", type);
+            } else if (type != null && !type.isEmpty()) {
+                conflated.add(type);
+            }
+        }
+        this.conflatedTypes = Collections.unmodifiableSet(conflated);
+    }
+
+    /**
+     * 分区数，包括最后一个串行分区
+     */
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * 指定分区当前的队列深度（全部优先级）
+     */
+    public int queueDepth(int partition) {
+        return partitions[partition].size();
+    }
+
+    /**
+     * 指定分区、指定优先级的队列深度
+     */
+    public int queueDepth(int partition, EventPriority priority) {
+        return partitions[partition].lanes[priority.ordinal()].size();
+    }
+
+    public int totalQueueDepth() {
+        int depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 指定分区的排队延迟（纳秒，指数滑动平均）；队列排空后归零
+     */
+    public long queueLatencyNanos(int partition) {
+        return partitions[partition].latencyNanos;
+    }
+
+    public long processedCount() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            count += partition.processed.sum();
+        }
+        return count;
+    }
+
+    /**
+     * 指定优先级、指定原因被丢弃或拒绝的事件数
+     */
+    public long shedCount(EventPriority priority, ShedReason reason) {
+        return shed[priority.ordinal()][reason.ordinal()].sum();
+    }
+
+    /**
+     * 被丢弃或拒绝的事件总数
+     */
+    public long shedCount() {
+        long count = 0;
+        for (LongAdder[] counters : shed) {
+            for (LongAdder counter : counters) {
+                count += counter.sum();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 默认的 Pipeline 解析：pipelineId，其次事件源地址中的 pipelineId
+     */
+    static String pipelineOf(Event event) {
+        if (event.getPipelineId() != null) {
+            return event.getPipelineId();
+        }
+        EventSource source = EventSource.parse(event.getSource());
+        return source != null ? source.getPipelineId() : null;
+    }
+
+    /**
+     * 合并键：无法识别所属节点或类型未配置合并时返回 null
+     */
+    private ConflationKey conflationKey(Event event, EventPriority priority) {
+        Set<String> types = conflatedTypes;
+        String type = event.getType();
+        if (types.isEmpty() || type == null || !types.contains(type)) {
+            return null;
+        }
+        String node = event.getSource() != null ? event.getSource() : event.getExecutionId();
+        if (node == null) {
+            return null;
+        }
+        return new ConflationKey(event.getPipelineId(), node, type, priority);
+    }
+
+    /**
+     * 同一 Pipeline 的事件必须落在同一分区以保证顺序
+     */
+    private Partition partitionOf(Event event) {
+        Partition serial = partitions[partitions.length - 1];
+        if (PipelineNodeTables.isGlobal(event)) {
+            return serial;
+        }
+        String key = pipelineResolver.apply(event);
+        if (key == null) {
+            if (event.getSource() == null && event.getExecutionId() != null) {
+                // 执行实例尚未绑定：控制平面需对账全部 Pipeline 才能定位节点
+                return serial;
+            }
+            key = event.getCorrelationId() != null ? event.getCorrelationId()
+                    : event.getSource() != null ? event.getSource() : "";
+        }
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return partitions[Math.floorMod(hash, partitions.length - 1)];
+    }
+
+    private void shed(Event event, EventPriority priority, ShedReason reason) {
+        shed[priority.ordinal()][reason.ordinal()].increment();
+        log.debug("Shed {} event [{}] of type [{}]: {}", priority, event.getId(), event.getType(), reason);
+        Consumer<Event> callback = completionListener;
+        if (callback != null) {
+            callback.accept(event);
+        }
+    }
+
+    private EventRejectedException reject(Event event, EventPriority priority, long latencyNanos) {
+        shed[priority.ordinal()][ShedReason.REJECTED.ordinal()].increment();
+        long retryAfter = Math.max(retryAfterMillis, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        return new EventRejectedException("Event engine overloaded, rejected event " + event.getId()
+                + " of type " + event.getType(), retryAfter);
+    }
+
+    private record ConflationKey(String pipelineId, String node, String type, EventPriority priority) {
+    }
+
+    /**
+     * 合并槽位：队列中的占位事件与其最新取代者
+     */
+    private static final class Slot {
+
+        /**
+         * 最新的待处理事件；null 表示尚未入队
+         */
+        private Event event;
+
+        /**
+         * 已被取出并移除，发布方需重新获取槽位
+         */
+        private boolean removed;
+    }
+
+    private final class Partition implements Runnable {
+
+        private final int index;
+
+        /**
+         * 串行分区：处理时独占控制平面
+         */
+        private final boolean serial;
+
+        /**
+         * 按优先级排列的队列，下标为 {@link EventPriority#ordinal()}
+         */
+        private final BoundedRingBuffer<Event>[] lanes;
+
+        private final LongAdder processed = new LongAdder();
+
+        /**
+         * 队列中尚未取出的合并事件
+         */
+        private final ConcurrentHashMap<ConflationKey, Slot> pending = new ConcurrentHashMap<>();
+
+        /**
+         * 排队延迟的指数滑动平均，只由消费线程写入
+         */
+        private volatile long latencyNanos;
+
+        private volatile boolean sleeping;
+
+        /**
+         * 消费线程已退出，之后入队的事件由发布方取出处理
+         */
+        private volatile boolean terminated;
+
+        private Thread thread;
+
+        @SuppressWarnings("unchecked")
+        private Partition(int index, int bufferSize, boolean serial) {
+            this.index = index;
+            this.serial = serial;
+            this.lanes = new BoundedRingBuffer[PRIORITIES.length];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new BoundedRingBuffer<>(bufferSize);
+            }
+        }
+
+        private void start() {
+            terminated = false;
+            thread = new Thread(this, serial ? "event-partition-serial" : "event-partition-" + index);
+            thread.start();
+        }
+
+        private void stop() {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * 该节点、该类型已有事件在排队时直接取代，否则入队并占住槽位
+         */
+        private void conflate(ConflationKey key, Event event, EventPriority priority) {
+            while (true) {
+                Slot slot = pending.computeIfAbsent(key, k -> new Slot());
+                Event superseded;
+                synchronized (slot) {
+                    if (slot.removed) {
+                        continue;
+                    }
+                    superseded = slot.event;
+                    slot.event = event;
+                    if (superseded == null) {
+                        // 入队期间持有槽位：队列中还没有该槽位的占位事件，消费线程不会争用
+                        boolean queued = false;
+                        try {
+                            queued = enqueue(event, priority);
+                        } finally {
+                            if (!queued) {
+                                slot.event = null;
+                                slot.removed = true;
+                                pending.remove(key, slot);
+                            }
+                        }
+                        return;
+                    }
+                }
+                shed(superseded, priority, ShedReason.CONFLATED);
+                return;
+            }
+        }
+
+        /**
+         * @return 事件已入队；false 表示准入时被丢弃
+         */
+        private boolean enqueue(Event event, EventPriority priority) {
+            OverflowPolicy policy = overflowPolicies[priority.ordinal()];
+            long latency = latencyNanos;
+            long maxLatency = maxQueueLatencyNanos;
+            if (maxLatency > 0 && latency > maxLatency && priority != EventPriority.HIGH) {
+                if (priority == EventPriority.LOW) {
+                    shed(event, priority, ShedReason.LATENCY);
+                    return false;
+                }
+                if (policy == OverflowPolicy.REJECT) {
+                    throw reject(event, priority, latency);
+                }
+            }
+            BoundedRingBuffer<Event> lane = lanes[priority.ordinal()];
+            while (!lane.offer(event)) {
+                if (policy == OverflowPolicy.REJECT) {
+                    throw reject(event, priority, latencyNanos);
+                }
+                if (policy == OverflowPolicy.DROP_OLDEST) {
+                    // 多生产者多消费者队列：发布方可以直接取出队首事件丢弃
+                    Event oldest = lane.poll();
+                    if (oldest != null) {
+                        shed(resolve(oldest, priority), priority, ShedReason.OVERFLOW);
+                    }
+                    continue;
+                }
+                // 队列已满：唤醒消费者并短暂等待，形成对发布方的背压
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                if (!running) {
+                    throw new IllegalStateException("Event engine stopped while publishing");
+                }
+            }
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+            return true;
+        }
+
+        /**
+         * 按优先级取出下一个事件
+         */
+        private Event poll() {
+            for (int i = 0; i < lanes.length; i++) {
+                Event event = lanes[i].poll();
+                if (event != null) {
+                    return resolve(event, PRIORITIES[i]);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 取出占位事件对应的最新事件，并释放其合并槽位
+         */
+        private Event resolve(Event queued, EventPriority priority) {
+            if (pending.isEmpty()) {
+                return queued;
+            }
+            ConflationKey key = conflationKey(queued, priority);
+            Slot slot = key != null ? pending.get(key) : null;
+            if (slot == null) {
+                return queued;
+            }
+            synchronized (slot) {
+                Event latest = slot.event;
+                slot.event = null;
+                slot.removed = true;
+                pending.remove(key, slot);
+                return latest != null ? latest : queued;
+            }
+        }
+
+        private boolean isEmpty() {
+            for (BoundedRingBuffer<Event> lane : lanes) {
+                if (!lane.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int size() {
+            int size = 0;
+            for (BoundedRingBuffer<Event> lane : lanes) {
+                size += lane.size();
+            }
+            return size;
+        }
+
+        @Override
+        public void run() {
+            int idleSpins = 0;
+            while (running || !isEmpty()) {
+                Event event = poll();
+                if (event == null) {
+                    // 队列已排空，不再有排队延迟
+                    latencyNanos = 0;
+                    if (++idleSpins < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        park();
+                    }
+                    continue;
+                }
+                idleSpins = 0;
+                sampleLatency(event);
+                if (maxBatchSize == 1 || isEmpty()) {
+                    dispatch(event);
+                    continue;
+                }
+                List<Event> batch = new ArrayList<>(Math.min(maxBatchSize, size() + 1));
+                batch.add(event);
+                while (batch.size() < maxBatchSize && (event = poll()) != null) {
+                    batch.add(event);
+                }
+                dispatch(batch);
+            }
+            terminated = true;
+            drainIfStopped();
+        }
+
+        /**
+         * 消费线程退出后，处理与关闭竞争入队的事件
+         */
+        private synchronized void drainIfStopped() {
+            if (!terminated) return;
+            Event event;
+            while ((event = poll()) != null) {
+                dispatch(event);
+            }
+        }
+
+        private void sampleLatency(Event event) {
+            long ingress = event.ingressNanos();
+            if (ingress != 0) {
+                long latency = latencyNanos;
+                latencyNanos = latency + ((System.nanoTime() - ingress - latency) >> 3);
+            }
+        }
+
+        private void park() {
+            sleeping = true;
+            if (isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+
+        private Lock lock() {
+            return serial ? exclusion.writeLock() : exclusion.readLock();
+        }
+
+        private void dispatch(Event event) {
+            Lock lock = lock();
+            lock.lock();
+            try {
+                listener.onEvent(event);
+            } catch (Exception e) {
+                log.error("Failed to process event [{}] on partition {}", event.getId(), index, e);
+            } finally {
+                lock.unlock();
+                processed.increment();
+                Consumer<Event> callback = completionListener;
+                if (callback != null) {
+                    callback.accept(event);
+                }
+            }
+        }
+
+        private void dispatch(List<Event> batch) {
+            Lock lock = lock();
+            lock.lock();
+            try {
+                listener.onEvents(batch);
+            } catch (Exception e) {
+                log.error("Failed to process batch of {} events on partition {}", batch.size(), index, e);
+            } finally {
+                lock.unlock();
+                processed.add(batch.size());
+                Consumer<Event> callback = completionListener;
+                if (callback != null) {
+                    batch.forEach(callback);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.tencent.dataflow.infrastructure.event.dedup;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventDeduplicator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * BloomEventDeduplicator - 基于轮转布隆过滤器的事件去重
+ * <p>
+ * 两级结构，内存占用只取决于配置，与运行时长无关：
+ * <ul>
+ *   <li>精确 LRU：保存最近 exactEntries 个事件 ID 及首次到达时间。重试导致的重复通常紧挨着原事件到达，
+ *       由这一级精确判定；</li>
+ *   <li>轮转布隆过滤器：两代过滤器，每代覆盖一个窗口，新 ID 写入当前代，查询检查两代；
+ *       窗口到期时丢弃较老的一代。因此事件 ID 至少被记住 window，至多 2 × window。</li>
+ * </ul>
+ * 只在布隆过滤器中命中的事件按重复处理：窗口内到达 expectedEvents 个事件时，
+ * 新事件被误判为重复的概率约为 falsePositiveRate，应按可接受的漏处理概率配置（默认 1e-6）。
+ * </p>
+ */
+@Slf4j
+public class BloomEventDeduplicator implements EventDeduplicator {
+
+    private static final int GENERATIONS = 2;
+
+    private final long windowMillis;
+
+    private final long expectedEvents;
+
+    private final double generationFalsePositiveRate;
+
+    private final LongSupplier clock;
+
+    /**
+     * 事件 ID -> 首次到达时间，只在自身锁下访问
+     */
+    private final Map<String, Long> recent;
+
+    private volatile Generations generations;
+
+    private final LongAdder exactDuplicates = new LongAdder();
+
+    private final LongAdder bloomDuplicates = new LongAdder();
+
+    private final LongAdder unique = new LongAdder();
+
+    /**
+     * @param windowMillis 去重窗口（毫秒）
+     * @param expectedEvents 单个窗口内预计到达的事件数，决定布隆过滤器的大小
+     * @param falsePositiveRate 新事件被误判为重复的概率上限
+     * @param exactEntries 精确 LRU 的容量
+     */
+    public BloomEventDeduplicator(long windowMillis, long expectedEvents, double falsePositiveRate, int exactEntries) {
+        this(windowMillis, expectedEvents, falsePositiveRate, exactEntries, System::currentTimeMillis);
+    }
+
+    BloomEventDeduplicator(long windowMillis, long expectedEvents, double falsePositiveRate, int exactEntries,
+                           LongSupplier clock) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("Dedup window must be positive: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.expectedEvents = expectedEvents;
+        // 查询同时检查两代，单代的误判率取一半
+        this.generationFalsePositiveRate = falsePositiveRate / GENERATIONS;
+        this.clock = clock;
+        this.recent = new LinkedHashMap<>(Math.min(exactEntries, 1 << 16) * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > exactEntries;
+            }
+        };
+        BloomFilter first = newFilter();
+        this.generations = new Generations(first, null, clock.getAsLong() + windowMillis);
+        log.info("Event dedup window {} ms, {} bits x {} hashes per generation",
+                windowMillis, first.bitCount(), first.hashCount());
+    }
+
+    @Override
+    public boolean isDuplicate(Event event) {
+        String id = event.getId();
+        if (id == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        Generations current = current(now);
+
+        Long firstSeen;
+        synchronized (recent) {
+            firstSeen = recent.get(id);
+            if (firstSeen == null || now - firstSeen >= windowMillis) {
+                recent.put(id, now);
+            }
+        }
+        if (firstSeen != null && now - firstSeen < windowMillis) {
+            exactDuplicates.increment();
+            return true;
+        }
+
+        boolean seen = current.previous != null && current.previous.mightContain(id);
+        seen |= current.active.put(id);
+        if (seen) {
+            bloomDuplicates.increment();
+            return true;
+        }
+        unique.increment();
+        return false;
+    }
+
+    /**
+     * 由精确 LRU 判定的重复事件数
+     */
+    public long exactDuplicateCount() {
+        return exactDuplicates.sum();
+    }
+
+    /**
+     * 由布隆过滤器判定的重复事件数（含误判）
+     */
+    public long bloomDuplicateCount() {
+        return bloomDuplicates.sum();
+    }
+
+    public long uniqueCount() {
+        return unique.sum();
+    }
+
+    private Generations current(long now) {
+        Generations current = generations;
+        if (now < current.rotateAt) {
+            return current;
+        }
+        synchronized (this) {
+            current = generations;
+            if (now >= current.rotateAt) {
+                // 超过两个窗口没有事件时两代都已过期
+                BloomFilter previous = now < current.rotateAt + windowMillis ? current.active : null;
+                current = new Generations(newFilter(), previous, now + windowMillis);
+                generations = current;
+            }
+            return current;
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedEvents, generationFalsePositiveRate);
+    }
+
+    /**
+     * 不可变的两代过滤器：替换整体引用完成轮转，并发查询不会看到清空中的过滤器
+     */
+    private static final class Generations {
+
+        private final BloomFilter active;
+
+        private final BloomFilter previous;
+
+        private final long rotateAt;
+
+        private Generations(BloomFilter active, BloomFilter previous, long rotateAt) {
+            this.active = active;
+            this.previous = previous;
+            this.rotateAt = rotateAt;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.tencent.dataflow.infrastructure.event.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * EventLog - 基于内存映射分段文件的追加日志
+ * <p>
+ * 日志由固定大小的段文件组成，文件名为段起始偏移量（全局字节偏移）。每条记录为
+ * {@code [int 长度][int CRC32C][记录体]}；长度为 0 或校验失败的位置即为日志末尾，
+ * 崩溃时写了一半的记录在重启后被丢弃。
+ * </p>
+ * <p>
+ * 组提交：追加只把记录拷贝进映射内存并返回偏移量，单个刷盘线程循环地把
+ * [已刷盘位置, 已写入位置) 一次性 force 到磁盘，期间到达的所有追加共享这一次 fsync。
+ * 调用方通过 {@link #awaitDurable(long)} 等待自己的记录落盘。
+ * </p>
+ */
+@Slf4j
+public class EventLog implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition written = lock.newCondition();
+
+    private final Condition durable = lock.newCondition();
+
+    private final Thread flusher;
+
+    private Segment active;
+
+    /**
+     * 已写入（未必落盘）的日志末尾，受 lock 保护
+     */
+    private long writeOffset;
+
+    /**
+     * 已落盘的日志末尾，受 lock 保护
+     */
+    private long durableOffset;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param directory 日志目录
+     * @param segmentSize 段文件大小（字节）
+     */
+    public EventLog(Path directory, int segmentSize) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            List<Long> bases = new ArrayList<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(SUFFIX))
+                        .forEach(name -> bases.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+            }
+            for (Long base : bases) {
+                segments.put(base, Segment.open(segmentPath(base), base, segmentSize));
+            }
+            if (segments.isEmpty()) {
+                segments.put(0L, Segment.open(segmentPath(0), 0, segmentSize));
+            }
+            active = segments.lastEntry().getValue();
+            writeOffset = active.baseOffset + active.position;
+            durableOffset = writeOffset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event log at " + directory, e);
+        }
+        this.flusher = new Thread(this::flushLoop, "event-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        log.info("Event log opened at {}, {} segments, end offset {}", directory, segments.size(), writeOffset);
+    }
+
+    /**
+     * 追加一条记录（不等待落盘）
+     * @param record 记录体
+     * @return 记录结束位置的偏移量，用于 {@link #awaitDurable(long)}
+     */
+    public long append(byte[] record) {
+        int size = HEADER_SIZE + record.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Event record too large: " + record.length + " bytes");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Event log is closed");
+            }
+            if (active.remaining() < size) {
+                roll();
+            }
+            active.write(record, (int) crc.getValue());
+            writeOffset = active.baseOffset + active.position;
+            written.signal();
+            return writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待日志在指定偏移量之前的内容全部落盘
+     */
+    public void awaitDurable(long offset) throws InterruptedException {
+        lock.lock();
+        try {
+            while (durableOffset < offset) {
+                if (!running && durableOffset >= writeOffset) {
+                    throw new IllegalStateException("Event log closed before record became durable");
+                }
+                durable.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从指定偏移量开始顺序读取已落盘的记录
+     * @param fromOffset 起始偏移量（通常为检查点）
+     * @param consumer (记录起始偏移量, 记录体)
+     */
+    public void read(long fromOffset, BiConsumer<Long, byte[]> consumer) {
+        long end = durableOffset();
+        Map.Entry<Long, Segment> floor = segments.floorEntry(fromOffset);
+        Long start = floor != null ? floor.getKey() : segments.firstKey();
+        for (Segment segment : segments.tailMap(start, true).values()) {
+            int position = (int) Math.max(0, fromOffset - segment.baseOffset);
+            while (segment.baseOffset + position < end) {
+                byte[] record = segment.read(position);
+                if (record == null) {
+                    break;
+                }
+                consumer.accept(segment.baseOffset + position, record);
+                position += HEADER_SIZE + record.length;
+            }
+        }
+    }
+
+    /**
+     * 删除全部内容都在指定偏移量之前的段文件
+     */
+    public void deleteSegmentsBefore(long offset) {
+        for (Map.Entry<Long, Segment> entry : segments.headMap(offset).entrySet()) {
+            Map.Entry<Long, Segment> next = segments.higherEntry(entry.getKey());
+            if (next == null || next.getKey() > offset || entry.getValue() == active) {
+                break;
+            }
+            Segment segment = entry.getValue();
+            segments.remove(entry.getKey());
+            segment.close();
+            try {
+                Files.deleteIfExists(segmentPath(segment.baseOffset));
+            } catch (IOException e) {
+                log.warn("Failed to delete event log segment {}", segment.baseOffset, e);
+            }
+        }
+    }
+
+    /**
+     * 记录在日志中占用的字节数（含记录头）
+     */
+    static int recordSize(int bodyLength) {
+        return HEADER_SIZE + bodyLength;
+    }
+
+    public long endOffset() {
+        lock.lock();
+        try {
+            return writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long durableOffset() {
+        lock.lock();
+        try {
+            return durableOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!running) return;
+            running = false;
+            written.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segments.values().forEach(Segment::close);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Segment segment;
+            long target;
+            int from;
+            int to;
+            lock.lock();
+            try {
+                while (running && writeOffset == durableOffset) {
+                    written.awaitUninterruptibly();
+                }
+                if (writeOffset == durableOffset) {
+                    durable.signalAll();
+                    return;
+                }
+                segment = active;
+                target = writeOffset;
+                from = segment.flushedPosition;
+                to = segment.position;
+            } finally {
+                lock.unlock();
+            }
+
+            // fsync 在锁外进行，期间新的追加继续写入，下一轮一起刷盘
+            segment.force(from, to - from);
+
+            lock.lock();
+            try {
+                segment.flushedPosition = Math.max(segment.flushedPosition, to);
+                durableOffset = Math.max(durableOffset, target);
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 切换到新段：旧段剩余未刷盘的部分同步落盘，保证刷盘线程只需关心活跃段
+     */
+    private void roll() {
+        Segment previous = active;
+        previous.force(previous.flushedPosition, previous.position - previous.flushedPosition);
+        previous.flushedPosition = previous.position;
+        long base = previous.baseOffset + segmentSize;
+        try {
+            active = Segment.open(segmentPath(base), base, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create event log segment " + base, e);
+        }
+        segments.put(base, active);
+        // 旧段已全部落盘；其末尾的空闲空间计入偏移量，记录不跨段
+        durableOffset = Math.max(durableOffset, base);
+        durable.signalAll();
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+
+    private static final class Segment {
+
+        private final long baseOffset;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        /**
+         * 写入位置，受 EventLog.lock 保护
+         */
+        private int position;
+
+        private int flushedPosition;
+
+        private Segment(long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+            this.baseOffset = baseOffset;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long baseOffset, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            Segment segment = new Segment(baseOffset, channel, buffer);
+            segment.recover();
+            return segment;
+        }
+
+        /**
+         * 扫描到第一条无效记录，确定写入位置
+         */
+        private void recover() {
+            int offset = 0;
+            byte[] record;
+            while ((record = read(offset)) != null) {
+                offset += HEADER_SIZE + record.length;
+            }
+            position = offset;
+            flushedPosition = offset;
+            // 清除崩溃遗留的半条记录头，避免之后被误读
+            if (offset + HEADER_SIZE <= buffer.capacity()) {
+                buffer.putLong(offset, 0L);
+            }
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        void write(byte[] record, int crc) {
+            buffer.put(position + HEADER_SIZE, record);
+            buffer.putInt(position + 4, crc);
+            // 长度最后写入：长度非 0 即表示记录完整
+            buffer.putInt(position, record.length);
+            position += HEADER_SIZE + record.length;
+        }
+
+        byte[] read(int offset) {
+            if (offset + HEADER_SIZE > buffer.capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+                return null;
+            }
+            byte[] record = new byte[length];
+            buffer.get(offset + HEADER_SIZE, record);
+            CRC32C crc = new CRC32C();
+            crc.update(record);
+            return (int) crc.getValue() == buffer.getInt(offset + 4) ? record : null;
+        }
+
+        void force(int from, int length) {
+            if (length > 0) {
+                buffer.force(from, length);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close event log segment {}", baseOffset, e);
+            }
+        }
+    }
+}
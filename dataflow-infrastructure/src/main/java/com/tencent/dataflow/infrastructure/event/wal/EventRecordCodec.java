@@ -0,0 +1,138 @@
+package com.tencent.dataflow.infrastructure.event.wal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.domain.event.Event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * EventRecordCodec - 事件日志的二进制记录格式
+ * <p>
+ * 记录体依次为：版本号、id、type、source、time（秒 + 纳秒）、pipelineId、executionId、correlationId、
+ * attributes（个数 + 键值对）、payload（JSON）。字符串以长度前缀的 UTF-8 编码，-1 表示 null。
+ * payload 的值类型不固定，使用 JSON 保存；其余字段定长或长度前缀，避免整条记录走 JSON。
+ * </p>
+ */
+public class EventRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public EventRecordCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(Event event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, event.getId());
+            writeString(out, event.getType());
+            writeString(out, event.getSource());
+            Instant time = event.getTime();
+            out.writeBoolean(time != null);
+            if (time != null) {
+                out.writeLong(time.getEpochSecond());
+                out.writeInt(time.getNano());
+            }
+            writeString(out, event.getPipelineId());
+            writeString(out, event.getExecutionId());
+            writeString(out, event.getCorrelationId());
+
+            Map<String, String> attributes = event.peekAttributes();
+            out.writeInt(attributes != null ? attributes.size() : -1);
+            if (attributes != null) {
+                for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue());
+                }
+            }
+
+            Map<String, Object> payload = event.peekPayload();
+            if (payload == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] json = objectMapper.writeValueAsBytes(payload);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode event " + event.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public Event decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported event record version: " + version);
+            }
+            Event event = new Event();
+            event.setId(readString(in));
+            event.setType(readString(in));
+            event.setSource(readString(in));
+            event.setTime(in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null);
+            event.setPipelineId(readString(in));
+            event.setExecutionId(readString(in));
+            event.setCorrelationId(readString(in));
+
+            int attributeCount = in.readInt();
+            if (attributeCount > 0) {
+                Map<String, String> attributes = new HashMap<>(Math.max(4, attributeCount * 2));
+                for (int i = 0; i < attributeCount; i++) {
+                    attributes.put(readString(in), readString(in));
+                }
+                event.setAttributes(attributes);
+            } else if (attributeCount < 0) {
+                event.setAttributes(null);
+            }
+
+            int payloadLength = in.readInt();
+            if (payloadLength >= 0) {
+                byte[] json = new byte[payloadLength];
+                in.readFully(json);
+                event.setPayload(objectMapper.readValue(json, PAYLOAD_TYPE));
+            } else {
+                event.setPayload(null);
+            }
+            return event;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode event record", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
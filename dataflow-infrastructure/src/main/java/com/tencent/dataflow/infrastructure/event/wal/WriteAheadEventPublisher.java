@@ -0,0 +1,294 @@
+package com.tencent.dataflow.infrastructure.event.wal;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WriteAheadEventPublisher - 先写日志再投递的事件发布器
+ * <p>
+ * 事件先编码追加到 {@link EventLog}，等待组提交落盘后才交给下游发布器（通常是分区事件引擎），
+ * publish 返回即表示事件已持久化，进程崩溃后不会丢失。
+ * 批量发布（{@link #publishAll}）在一次加锁内追加整批事件，只等待一次落盘，批量接入不会为每个事件单独刷盘。
+ * </p>
+ * <p>
+ * 检查点：记录每个尚未处理完成的事件在日志中的起始偏移量，定期把其中最小者（全部处理完时为日志末尾）
+ * 写入检查点文件。启动时从检查点开始重放日志中的事件，重放可能重复投递少量已处理的事件，
+ * 事件处理需保持幂等。检查点之前的段文件会被删除。
+ * </p>
+ */
+@Slf4j
+public class WriteAheadEventPublisher implements EventPublisher, AutoCloseable {
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final EventLog eventLog;
+
+    private final EventRecordCodec codec;
+
+    private final EventPublisher downstream;
+
+    private final Path checkpointPath;
+
+    private final long checkpointIntervalMillis;
+
+    /**
+     * 未处理完成的事件起始偏移量
+     */
+    private final ConcurrentSkipListSet<Long> pendingOffsets = new ConcurrentSkipListSet<>();
+
+    /**
+     * 事件对象 -> 起始偏移量；按对象身份识别，处理完成回调拿到的是同一个对象
+     */
+    private final Map<Event, Long> offsetsByEvent = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * 保证追加与登记未处理偏移量对检查点原子可见
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final boolean asyncCompletion;
+
+    private ScheduledExecutorService checkpointer;
+
+    private volatile long lastCheckpoint;
+
+    /**
+     * @param eventLog 事件日志
+     * @param codec 记录编解码器
+     * @param downstream 下游发布器；为 {@link PartitionedEventEngine} 时在事件处理完成后才释放检查点
+     * @param checkpointIntervalMillis 检查点写入间隔（毫秒）
+     */
+    public WriteAheadEventPublisher(EventLog eventLog, EventRecordCodec codec, EventPublisher downstream,
+                                    Path directory, long checkpointIntervalMillis) {
+        this.eventLog = eventLog;
+        this.codec = codec;
+        this.downstream = downstream;
+        this.checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        if (downstream instanceof PartitionedEventEngine engine) {
+            engine.setCompletionListener(this::markProcessed);
+            this.asyncCompletion = true;
+        } else {
+            this.asyncCompletion = false;
+        }
+    }
+
+    /**
+     * 从检查点重放未处理的事件，并开始定期写检查点
+     */
+    public synchronized void start() {
+        if (checkpointer != null) return;
+        long checkpoint = readCheckpoint();
+        lastCheckpoint = checkpoint;
+        int[] replayed = {0};
+        eventLog.read(checkpoint, (offset, record) -> {
+            Event event = codec.decode(record);
+            track(event, offset);
+            replay(event, offset);
+            replayed[0]++;
+        });
+        log.info("Event log replayed {} events from checkpoint {}", replayed[0], checkpoint);
+
+        checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-log-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointer.scheduleWithFixedDelay(this::checkpointQuietly,
+                checkpointIntervalMillis, checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(Event event) {
+        event.markIngress();
+        byte[] record = codec.encode(event);
+        long end;
+        appendLock.lock();
+        try {
+            end = eventLog.append(record);
+            track(event, end - EventLog.recordSize(record.length));
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            eventLog.awaitDurable(end);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for event " + event.getId() + " to be durable", e);
+        }
+        dispatch(event);
+    }
+
+    /**
+     * 整批追加到日志，等待最后一个事件落盘后按顺序投递
+     * @throws EventRejectedException 下游过载，accepted 为被拒绝之前已投递的事件数；其后的事件不再投递，由发布方重试
+     */
+    @Override
+    public void publishAll(List<Event> events) {
+        if (events.isEmpty()) return;
+        byte[][] records = new byte[events.size()][];
+        for (int i = 0; i < records.length; i++) {
+            Event event = events.get(i);
+            event.markIngress();
+            records[i] = codec.encode(event);
+        }
+        long end = 0;
+        appendLock.lock();
+        try {
+            for (int i = 0; i < records.length; i++) {
+                end = eventLog.append(records[i]);
+                track(events.get(i), end - EventLog.recordSize(records[i].length));
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            eventLog.awaitDurable(end);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + events.size() + " events to be durable", e);
+        }
+        for (int i = 0; i < records.length; i++) {
+            try {
+                dispatch(events.get(i));
+            } catch (EventRejectedException e) {
+                // 被拒绝之后的事件同样交还发布方重试，不再重放
+                for (int j = i + 1; j < records.length; j++) {
+                    markProcessed(events.get(j));
+                }
+                throw e.afterAccepted(i);
+            }
+        }
+    }
+
+    /**
+     * 计算并写入检查点
+     * @return 检查点偏移量
+     */
+    public long checkpoint() {
+        long checkpoint;
+        appendLock.lock();
+        try {
+            Long minPending = pendingOffsets.isEmpty() ? null : pendingOffsets.first();
+            checkpoint = minPending != null ? minPending : eventLog.endOffset();
+        } finally {
+            appendLock.unlock();
+        }
+        if (checkpoint != lastCheckpoint) {
+            writeCheckpoint(checkpoint);
+            lastCheckpoint = checkpoint;
+            eventLog.deleteSegmentsBefore(checkpoint);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * 尚未处理完成的事件数
+     */
+    public int pendingCount() {
+        return pendingOffsets.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+            checkpointer = null;
+        }
+        checkpointQuietly();
+    }
+
+    private void track(Event event, long offset) {
+        pendingOffsets.add(offset);
+        offsetsByEvent.put(event, offset);
+    }
+
+    private void dispatch(Event event) {
+        // 下游抛出异常时事件保留在未处理集合中，重启后从日志重放；因过载被拒绝的事件由发布方重试，不再重放
+        try {
+            downstream.publish(event);
+        } catch (EventRejectedException e) {
+            markProcessed(event);
+            throw e;
+        }
+        if (!asyncCompletion) {
+            markProcessed(event);
+        }
+    }
+
+    /**
+     * 重放的事件不能丢弃：下游过载拒绝时等待后重试
+     */
+    private void replay(Event event, long offset) {
+        while (true) {
+            try {
+                dispatch(event);
+                return;
+            } catch (EventRejectedException e) {
+                track(event, offset);
+                try {
+                    Thread.sleep(e.getRetryAfterMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while replaying event " + event.getId(), interrupted);
+                }
+            }
+        }
+    }
+
+    private void markProcessed(Event event) {
+        Long offset = offsetsByEvent.remove(event);
+        if (offset != null) {
+            pendingOffsets.remove(offset);
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            log.warn("Failed to write event log checkpoint", e);
+        }
+    }
+
+    private long readCheckpoint() {
+        try {
+            if (!Files.exists(checkpointPath)) {
+                return 0L;
+            }
+            return Long.parseLong(Files.readString(checkpointPath, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Invalid event log checkpoint {}, replaying from the beginning", checkpointPath, e);
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint(long checkpoint) {
+        Path temp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(checkpoint), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write event log checkpoint", e);
+        }
+    }
+}
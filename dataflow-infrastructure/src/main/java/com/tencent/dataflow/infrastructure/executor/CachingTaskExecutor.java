@@ -0,0 +1,217 @@
+package com.tencent.dataflow.infrastructure.executor;
+
+import com.tencent.dataflow.domain.executor.ActionRequest;
+import com.tencent.dataflow.domain.executor.ActionResult;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * CachingTaskExecutor - 带状态缓存的执行器装饰器
+ * <p>
+ * 按 (节点, 执行实例, 状态名) 缓存 {@link TaskExecutor#getState} 的结果，有效期由
+ * {@link StateDefinition#getCacheTtlMillis()} 声明，未声明的状态不缓存：
+ * <ul>
+ *   <li>同一键的并发未命中只调用一次执行器（single-flight），其余调用等待同一结果；</li>
+ *   <li>过期后 staleWhileRevalidateMillis 内直接返回旧值并在后台刷新；</li>
+ *   <li>条目数超过上限时淘汰最久未访问的条目；</li>
+ *   <li>对节点执行行为后使该节点的缓存失效（递增节点代数，O(1)），避免读到行为前的状态。</li>
+ * </ul>
+ * 执行器返回 null（获取失败）时不缓存。
+ * </p>
+ */
+@Slf4j
+public class CachingTaskExecutor implements TaskExecutor {
+
+    private final TaskExecutor delegate;
+
+    private final int maxEntries;
+
+    private final Executor refreshExecutor;
+
+    private final LongSupplier clock;
+
+    private final Map<String, CachedState> cache;
+
+    /**
+     * 节点键 (pipelineId/nodeId) -> 节点代数：行为执行后递增，旧代数的缓存条目视为失效
+     */
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param delegate 实际执行器
+     * @param maxEntries 最大缓存条目数
+     * @param refreshExecutor 后台刷新使用的执行器
+     */
+    public CachingTaskExecutor(TaskExecutor delegate, int maxEntries, Executor refreshExecutor) {
+        this(delegate, maxEntries, refreshExecutor, System::currentTimeMillis);
+    }
+
+    CachingTaskExecutor(TaskExecutor delegate, int maxEntries, Executor refreshExecutor, LongSupplier clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedState>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedState> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Object executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
+        try {
+            return delegate.executeAction(node, action, params);
+        } finally {
+            invalidate(node);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> executeActionAsync(Node node, ActionDefinition action, Map<String, Object> params) {
+        return delegate.executeActionAsync(node, action, params)
+                .whenComplete((result, error) -> invalidate(node));
+    }
+
+    @Override
+    public List<ActionResult> executeBatchAction(ActionDefinition action, List<ActionRequest> requests) {
+        try {
+            return delegate.executeBatchAction(action, requests);
+        } finally {
+            for (ActionRequest request : requests) {
+                invalidate(request.getNode());
+            }
+        }
+    }
+
+    @Override
+    public Object getState(Node node, StateDefinition state) {
+        if (state.getCacheTtlMillis() <= 0) {
+            return delegate.getState(node, state);
+        }
+        String key = key(node, state);
+        long now = clock.getAsLong();
+        long generation = generation(node);
+        CachedState cached = cache.get(key);
+        if (cached != null && cached.generation == generation) {
+            if (now < cached.expiresAt) {
+                hits.increment();
+                return cached.value;
+            }
+            if (now < cached.expiresAt + state.getStaleWhileRevalidateMillis()) {
+                hits.increment();
+                refreshAsync(key, node, state);
+                return cached.value;
+            }
+        }
+        misses.increment();
+        try {
+            return load(key, node, state).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    /**
+     * 使节点的全部缓存状态失效
+     */
+    public void invalidate(Node node) {
+        generations.merge(nodeKey(node), 1L, Long::sum);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private static String key(Node node, StateDefinition state) {
+        return nodeKey(node) + '|' + node.getExecutionId() + '|' + state.getName();
+    }
+
+    private static String nodeKey(Node node) {
+        return Node.keyOf(node.getPipelineId(), node.getId());
+    }
+
+    private void refreshAsync(String key, Node node, StateDefinition state) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> load(key, node, state).exceptionally(e -> {
+            log.warn("Background refresh of state [{}] for node [{}] failed", state.getName(), node.getId(), e);
+            return null;
+        }));
+    }
+
+    /**
+     * 同一键只有一个调用方真正访问执行器，其余调用方共享其结果
+     */
+    private CompletableFuture<Object> load(String key, Node node, StateDefinition state) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            // 先记录代数：读取期间若有行为执行，本次结果不会被当作新值
+            long generation = generation(node);
+            Object value = delegate.getState(node, state);
+            if (value != null) {
+                cache.put(key, new CachedState(value, clock.getAsLong() + state.getCacheTtlMillis(), generation));
+            }
+            future.complete(value);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return future;
+    }
+
+    private long generation(Node node) {
+        return generations.getOrDefault(nodeKey(node), 0L);
+    }
+
+    private static final class CachedState {
+
+        private final Object value;
+
+        private final long expiresAt;
+
+        private final long generation;
+
+        private CachedState(Object value, long expiresAt, long generation) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.tencent.dataflow.infrastructure.executor;
 
+import com.tencent.dataflow.domain.executor.ActionRequest;
+import com.tencent.dataflow.domain.executor.ActionResult;
 import com.tencent.dataflow.domain.executor.TaskExecutor;
 import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.taskschema.AccessProtocol;
 import com.tencent.dataflow.domain.taskschema.ActionDefinition;
 import com.tencent.dataflow.domain.taskschema.StateDefinition;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -15,8 +17,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * HttpTaskExecutor - HTTP 任务执行器
@@ -24,14 +32,28 @@ import java.util.Objects;
  * 通用的 HTTP 协议执行器。
  * 根据 Node 配置中的 baseUrl 和 Action/State 定义中的 endpoint 拼接 URL。
  * </p>
+ * <p>
+ * 配置了 {@link HttpTransport} 时，请求走连接池，并按 protocolConfig 应用每次调用的超时。
+ * </p>
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class HttpTaskExecutor implements TaskExecutor {
 
     private final RestTemplate restTemplate;
 
+    private final HttpTransport transport;
+
+    public HttpTaskExecutor(RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    @Autowired
+    public HttpTaskExecutor(RestTemplate restTemplate, HttpTransport transport) {
+        this.restTemplate = restTemplate;
+        this.transport = transport;
+    }
+
     @Override
     public String executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
         if (action.getProtocol() != AccessProtocol.HTTP) {
@@ -51,11 +73,11 @@ public class HttpTaskExecutor implements TaskExecutor {
 
         try {
             // 默认期望返回 String，通常是 executionId 或简单的状态
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = call(action.getProtocolConfig(), () -> restTemplate.exchange(
                     Objects.requireNonNull(url, "URL must not be null"),
                     Objects.requireNonNull(method, "HttpMethod must not be null"),
                     request,
-                    String.class);
+                    String.class));
             return response.getBody();
         } catch (Exception e) {
             log.error("Failed to execute HTTP action [{}] for node [{}]", action.getName(), node.getId(), e);
@@ -63,6 +85,128 @@ public class HttpTaskExecutor implements TaskExecutor {
         }
     }
 
+    /**
+     * 异步执行行为，受 protocolConfig 中的总超时约束
+     * <p>
+     * 开启 HTTP/2 时直接发送非阻塞请求，否则在虚拟线程上执行同步调用。
+     * </p>
+     */
+    @Override
+    public CompletableFuture<Object> executeActionAsync(Node node, ActionDefinition action, Map<String, Object> params) {
+        if (transport == null || action.getProtocol() != AccessProtocol.HTTP) {
+            return TaskExecutor.super.executeActionAsync(node, action, params);
+        }
+        HttpTimeouts timeouts = transport.timeoutsFor(action.getProtocolConfig());
+        if (!transport.isHttp2Enabled()) {
+            return transport.supplyAsync(timeouts, () -> executeAction(node, action, params));
+        }
+        String url;
+        try {
+            url = buildUrl(node, action.getEndpoint());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpMethod method = getMethod(action.getProtocolConfig(), HttpMethod.POST);
+        log.info("Executing HTTP/2 Action: {} {} for Node {}", method, url, node.getId());
+        return transport.sendHttp2(method, url, params, timeouts).thenApply(body -> body);
+    }
+
+    /**
+     * 批量执行行为
+     * <p>
+     * 向 batchEndpoint 发送一次请求，请求体为
+     * {@code {"action": "stop", "items": [{"pipelineId": "...", "nodeId": "...", "executionId": "...", "params": {...}}]}}，
+     * 响应体为 {@code {"results": [{"pipelineId": "...", "nodeId": "...", "success": true, "result": "...", "error": "..."}]}}
+     * （或直接为 results 数组）。节点 ID 只在 Pipeline 内唯一，结果按 (pipelineId, nodeId) 与请求对应；
+     * 结果未携带 pipelineId 时，仅当该 nodeId 在本批次中唯一才采用。整体调用失败时所有节点均记为失败。
+     * </p>
+     */
+    @Override
+    public List<ActionResult> executeBatchAction(ActionDefinition action, List<ActionRequest> requests) {
+        if (action.getProtocol() != AccessProtocol.HTTP || !action.supportsBatch() || requests.isEmpty()) {
+            return TaskExecutor.super.executeBatchAction(action, requests);
+        }
+
+        String url = buildUrl(requests.get(0).getNode(), action.getBatchEndpoint());
+        HttpMethod method = getMethod(action.getProtocolConfig(), HttpMethod.POST);
+        log.info("Executing HTTP Batch Action: {} {} for {} nodes", method, url, requests.size());
+
+        List<Map<String, Object>> items = new ArrayList<>(requests.size());
+        for (ActionRequest request : requests) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("pipelineId", request.getNode().getPipelineId());
+            item.put("nodeId", request.getNode().getId());
+            item.put("executionId", request.getNode().getExecutionId());
+            item.put("params", request.getParams());
+            items.add(item);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("action", action.getName());
+        body.put("items", items);
+
+        Object response;
+        try {
+            response = call(action.getProtocolConfig(), () -> restTemplate.exchange(
+                    Objects.requireNonNull(url, "URL must not be null"),
+                    Objects.requireNonNull(method, "HttpMethod must not be null"),
+                    new HttpEntity<>(body, new HttpHeaders()),
+                    Object.class)).getBody();
+        } catch (Exception e) {
+            log.error("Failed to execute HTTP batch action [{}] on [{}]", action.getName(), url, e);
+            List<ActionResult> failures = new ArrayList<>(requests.size());
+            for (ActionRequest request : requests) {
+                failures.add(ActionResult.failure(request.getNode(), "HTTP Batch Action failed: " + e.getMessage()));
+            }
+            return failures;
+        }
+        return parseBatchResults(response, requests);
+    }
+
+    private List<ActionResult> parseBatchResults(Object response, List<ActionRequest> requests) {
+        // 批次内 nodeId 出现的次数：不带 pipelineId 的结果只能对应唯一的同名节点
+        Map<String, Integer> nodeIdCounts = new HashMap<>();
+        for (ActionRequest request : requests) {
+            nodeIdCounts.merge(request.getNode().getId(), 1, Integer::sum);
+        }
+        Object results = response instanceof Map<?, ?> map ? map.get("results") : response;
+        Map<String, Map<?, ?>> byNode = new HashMap<>();
+        if (results instanceof List<?> list) {
+            for (Object element : list) {
+                if (!(element instanceof Map<?, ?> item) || item.get("nodeId") == null) {
+                    continue;
+                }
+                String nodeId = item.get("nodeId").toString();
+                Object pipelineId = item.get("pipelineId");
+                if (pipelineId != null) {
+                    byNode.put(Node.keyOf(pipelineId.toString(), nodeId), item);
+                } else if (nodeIdCounts.getOrDefault(nodeId, 0) == 1) {
+                    byNode.put(nodeId, item);
+                }
+            }
+        }
+
+        List<ActionResult> ordered = new ArrayList<>(requests.size());
+        for (ActionRequest request : requests) {
+            Node node = request.getNode();
+            Map<?, ?> item = byNode.get(Node.keyOf(node.getPipelineId(), node.getId()));
+            if (item == null) {
+                item = byNode.get(node.getId());
+            }
+            if (item == null) {
+                ordered.add(ActionResult.failure(node, "No result returned by batch endpoint"));
+                continue;
+            }
+            Object error = item.get("error");
+            Object success = item.get("success");
+            boolean ok = success != null ? Boolean.parseBoolean(success.toString()) : error == null;
+            Object value = item.containsKey("result") ? item.get("result") : item.get("executionId");
+            ordered.add(ok
+                    ? ActionResult.success(node, value)
+                    : ActionResult.failure(node, error != null ? error.toString() : "Action failed"));
+        }
+        return ordered;
+    }
+
     @Override
     public Object getState(Node node, StateDefinition state) {
         if (state.getProtocol() != AccessProtocol.HTTP) {
@@ -70,16 +214,16 @@ public class HttpTaskExecutor implements TaskExecutor {
         }
 
         String url = buildUrl(node, state.getEndpoint());
-        HttpMethod method = getMethod(null, HttpMethod.GET);
+        HttpMethod method = getMethod(state.getProtocolConfig(), HttpMethod.GET);
 
         log.debug("Fetching HTTP State: {} {} for Node {}", method, url, node.getId());
 
         try {
-            ResponseEntity<Object> response = restTemplate.exchange(
+            ResponseEntity<Object> response = call(state.getProtocolConfig(), () -> restTemplate.exchange(
                     Objects.requireNonNull(url, "URL must not be null"),
                     Objects.requireNonNull(method, "HttpMethod must not be null"),
                     null,
-                    Object.class);
+                    Object.class));
             return response.getBody();
         } catch (Exception e) {
             log.error("Failed to get HTTP state [{}] for node [{}]", state.getName(), node.getId(), e);
@@ -88,6 +232,13 @@ public class HttpTaskExecutor implements TaskExecutor {
         }
     }
 
+    private <T> T call(Map<String, Object> protocolConfig, Supplier<T> request) {
+        if (transport == null) {
+            return request.get();
+        }
+        return transport.withTimeouts(transport.timeoutsFor(protocolConfig), request);
+    }
+
     private String buildUrl(Node node, String endpoint) {
         // 1. 如果 endpoint 是绝对路径，直接使用
         if (endpoint != null && (endpoint.startsWith("http://") || endpoint.startsWith("https://"))) {
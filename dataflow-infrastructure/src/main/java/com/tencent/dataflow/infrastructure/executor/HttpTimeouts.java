@@ -0,0 +1,54 @@
+package com.tencent.dataflow.infrastructure.executor;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * HttpTimeouts - 单次 HTTP 调用的超时设置（毫秒）
+ */
+@Value
+public class HttpTimeouts {
+
+    public static final String CONNECT_TIMEOUT = "connectTimeoutMs";
+    public static final String READ_TIMEOUT = "readTimeoutMs";
+    public static final String TOTAL_TIMEOUT = "totalTimeoutMs";
+
+    long connectTimeoutMs;
+
+    long readTimeoutMs;
+
+    long totalTimeoutMs;
+
+    /**
+     * 用 protocolConfig 中的超时配置覆盖默认值
+     * @param protocolConfig Action / State 的协议扩展配置，可为空
+     * @return 合并后的超时设置
+     */
+    public HttpTimeouts override(Map<String, Object> protocolConfig) {
+        if (protocolConfig == null || protocolConfig.isEmpty()) {
+            return this;
+        }
+        long connect = millis(protocolConfig.get(CONNECT_TIMEOUT), connectTimeoutMs);
+        long read = millis(protocolConfig.get(READ_TIMEOUT), readTimeoutMs);
+        long total = millis(protocolConfig.get(TOTAL_TIMEOUT), totalTimeoutMs);
+        if (connect == connectTimeoutMs && read == readTimeoutMs && total == totalTimeoutMs) {
+            return this;
+        }
+        return new HttpTimeouts(connect, read, total);
+    }
+
+    private static long millis(Object value, long defaultValue) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid timeout value: " + text, e);
+            }
+        }
+        return defaultValue;
+    }
+}
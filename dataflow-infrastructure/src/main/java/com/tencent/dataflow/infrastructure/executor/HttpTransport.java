@@ -0,0 +1,360 @@
+package com.tencent.dataflow.infrastructure.executor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.infrastructure.config.HttpTransportProperties;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.HttpRoute;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * HttpTransport - 执行器 HTTP 传输层
+ * <p>
+ * 基于 Apache HttpClient 连接池：按执行器主机（route）分别限制连接数，连接保活复用，
+ * 空闲和过期连接定期回收。每次调用的读取超时可由 Action / State 的 protocolConfig 覆盖，
+ * 总超时在异步调用上通过 {@link CompletableFuture#orTimeout} 保证。
+ * </p>
+ * <p>
+ * 连接超时在建立连接时生效，无法作用于已在池中的连接：protocolConfig 覆盖了连接超时的调用按连接超时
+ * 使用各自的连接池（每个连接池有独立的连接数上限），互不影响；未覆盖的调用共用默认连接池。
+ * 连接池统计按主机汇总全部连接池。
+ * </p>
+ * <p>
+ * 开启 HTTP/2 时，异步调用改走 JDK HttpClient，同一主机的并发请求在单个连接上多路复用；
+ * JDK HttpClient 的连接超时同样是客户端级别的，按连接超时分别创建客户端。
+ * </p>
+ */
+@Slf4j
+public class HttpTransport implements AutoCloseable {
+
+    private static final ThreadLocal<HttpTimeouts> CURRENT_TIMEOUTS = new ThreadLocal<>();
+
+    private final HttpTransportProperties properties;
+
+    private final HttpTimeouts defaultTimeouts;
+
+    /**
+     * 连接超时（毫秒） -> 连接池
+     */
+    private final Map<Long, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    private final RestTemplate restTemplate;
+
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 连接超时（毫秒） -> HTTP/2 客户端；未开启 HTTP/2 时为空
+     */
+    private final Map<Long, HttpClient> http2Clients = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 已发出过请求的执行器主机 (host:port)
+     */
+    private final Set<String> hosts = ConcurrentHashMap.newKeySet();
+
+    private volatile Consumer<String> hostListener;
+
+    public HttpTransport(HttpTransportProperties properties) {
+        this.properties = properties;
+        this.defaultTimeouts = new HttpTimeouts(properties.getConnectTimeoutMs(),
+                properties.getReadTimeoutMs(), properties.getTotalTimeoutMs());
+        ConnectionPool defaultPool = poolFor(properties.getConnectTimeoutMs());
+
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(defaultPool.httpClient) {
+                    @Override
+                    public org.apache.hc.client5.http.classic.HttpClient getHttpClient() {
+                        HttpTimeouts timeouts = CURRENT_TIMEOUTS.get();
+                        return timeouts != null ? poolFor(timeouts.getConnectTimeoutMs()).httpClient
+                                : super.getHttpClient();
+                    }
+                };
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            track(hostOf(uri));
+            HttpTimeouts timeouts = CURRENT_TIMEOUTS.get();
+            if (timeouts == null) {
+                return null;
+            }
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig(timeouts));
+            return context;
+        });
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        if (properties.isHttp2Enabled()) {
+            http2ClientFor(properties.getConnectTimeoutMs());
+        }
+    }
+
+    /**
+     * 基于连接池的 RestTemplate
+     */
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    public HttpTimeouts getDefaultTimeouts() {
+        return defaultTimeouts;
+    }
+
+    /**
+     * 按 protocolConfig 解析本次调用的超时
+     */
+    public HttpTimeouts timeoutsFor(Map<String, Object> protocolConfig) {
+        return defaultTimeouts.override(protocolConfig);
+    }
+
+    /**
+     * 在指定超时下执行一次同步调用
+     * <p>
+     * 超时通过线程上下文传递给连接池的请求配置，仅对 {@link #getRestTemplate()} 发出的请求生效。
+     * </p>
+     */
+    public <T> T withTimeouts(HttpTimeouts timeouts, Supplier<T> call) {
+        HttpTimeouts previous = CURRENT_TIMEOUTS.get();
+        CURRENT_TIMEOUTS.set(timeouts);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_TIMEOUTS.set(previous);
+            } else {
+                CURRENT_TIMEOUTS.remove();
+            }
+        }
+    }
+
+    /**
+     * 在虚拟线程上执行同步调用，并以总超时约束结果
+     */
+    public <T> CompletableFuture<T> supplyAsync(HttpTimeouts timeouts, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> withTimeouts(timeouts, call), asyncExecutor)
+                .orTimeout(timeouts.getTotalTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isHttp2Enabled() {
+        return properties.isHttp2Enabled();
+    }
+
+    /**
+     * 通过 HTTP/2 连接发送异步请求，请求体序列化为 JSON
+     * @return 响应体；非 2xx 响应以异常完成
+     */
+    public CompletableFuture<String> sendHttp2(HttpMethod method, String url, Object body, HttpTimeouts timeouts) {
+        if (!properties.isHttp2Enabled()) {
+            throw new IllegalStateException("HTTP/2 transport is not enabled");
+        }
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body != null
+                    ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                    : HttpRequest.BodyPublishers.noBody();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        URI uri = URI.create(url);
+        track(hostOf(uri));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeouts.getReadTimeoutMs()))
+                .header("Content-Type", "application/json")
+                .method(method.name(), publisher)
+                .build();
+        return http2ClientFor(timeouts.getConnectTimeoutMs()).sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + " from " + url);
+                    }
+                    return response.body();
+                })
+                .orTimeout(timeouts.getTotalTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 发现新的执行器主机时回调（已发现的主机立即回放），用于按主机注册连接池指标
+     */
+    public void onHostDiscovered(Consumer<String> listener) {
+        this.hostListener = listener;
+        hosts.forEach(listener);
+    }
+
+    /**
+     * 单个执行器主机的连接池统计
+     * @param host host:port
+     * @return 连接池统计；尚未建立连接时各项为 0（max 为每主机上限）
+     */
+    public HostPoolStats poolStats(String host) {
+        HostPoolStats stats = poolStats().get(host);
+        return stats != null ? stats : new HostPoolStats(0, 0, 0, properties.getMaxConnectionsPerHost());
+    }
+
+    /**
+     * 各执行器主机的连接池统计
+     * @return host:port -> 连接池统计
+     */
+    public Map<String, HostPoolStats> poolStats() {
+        Map<String, HostPoolStats> stats = new TreeMap<>();
+        for (ConnectionPool pool : pools.values()) {
+            for (HttpRoute route : pool.connectionManager.getRoutes()) {
+                PoolStats routeStats = pool.connectionManager.getStats(route);
+                stats.merge(route.getTargetHost().toHostString(), new HostPoolStats(routeStats.getLeased(),
+                        routeStats.getAvailable(), routeStats.getPending(), routeStats.getMax()), HostPoolStats::plus);
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        for (ConnectionPool pool : pools.values()) {
+            try {
+                pool.httpClient.close();
+            } catch (IOException e) {
+                log.warn("Failed to close HTTP client", e);
+            }
+        }
+        asyncExecutor.shutdown();
+    }
+
+    private RequestConfig requestConfig(HttpTimeouts timeouts) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeoutMs()))
+                .setResponseTimeout(Timeout.ofMilliseconds(timeouts.getReadTimeoutMs()))
+                .build();
+    }
+
+    private ConnectionConfig connectionConfig(long connectTimeoutMs) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeoutMs()))
+                .setTimeToLive(TimeValue.ofMilliseconds(properties.getConnectionTimeToLiveMs()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+    }
+
+    private ConnectionPool poolFor(long connectTimeoutMs) {
+        return pools.computeIfAbsent(connectTimeoutMs, this::newPool);
+    }
+
+    private ConnectionPool newPool(long connectTimeoutMs) {
+        ConnectionConfig connectionConfig = connectionConfig(connectTimeoutMs);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnectionsTotal())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerHost())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(defaultTimeouts))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeoutMs()))
+                .build();
+        return new ConnectionPool(connectionManager, httpClient);
+    }
+
+    private HttpClient http2ClientFor(long connectTimeoutMs) {
+        return http2Clients.computeIfAbsent(connectTimeoutMs, timeout -> HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(timeout))
+                .executor(asyncExecutor)
+                .build());
+    }
+
+    private void track(String host) {
+        if (hosts.add(host)) {
+            Consumer<String> listener = hostListener;
+            if (listener != null) {
+                listener.accept(host);
+            }
+        }
+    }
+
+    /**
+     * 与连接池路由一致的主机标识：未指定端口时取协议默认端口
+     */
+    static String hostOf(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost() + ":" + port;
+    }
+
+    /**
+     * 单个主机的连接池统计
+     */
+    @Value
+    public static class HostPoolStats {
+
+        /**
+         * 正在使用的连接数
+         */
+        int leased;
+
+        /**
+         * 空闲可复用的连接数
+         */
+        int available;
+
+        /**
+         * 等待获取连接的请求数
+         */
+        int pending;
+
+        /**
+         * 最大连接数
+         */
+        int max;
+
+        private HostPoolStats plus(HostPoolStats other) {
+            return new HostPoolStats(leased + other.leased, available + other.available,
+                    pending + other.pending, max + other.max);
+        }
+    }
+
+    /**
+     * 同一连接超时下的连接池与客户端
+     */
+    private static final class ConnectionPool {
+
+        private final PoolingHttpClientConnectionManager connectionManager;
+
+        private final CloseableHttpClient httpClient;
+
+        private ConnectionPool(PoolingHttpClientConnectionManager connectionManager, CloseableHttpClient httpClient) {
+            this.connectionManager = connectionManager;
+            this.httpClient = httpClient;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.tencent.dataflow.infrastructure.metrics;
+
+import com.tencent.dataflow.domain.event.EventPriority;
+import com.tencent.dataflow.domain.executor.ActionDispatcher;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.service.impl.ControlPlaneServiceImpl;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import com.tencent.dataflow.infrastructure.event.dedup.BloomEventDeduplicator;
+import com.tencent.dataflow.infrastructure.event.wal.WriteAheadEventPublisher;
+import com.tencent.dataflow.infrastructure.executor.CachingTaskExecutor;
+import com.tencent.dataflow.infrastructure.executor.HttpTransport;
+import com.tencent.dataflow.infrastructure.persistence.node.CachingNodeRepository;
+import com.tencent.dataflow.infrastructure.persistence.node.MybatisNodeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Builder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * ControlPlaneMeterBinder - 控制平面的队列深度与缓存指标
+ * <p>
+ * 各组件均为可选：未启用的组件不注册对应指标。Gauge 在采集时读取组件的计数，不在热路径上额外计数。
+ * </p>
+ */
+@Builder
+public class ControlPlaneMeterBinder implements MeterBinder {
+
+    private final ControlPlaneServiceImpl controlPlaneService;
+
+    private final PartitionedEventEngine eventEngine;
+
+    private final WriteAheadEventPublisher eventLogPublisher;
+
+    private final BloomEventDeduplicator eventDeduplicator;
+
+    private final ActionDispatcher actionDispatcher;
+
+    private final StatePoller statePoller;
+
+    private final CachingTaskExecutor stateCache;
+
+    private final CachingNodeRepository nodeCache;
+
+    private final MybatisNodeRepository nodeStore;
+
+    private final HttpTransport httpTransport;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (controlPlaneService != null) {
+            gauge(registry, "dataflow.nodes.active", "节点表中的节点数",
+                    controlPlaneService, ControlPlaneServiceImpl::activeNodeCount);
+            gauge(registry, "dataflow.pipelines.active", "已加载节点表的 Pipeline 数",
+                    controlPlaneService, service -> service.getPipelineTables().pipelineCount());
+            gauge(registry, "dataflow.nodes.compiled", "startWhen 已编译为依赖计数的节点数",
+                    controlPlaneService, service -> service.getPipelineTables().compiledCount());
+            gauge(registry, "dataflow.correlations.active", "尚未完成的关联数",
+                    controlPlaneService, service -> service.getCorrelationIndex().activeCount());
+            cache(registry, "expression", controlPlaneService,
+                    service -> service.getExpressionCache().size(),
+                    service -> service.getExpressionCache().hitCount(),
+                    service -> service.getExpressionCache().missCount());
+            cache(registry, "matcher", controlPlaneService,
+                    service -> service.getExpressionCache().matcherCount(),
+                    service -> service.getExpressionCache().matcherHitCount(),
+                    service -> service.getExpressionCache().matcherMissCount());
+        }
+        if (eventEngine != null) {
+            for (int i = 0; i < eventEngine.partitionCount(); i++) {
+                int partition = i;
+                Gauge.builder("dataflow.engine.queue.depth", eventEngine, engine -> engine.queueDepth(partition))
+                        .description("事件引擎分区的队列深度")
+                        .tag("partition", String.valueOf(partition))
+                        .register(registry);
+            }
+            for (int i = 0; i < eventEngine.partitionCount(); i++) {
+                int partition = i;
+                Gauge.builder("dataflow.engine.queue.latency", eventEngine,
+                                engine -> engine.queueLatencyNanos(partition) / 1e6)
+                        .description("事件引擎分区的排队延迟（毫秒，滑动平均）")
+                        .tag("partition", String.valueOf(partition))
+                        .register(registry);
+            }
+            FunctionCounter.builder("dataflow.engine.events.processed", eventEngine,
+                            PartitionedEventEngine::processedCount)
+                    .description("事件引擎已处理的事件数")
+                    .register(registry);
+            for (EventPriority priority : EventPriority.values()) {
+                for (PartitionedEventEngine.ShedReason reason : PartitionedEventEngine.ShedReason.values()) {
+                    FunctionCounter.builder("dataflow.engine.events.shed", eventEngine,
+                                    engine -> engine.shedCount(priority, reason))
+                            .description("因过载被丢弃或拒绝的事件数")
+                            .tag("priority", priority.name().toLowerCase())
+                            .tag("reason", reason.name().toLowerCase())
+                            .register(registry);
+                }
+            }
+        }
+        if (eventLogPublisher != null) {
+            gauge(registry, "dataflow.event-log.pending", "已写入预写日志、尚未处理完成的事件数",
+                    eventLogPublisher, WriteAheadEventPublisher::pendingCount);
+        }
+        if (eventDeduplicator != null) {
+            FunctionCounter.builder("dataflow.event.dedup.duplicates", eventDeduplicator,
+                            BloomEventDeduplicator::exactDuplicateCount)
+                    .description("被丢弃的重复事件数")
+                    .tag("match", "exact")
+                    .register(registry);
+            FunctionCounter.builder("dataflow.event.dedup.duplicates", eventDeduplicator,
+                            BloomEventDeduplicator::bloomDuplicateCount)
+                    .description("被丢弃的重复事件数")
+                    .tag("match", "bloom")
+                    .register(registry);
+            FunctionCounter.builder("dataflow.event.dedup.unique", eventDeduplicator,
+                            BloomEventDeduplicator::uniqueCount)
+                    .description("通过去重检查的事件数")
+                    .register(registry);
+        }
+        if (actionDispatcher != null) {
+            gauge(registry, "dataflow.dispatch.queue.depth", "等待分发的行为数",
+                    actionDispatcher, ActionDispatcher::pendingCount);
+            FunctionCounter.builder("dataflow.dispatch.batches", actionDispatcher, ActionDispatcher::batchCount)
+                    .description("已发出的批量调用次数")
+                    .register(registry);
+        }
+        if (statePoller != null) {
+            gauge(registry, "dataflow.poller.watched", "轮询中的 (节点, 状态) 数",
+                    statePoller, StatePoller::watchedCount);
+        }
+        if (stateCache != null) {
+            cache(registry, "state", stateCache,
+                    CachingTaskExecutor::size, CachingTaskExecutor::hitCount, CachingTaskExecutor::missCount);
+        }
+        if (nodeCache != null) {
+            cache(registry, "node", nodeCache,
+                    CachingNodeRepository::size, CachingNodeRepository::hitCount, CachingNodeRepository::missCount);
+        }
+        if (nodeStore != null) {
+            gauge(registry, "dataflow.node-store.pending", "尚未写入数据库的节点数",
+                    nodeStore, MybatisNodeRepository::pendingCount);
+        }
+        if (httpTransport != null) {
+            // 执行器主机在首次调用时才出现，发现时再注册该主机的连接池指标
+            httpTransport.onHostDiscovered(host -> {
+                pool(registry, "leased", "正在使用的连接数", host, HttpTransport.HostPoolStats::getLeased);
+                pool(registry, "available", "空闲可复用的连接数", host, HttpTransport.HostPoolStats::getAvailable);
+                pool(registry, "pending", "等待获取连接的请求数", host, HttpTransport.HostPoolStats::getPending);
+                pool(registry, "max", "最大连接数", host, HttpTransport.HostPoolStats::getMax);
+            });
+        }
+    }
+
+    private void pool(MeterRegistry registry, String name, String description, String host,
+                      ToDoubleFunction<HttpTransport.HostPoolStats> value) {
+        Gauge.builder("dataflow.http.pool." + name, httpTransport,
+                        transport -> value.applyAsDouble(transport.poolStats(host)))
+                .description("执行器主机连接池：" + description)
+                .tag("host", host)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, String description, T target,
+                                  ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value)
+                .description(description)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static <T> void cache(MeterRegistry registry, String cache, T target, ToDoubleFunction<T> size,
+                                  ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        Gauge.builder("dataflow.cache.size", target, size)
+                .description("缓存条目数")
+                .tag("cache", cache)
+                .strongReference(true)
+                .register(registry);
+        FunctionCounter.builder("dataflow.cache.hits", target, hits)
+                .description("缓存命中次数")
+                .tag("cache", cache)
+                .register(registry);
+        FunctionCounter.builder("dataflow.cache.misses", target, misses)
+                .description("缓存未命中次数")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
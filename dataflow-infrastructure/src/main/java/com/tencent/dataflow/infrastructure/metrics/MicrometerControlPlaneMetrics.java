@@ -0,0 +1,108 @@
+package com.tencent.dataflow.infrastructure.metrics;
+
+import com.tencent.dataflow.domain.metrics.ControlPlaneMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MicrometerControlPlaneMetrics - 基于 Micrometer 的控制平面指标
+ * <p>
+ * 各阶段耗时记录为 Timer，启用 percentileHistogram 时导出直方图桶，
+ * 由 Prometheus 以 histogram_quantile 计算跨实例的 p99。
+ * 带标签的 Timer 按标签组合缓存，热路径上不重复查找注册表。
+ * </p>
+ */
+public class MicrometerControlPlaneMetrics implements ControlPlaneMetrics {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry registry;
+
+    private final boolean percentileHistogram;
+
+    private final Timer ingress;
+
+    private final Timer matching;
+
+    private final DistributionSummary candidates;
+
+    private final Timer expression;
+
+    private final ConcurrentMap<String, Timer> dispatchTimers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ExecutorCallKey, Timer> executorTimers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry 指标注册表
+     * @param percentileHistogram 是否导出直方图桶
+     */
+    public MicrometerControlPlaneMetrics(MeterRegistry registry, boolean percentileHistogram) {
+        this.registry = registry;
+        this.percentileHistogram = percentileHistogram;
+        this.ingress = timer("dataflow.event.ingress", "事件进入控制平面到源节点状态更新完成").register(registry);
+        this.matching = timer("dataflow.event.matching", "候选节点匹配").register(registry);
+        this.candidates = DistributionSummary.builder("dataflow.event.candidates")
+                .description("每个事件匹配到的候选节点数")
+                .publishPercentileHistogram(percentileHistogram)
+                .register(registry);
+        this.expression = timer("dataflow.expression.evaluation", "单个条件表达式求值").register(registry);
+    }
+
+    @Override
+    public void recordIngress(long nanos) {
+        ingress.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordMatching(long nanos, int candidateCount) {
+        matching.record(nanos, TimeUnit.NANOSECONDS);
+        candidates.record(candidateCount);
+    }
+
+    @Override
+    public void recordExpression(long nanos) {
+        expression.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDispatch(String action, long nanos) {
+        String name = action != null ? action : UNKNOWN;
+        dispatchTimers.computeIfAbsent(name, key -> timer("dataflow.action.dispatch", "行为触发到执行器开始调用")
+                        .tag("action", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordExecutorCall(String taskType, String action, String protocol, long nanos, boolean success) {
+        ExecutorCallKey key = new ExecutorCallKey(orUnknown(taskType), orUnknown(action), orUnknown(protocol), success);
+        executorTimers.computeIfAbsent(key, k -> timer("dataflow.executor.call", "执行器调用往返")
+                        .tag("taskType", k.taskType())
+                        .tag("action", k.action())
+                        .tag("protocol", k.protocol())
+                        .tag("outcome", k.success() ? "success" : "failure")
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(60));
+    }
+
+    private static String orUnknown(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    private record ExecutorCallKey(String taskType, String action, String protocol, boolean success) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.tencent.dataflow.infrastructure.persistence.node;
+
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.repository.NodeRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * CachingNodeRepository - 带读缓存的节点仓储装饰器
+ * <p>
+ * findById 与 findAllActiveNodes 位于每个事件的热路径上，直接访问数据库会导致每个事件一次全表扫描：
+ * <ul>
+ *   <li>findById 按节点键 (pipelineId/nodeId) 缓存，按条目数（LRU）与 TTL 淘汰；</li>
+ *   <li>每个节点有版本号，save / invalidate 递增版本，加载期间发生写入时加载结果不会进入缓存；</li>
+ *   <li>活跃节点集合只在首次访问时从底层仓储加载一次，之后由 save 增量维护。
+ *       findAllActiveNodes 返回不可变快照，只有节点新增、被替换或条件对象变化时才重建，
+ *       未变化时返回同一个列表实例，{@code NodeTable.sync} 据此跳过对账；
+ *       活跃节点按 Pipeline 分组，findActiveNodesByPipeline 的快照只随该 Pipeline 的变化重建。</li>
+ * </ul>
+ * 写入直接委托给底层仓储（写后缓冲由底层仓储负责）。
+ * </p>
+ */
+@Slf4j
+public class CachingNodeRepository implements NodeRepository {
+
+    private final NodeRepository delegate;
+
+    private final long ttlMillis;
+
+    private final LongSupplier clock;
+
+    /**
+     * 节点键 (pipelineId/nodeId) -> 缓存的节点
+     */
+    private final Map<String, CachedNode> cache;
+
+    /**
+     * 节点键 (pipelineId/nodeId) -> 版本号
+     */
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * pipelineId -> 该 Pipeline 的活跃节点；未归属 Pipeline 的节点以空字符串为键
+     */
+    private final ConcurrentMap<String, ActivePipeline> active = new ConcurrentHashMap<>();
+
+    private final Object activeLoadLock = new Object();
+
+    private volatile boolean activeLoaded;
+
+    /**
+     * 活跃集合的修改计数：节点新增、被替换或条件对象变化时递增
+     */
+    private final AtomicLong activeVersion = new AtomicLong();
+
+    private volatile ActiveSnapshot activeSnapshot;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param delegate 底层仓储
+     * @param maxEntries findById 缓存的最大条目数
+     * @param ttlMillis findById 缓存的有效期（毫秒）
+     */
+    public CachingNodeRepository(NodeRepository delegate, int maxEntries, long ttlMillis) {
+        this(delegate, maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    CachingNodeRepository(NodeRepository delegate, int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedNode>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedNode> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Node findById(String pipelineId, String nodeId) {
+        String key = Node.keyOf(pipelineId, nodeId);
+        long version = version(key);
+        CachedNode cached = cache.get(key);
+        if (cached != null && cached.version == version && clock.getAsLong() < cached.expiresAt) {
+            hits.increment();
+            return cached.node;
+        }
+        misses.increment();
+        Node node = delegate.findById(pipelineId, nodeId);
+        if (node == null) {
+            return null;
+        }
+        // 优先返回活跃集合中的同一实例，避免同一节点在内存中出现多个副本
+        ActiveNode activeNode = pipeline(node.getPipelineId()).nodes.get(node.getId());
+        if (activeNode != null) {
+            node = activeNode.node;
+        }
+        if (version(key) == version) {
+            cache.put(key, new CachedNode(node, clock.getAsLong() + ttlMillis, version));
+        }
+        return node;
+    }
+
+    @Override
+    public List<Node> findAllActiveNodes() {
+        if (!activeLoaded) {
+            loadActive();
+        }
+        long version = activeVersion.get();
+        ActiveSnapshot snapshot = activeSnapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.nodes;
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (ActivePipeline pipeline : active.values()) {
+            for (ActiveNode activeNode : pipeline.nodes.values()) {
+                nodes.add(activeNode.node);
+            }
+        }
+        // 构建期间若有修改，版本号不匹配，下次访问重新构建
+        snapshot = new ActiveSnapshot(version, Collections.unmodifiableList(nodes));
+        activeSnapshot = snapshot;
+        return snapshot.nodes;
+    }
+
+    @Override
+    public List<Node> findActiveNodesByPipeline(String pipelineId) {
+        if (!activeLoaded) {
+            loadActive();
+        }
+        ActivePipeline pipeline = pipeline(pipelineId);
+        long version = pipeline.version.get();
+        ActiveSnapshot snapshot = pipeline.snapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.nodes;
+        }
+        List<Node> nodes = new ArrayList<>(pipeline.nodes.size());
+        for (ActiveNode activeNode : pipeline.nodes.values()) {
+            nodes.add(activeNode.node);
+        }
+        snapshot = new ActiveSnapshot(version, Collections.unmodifiableList(nodes));
+        pipeline.snapshot = snapshot;
+        return snapshot.nodes;
+    }
+
+    @Override
+    public void save(Node node) {
+        delegate.save(node);
+        cacheSaved(node);
+    }
+
+    @Override
+    public void saveAll(Collection<Node> nodes) {
+        delegate.saveAll(nodes);
+        for (Node node : nodes) {
+            cacheSaved(node);
+        }
+    }
+
+    /**
+     * 使节点的 findById 缓存失效（如底层数据被其他进程修改）
+     */
+    public void invalidate(String pipelineId, String nodeId) {
+        String key = Node.keyOf(pipelineId, nodeId);
+        versions.merge(key, 1L, Long::sum);
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void loadActive() {
+        synchronized (activeLoadLock) {
+            if (activeLoaded) return;
+            List<Node> nodes = delegate.findAllActiveNodes();
+            for (Node node : nodes) {
+                // 加载期间已被 save 的节点保留较新的实例
+                ActivePipeline pipeline = pipeline(node.getPipelineId());
+                pipeline.nodes.putIfAbsent(node.getId(), new ActiveNode(node));
+                pipeline.version.incrementAndGet();
+            }
+            activeVersion.incrementAndGet();
+            activeLoaded = true;
+            log.info("Loaded {} active nodes into cache", nodes.size());
+        }
+    }
+
+    private void cacheSaved(Node node) {
+        String key = Node.keyOf(node.getPipelineId(), node.getId());
+        versions.merge(key, 1L, Long::sum);
+        cache.put(key, new CachedNode(node, clock.getAsLong() + ttlMillis, version(key)));
+        ActivePipeline pipeline = pipeline(node.getPipelineId());
+        ActiveNode previous = pipeline.nodes.put(node.getId(), new ActiveNode(node));
+        if (previous == null || previous.isReplacedBy(node)) {
+            pipeline.version.incrementAndGet();
+            activeVersion.incrementAndGet();
+        }
+    }
+
+    private long version(String key) {
+        return versions.getOrDefault(key, 0L);
+    }
+
+    private ActivePipeline pipeline(String pipelineId) {
+        return active.computeIfAbsent(pipelineId != null ? pipelineId : "", key -> new ActivePipeline());
+    }
+
+    private static final class CachedNode {
+
+        private final Node node;
+
+        private final long expiresAt;
+
+        private final long version;
+
+        private CachedNode(Node node, long expiresAt, long version) {
+            this.node = node;
+            this.expiresAt = expiresAt;
+            this.version = version;
+        }
+    }
+
+    private static final class ActiveSnapshot {
+
+        private final long version;
+
+        private final List<Node> nodes;
+
+        private ActiveSnapshot(long version, List<Node> nodes) {
+            this.version = version;
+            this.nodes = nodes;
+        }
+    }
+
+    /**
+     * 单个 Pipeline 的活跃节点及其快照
+     */
+    private static final class ActivePipeline {
+
+        /**
+         * nodeId -> 活跃节点
+         */
+        private final ConcurrentMap<String, ActiveNode> nodes = new ConcurrentHashMap<>();
+
+        private final AtomicLong version = new AtomicLong();
+
+        private volatile ActiveSnapshot snapshot;
+    }
+
+    /**
+     * 活跃节点及其入表时的条件对象，用于判断快照是否需要重建
+     */
+    private static final class ActiveNode {
+
+        private final Node node;
+
+        private final String startWhen;
+
+        private final ControlPolicy controlPolicy;
+
+        private ActiveNode(Node node) {
+            this.node = node;
+            this.startWhen = node.getStartWhen();
+            this.controlPolicy = node.getControlPolicy();
+        }
+
+        private boolean isReplacedBy(Node current) {
+            return node != current
+                    || startWhen != current.getStartWhen()
+                    || controlPolicy != current.getControlPolicy();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.tencent.dataflow.infrastructure.persistence.node;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.repository.NodeRepository;
+import com.tencent.dataflow.infrastructure.persistence.node.dataobject.NodeDO;
+import com.tencent.dataflow.infrastructure.persistence.node.mapper.NodeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * MybatisNodeRepository - 基于 MyBatis-Plus 的节点仓储（写后缓冲）
+ * <p>
+ * save 不直接访问数据库：节点在调用时序列化为快照放入待写缓冲区，同一节点的多次保存只保留最后一次。
+ * 后台线程每隔 flushIntervalMillis（或待写节点达到 batchSize 时立即）把缓冲区整体刷入数据库：
+ * 一次查询区分新旧行，再分别以 JDBC batch 执行 update / insert，每批只需少量数据库往返。
+ * 因此数据库中的节点状态最多落后 flushIntervalMillis，关闭时会同步刷完剩余的写入。
+ * </p>
+ * <p>
+ * 读取时以待写缓冲区覆盖数据库结果（读己之写）。刷写失败的节点保留在缓冲区中，下一轮重试。
+ * </p>
+ */
+@Slf4j
+public class MybatisNodeRepository implements NodeRepository, AutoCloseable {
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final long flushIntervalMillis;
+
+    private final int batchSize;
+
+    /**
+     * 主键 -> 待写快照
+     */
+    private final ConcurrentMap<String, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "node-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param sqlSessionFactory MyBatis 会话工厂
+     * @param objectMapper 节点 JSON 序列化
+     * @param flushIntervalMillis 刷写间隔（毫秒），即持久化的最大延迟
+     * @param batchSize 单个 JDBC batch 的最大语句数；待写节点达到该数量时提前刷写
+     */
+    public MybatisNodeRepository(SqlSessionFactory sqlSessionFactory, ObjectMapper objectMapper,
+                                 long flushIntervalMillis, int batchSize) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Node findById(String pipelineId, String nodeId) {
+        String id = NodeDO.keyOf(pipelineId, nodeId);
+        PendingWrite write = pending.get(id);
+        if (write != null) {
+            return write.node;
+        }
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            NodeDO row = session.getMapper(NodeMapper.class).selectById(id);
+            return row != null ? toNode(row) : null;
+        }
+    }
+
+    /**
+     * 全部节点：已结束的节点仍可能被下游节点的表达式引用，因此不按状态过滤
+     */
+    @Override
+    public List<Node> findAllActiveNodes() {
+        List<NodeDO> rows;
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            rows = session.getMapper(NodeMapper.class).selectList(null);
+        }
+        Map<String, PendingWrite> overlay = new LinkedHashMap<>(pending);
+        List<Node> nodes = new ArrayList<>(rows.size() + overlay.size());
+        for (NodeDO row : rows) {
+            PendingWrite write = overlay.remove(row.getId());
+            nodes.add(write != null ? write.node : toNode(row));
+        }
+        for (PendingWrite write : overlay.values()) {
+            nodes.add(write.node);
+        }
+        return nodes;
+    }
+
+    /**
+     * 某个 Pipeline 的全部节点，同样以待写缓冲区覆盖数据库结果
+     */
+    @Override
+    public List<Node> findActiveNodesByPipeline(String pipelineId) {
+        LambdaQueryWrapper<NodeDO> query = new LambdaQueryWrapper<>();
+        if (pipelineId != null) {
+            query.eq(NodeDO::getPipelineId, pipelineId);
+        } else {
+            query.isNull(NodeDO::getPipelineId);
+        }
+        List<NodeDO> rows;
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            rows = session.getMapper(NodeMapper.class).selectList(query);
+        }
+        Map<String, PendingWrite> overlay = new LinkedHashMap<>();
+        for (Map.Entry<String, PendingWrite> entry : pending.entrySet()) {
+            if (Objects.equals(pipelineId, entry.getValue().node.getPipelineId())) {
+                overlay.put(entry.getKey(), entry.getValue());
+            }
+        }
+        List<Node> nodes = new ArrayList<>(rows.size() + overlay.size());
+        for (NodeDO row : rows) {
+            PendingWrite write = overlay.remove(row.getId());
+            nodes.add(write != null ? write.node : toNode(row));
+        }
+        for (PendingWrite write : overlay.values()) {
+            nodes.add(write.node);
+        }
+        return nodes;
+    }
+
+    @Override
+    public void save(Node node) {
+        NodeDO record = toRecord(node);
+        pending.put(record.getId(), new PendingWrite(node, record));
+        scheduleFlushIfFull();
+    }
+
+    /**
+     * 批量放入待写缓冲区，只检查一次是否需要提前刷写
+     */
+    @Override
+    public void saveAll(Collection<Node> nodes) {
+        for (Node node : nodes) {
+            NodeDO record = toRecord(node);
+            pending.put(record.getId(), new PendingWrite(node, record));
+        }
+        scheduleFlushIfFull();
+    }
+
+    /**
+     * 把待写缓冲区刷入数据库
+     * @return 写入的节点数
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<PendingWrite> writes = new ArrayList<>(pending.values());
+        int written = 0;
+        for (int from = 0; from < writes.size(); from += batchSize) {
+            List<PendingWrite> chunk = writes.subList(from, Math.min(writes.size(), from + batchSize));
+            writeBatch(chunk);
+            for (PendingWrite write : chunk) {
+                // 刷写期间被再次保存的节点保留新快照，下一轮写入
+                pending.remove(write.record.getId(), write);
+            }
+            written += chunk.size();
+        }
+        return written;
+    }
+
+    /**
+     * 尚未写入数据库的节点数
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Node repository closed, all pending writes flushed");
+    }
+
+    private void writeBatch(List<PendingWrite> chunk) {
+        List<String> ids = chunk.stream().map(write -> write.record.getId()).collect(Collectors.toList());
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            NodeMapper mapper = session.getMapper(NodeMapper.class);
+            Set<String> existing = new HashSet<>();
+            for (NodeDO row : mapper.selectList(new LambdaQueryWrapper<NodeDO>()
+                    .select(NodeDO::getId).in(NodeDO::getId, ids))) {
+                existing.add(row.getId());
+            }
+            for (PendingWrite write : chunk) {
+                if (existing.contains(write.record.getId())) {
+                    mapper.updateById(write.record);
+                }
+            }
+            for (PendingWrite write : chunk) {
+                if (!existing.contains(write.record.getId())) {
+                    mapper.insert(write.record);
+                }
+            }
+            session.flushStatements();
+            session.commit();
+        }
+        log.debug("Flushed {} node writes", chunk.size());
+    }
+
+    private void scheduleFlushIfFull() {
+        if (pending.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush {} pending node writes, will retry", pending.size(), e);
+        }
+    }
+
+    private NodeDO toRecord(Node node) {
+        NodeDO record = new NodeDO();
+        record.setId(NodeDO.keyOf(node.getPipelineId(), node.getId()));
+        record.setPipelineId(node.getPipelineId());
+        record.setNodeId(node.getId());
+        record.setStatus(node.getStatus());
+        record.setExecutionId(node.getExecutionId());
+        record.setUpdatedAt(LocalDateTime.now());
+        try {
+            record.setContent(objectMapper.writeValueAsString(node));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize node " + node.getId(), e);
+        }
+        return record;
+    }
+
+    private Node toNode(NodeDO record) {
+        try {
+            return objectMapper.readValue(record.getContent(), Node.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize node " + record.getId(), e);
+        }
+    }
+
+    /**
+     * 待写快照：node 用于读己之写，record 是保存时刻的持久化快照
+     */
+    private static final class PendingWrite {
+
+        private final Node node;
+
+        private final NodeDO record;
+
+        private PendingWrite(Node node, NodeDO record) {
+            this.node = node;
+            this.record = record;
+        }
+    }
+}
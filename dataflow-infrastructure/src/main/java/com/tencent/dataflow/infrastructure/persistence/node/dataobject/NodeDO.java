@@ -0,0 +1,51 @@
+package com.tencent.dataflow.infrastructure.persistence.node.dataobject;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.tencent.dataflow.domain.node.Node;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * NodeDO - 节点持久化对象 (表 df_node)
+ * <p>
+ * 节点的完整定义与运行时状态以 JSON 存放在 content 中；status、executionId 等字段冗余存放，便于查询。
+ * 可为 null 的字段使用 ALWAYS 策略，使每条 insert / update 生成相同的 SQL，批量执行时能合并为一次 JDBC batch。
+ * </p>
+ */
+@Data
+@TableName("df_node")
+public class NodeDO {
+
+    /**
+     * 主键：pipelineId/nodeId（节点 ID 只在 Pipeline 内唯一）
+     */
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    @TableField(insertStrategy = FieldStrategy.ALWAYS, updateStrategy = FieldStrategy.ALWAYS)
+    private String pipelineId;
+
+    private String nodeId;
+
+    @TableField(insertStrategy = FieldStrategy.ALWAYS, updateStrategy = FieldStrategy.ALWAYS)
+    private String status;
+
+    @TableField(insertStrategy = FieldStrategy.ALWAYS, updateStrategy = FieldStrategy.ALWAYS)
+    private String executionId;
+
+    /**
+     * 节点 JSON
+     */
+    private String content;
+
+    private LocalDateTime updatedAt;
+
+    public static String keyOf(String pipelineId, String nodeId) {
+        return Node.keyOf(pipelineId, nodeId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.tencent.dataflow.infrastructure.persistence.node.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.tencent.dataflow.infrastructure.persistence.node.dataobject.NodeDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * NodeMapper - 节点表访问
+ */
+@Mapper
+public interface NodeMapper extends BaseMapper<NodeDO> {
+}
@@ -0,0 +1,66 @@
+package com.tencent.dataflow.infrastructure.persistence.pipeline;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.tencent.dataflow.domain.pipeline.Pipeline;
+import com.tencent.dataflow.domain.repository.PipelineRepository;
+import com.tencent.dataflow.infrastructure.persistence.pipeline.dataobject.PipelineDO;
+import com.tencent.dataflow.infrastructure.persistence.pipeline.mapper.PipelineMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MybatisPipelineRepository - 基于 MyBatis-Plus 的 Pipeline 仓储
+ * <p>
+ * Pipeline 只在提交时写入，不在事件热路径上，因此直接同步写库。
+ * </p>
+ */
+public class MybatisPipelineRepository implements PipelineRepository {
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public MybatisPipelineRepository(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    @Override
+    public void save(Pipeline pipeline) {
+        PipelineDO record = new PipelineDO();
+        record.setId(pipeline.getId());
+        record.setName(pipeline.getName());
+        record.setUpdatedAt(LocalDateTime.now());
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            PipelineMapper mapper = session.getMapper(PipelineMapper.class);
+            if (mapper.updateById(record) == 0) {
+                mapper.insert(record);
+            }
+        }
+    }
+
+    @Override
+    public Pipeline findById(String pipelineId) {
+        PipelineDO record;
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            record = session.getMapper(PipelineMapper.class).selectById(pipelineId);
+        }
+        if (record == null) {
+            return null;
+        }
+        return Pipeline.builder().id(record.getId()).name(record.getName()).build();
+    }
+
+    @Override
+    public List<String> findAllIds() {
+        List<String> ids = new ArrayList<>();
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            for (PipelineDO record : session.getMapper(PipelineMapper.class).selectList(
+                    new LambdaQueryWrapper<PipelineDO>().select(PipelineDO::getId))) {
+                ids.add(record.getId());
+            }
+        }
+        return ids;
+    }
+}
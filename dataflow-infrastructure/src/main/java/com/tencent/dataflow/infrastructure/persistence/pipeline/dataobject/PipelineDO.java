@@ -0,0 +1,29 @@
+package com.tencent.dataflow.infrastructure.persistence.pipeline.dataobject;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * PipelineDO - Pipeline 持久化对象 (表 df_pipeline)
+ * <p>
+ * 只存放元数据，节点保存在 df_node 中并以 pipeline_id 关联。
+ * </p>
+ */
+@Data
+@TableName("df_pipeline")
+public class PipelineDO {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    @TableField(insertStrategy = FieldStrategy.ALWAYS, updateStrategy = FieldStrategy.ALWAYS)
+    private String name;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.tencent.dataflow.infrastructure.persistence.pipeline.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.tencent.dataflow.infrastructure.persistence.pipeline.dataobject.PipelineDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * PipelineMapper - Pipeline 表访问
+ */
+@Mapper
+public interface PipelineMapper extends BaseMapper<PipelineDO> {
+}
@@ -0,0 +1,219 @@
+package com.tencent.dataflow.infrastructure.poller;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HierarchicalTimingWheel - 分层时间轮
+ * <p>
+ * 由一个工作线程按 tick 推进。第 0 层每个槽位对应一个 tick，第 L 层每个槽位对应 wheelSize^L 个 tick；
+ * 远期任务先放在高层，随时间推进逐层下沉，到期时交给 taskExecutor 执行。
+ * 调度与取消均为 O(1)，适合大量周期性任务（如十万级状态轮询）。
+ * </p>
+ * <p>
+ * schedule 可在任意线程调用：新任务先进入无锁队列，由工作线程在下一个 tick 放入槽位，
+ * 槽位本身只被工作线程访问。
+ * </p>
+ */
+@Slf4j
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+
+    private final int wheelBits;
+
+    private final int mask;
+
+    private final Queue<Timeout>[][] buckets;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Executor taskExecutor;
+
+    private final Thread worker;
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 已处理到的 tick，只被工作线程写
+     */
+    private volatile long currentTick;
+
+    private volatile boolean running;
+
+    /**
+     * @param tickMillis tick 时长（毫秒），即定时精度
+     * @param wheelSize 每层槽位数（向上取整为 2 的幂）
+     * @param taskExecutor 到期任务的执行器
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, Executor taskExecutor) {
+        if (tickMillis < 1 || wheelSize < 2 || wheelSize > (1 << 15)) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick=" + tickMillis + "ms, size=" + wheelSize);
+        }
+        int slots = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheelBits = Integer.numberOfTrailingZeros(slots);
+        this.mask = slots - 1;
+        this.buckets = new Queue[LEVELS][slots];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < slots; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+        this.taskExecutor = taskExecutor;
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * 延迟执行任务
+     * @param task 任务
+     * @param delayMillis 延迟（毫秒）
+     * @return 可取消的句柄
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long delayTicks = Math.max(0, (TimeUnit.MILLISECONDS.toNanos(delayMillis) + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(task, elapsedTicks() + delayTicks);
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 尚未到期的任务数（含已取消但未清理的）
+     */
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private void run() {
+        while (running) {
+            long target = elapsedTicks();
+            while (currentTick < target && running) {
+                advance(currentTick + 1);
+            }
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+    }
+
+    private void advance(long tick) {
+        currentTick = tick;
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            place(timeout);
+        }
+        // 高层槽位到期时整体下沉到低层
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = level * wheelBits;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                Queue<Timeout> bucket = buckets[level][(int) ((tick >>> shift) & mask)];
+                while ((timeout = bucket.poll()) != null) {
+                    place(timeout);
+                }
+            }
+        }
+        Queue<Timeout> bucket = buckets[0][(int) (tick & mask)];
+        while ((timeout = bucket.poll()) != null) {
+            if (timeout.deadlineTick > tick) {
+                // 超出最高层范围而被截断的远期任务，重新放回
+                place(timeout);
+            } else {
+                expire(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        if (timeout.cancelled) {
+            size.decrementAndGet();
+            return;
+        }
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << ((level + 1) * wheelBits))) {
+            level++;
+        }
+        long deadline = Math.min(timeout.deadlineTick, currentTick + (1L << (LEVELS * wheelBits)) - 1);
+        buckets[level][(int) ((deadline >>> (level * wheelBits)) & mask)].add(timeout);
+    }
+
+    private void expire(Timeout timeout) {
+        size.decrementAndGet();
+        if (timeout.cancelled) {
+            return;
+        }
+        try {
+            taskExecutor.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Timing wheel task rejected", e);
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+
+        private final long deadlineTick;
+
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
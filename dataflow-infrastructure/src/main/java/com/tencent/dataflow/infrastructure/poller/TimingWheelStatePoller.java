@@ -0,0 +1,294 @@
+package com.tencent.dataflow.infrastructure.poller;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventPublisher;
+import com.tencent.dataflow.domain.event.EventSource;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * TimingWheelStatePoller - 基于时间轮的自适应状态轮询器
+ * <p>
+ * 每个 (节点, 状态) 按其 StateDefinition 声明的间隔轮询，调度全部挂在一个 {@link HierarchicalTimingWheel} 上：
+ * <ul>
+ *   <li>合并：访问同一端点（主机 + 路径）的订阅合并为一个轮询组，每轮只调用一次 getState；</li>
+ *   <li>自适应：组内有节点在运行且值发生变化时间隔减半（不低于最小间隔），值不变时逐步退避，
+ *       所有节点都不在运行时直接退避到最大间隔；</li>
+ *   <li>抖动：每次调度叠加 ±jitterRatio 的随机偏移，避免大量轮询同时发出；</li>
+ *   <li>只在值变化（含首次获取）时发布 {@code state.<name>} 事件。</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 订阅只记录节点地址；配置了节点解析器时，每轮按 (pipelineId, nodeId) 解析控制平面当前持有的实例，
+ * 执行实例、运行状态等总是取最新值，已不在活跃节点中的订阅者跳过。
+ * </p>
+ */
+@Slf4j
+public class TimingWheelStatePoller implements StatePoller {
+
+    private final TaskExecutor taskExecutor;
+
+    private final EventPublisher eventPublisher;
+
+    private final HierarchicalTimingWheel timingWheel;
+
+    private final double jitterRatio;
+
+    /**
+     * 按 (pipelineId, nodeId) 解析当前节点实例；null 表示使用 watch 时传入的实例
+     */
+    private final BiFunction<String, String, Node> nodeResolver;
+
+    private final ConcurrentMap<String, PollGroup> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 节点键 (pipelineId/nodeId) -> 所在轮询组的 key
+     */
+    private final ConcurrentMap<String, Set<String>> groupKeysByNode = new ConcurrentHashMap<>();
+
+    /**
+     * @param taskExecutor 执行器
+     * @param eventPublisher 状态事件发布器
+     * @param timingWheel 时间轮
+     * @param jitterRatio 抖动比例，如 0.1 表示 ±10%
+     */
+    public TimingWheelStatePoller(TaskExecutor taskExecutor, EventPublisher eventPublisher,
+                                  HierarchicalTimingWheel timingWheel, double jitterRatio) {
+        this(taskExecutor, eventPublisher, timingWheel, jitterRatio, null);
+    }
+
+    /**
+     * @param nodeResolver 按 (pipelineId, nodeId) 解析当前节点实例，返回 null 表示节点已不活跃
+     */
+    public TimingWheelStatePoller(TaskExecutor taskExecutor, EventPublisher eventPublisher,
+                                  HierarchicalTimingWheel timingWheel, double jitterRatio,
+                                  BiFunction<String, String, Node> nodeResolver) {
+        this.taskExecutor = taskExecutor;
+        this.eventPublisher = eventPublisher;
+        this.timingWheel = timingWheel;
+        this.jitterRatio = jitterRatio;
+        this.nodeResolver = nodeResolver;
+    }
+
+    @Override
+    public void watch(Node node, StateDefinition state) {
+        if (!state.requiresPolling()) {
+            return;
+        }
+        String key = endpointKey(node, state);
+        PollGroup group = groups.computeIfAbsent(key, k -> new PollGroup(k, state));
+        boolean first;
+        synchronized (group) {
+            if (group.closed) {
+                // 并发 unwatch 刚关闭了该组，重新创建
+                groups.remove(key, group);
+                watch(node, state);
+                return;
+            }
+            first = group.subscribers.isEmpty();
+            group.subscribers.put(nodeKey(node), node);
+        }
+        groupKeysByNode.computeIfAbsent(nodeKey(node), k -> ConcurrentHashMap.newKeySet()).add(key);
+        if (first) {
+            schedule(group, ThreadLocalRandom.current().nextLong(group.intervalMillis + 1));
+        }
+    }
+
+    @Override
+    public void unwatch(Node node) {
+        String nodeKey = nodeKey(node);
+        Set<String> keys = groupKeysByNode.remove(nodeKey);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            PollGroup group = groups.get(key);
+            if (group == null) {
+                continue;
+            }
+            synchronized (group) {
+                group.subscribers.remove(nodeKey);
+                if (group.subscribers.isEmpty()) {
+                    group.closed = true;
+                    groups.remove(key, group);
+                    if (group.timeout != null) {
+                        group.timeout.cancel();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int watchedCount() {
+        int count = 0;
+        for (PollGroup group : groups.values()) {
+            count += group.subscribers.size();
+        }
+        return count;
+    }
+
+    /**
+     * 当前的轮询组数量（合并后实际发出的轮询路数）
+     */
+    public int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * 端点标识：同一主机、同一路径的状态合并轮询；路径含占位符（如 {executionId}）时按节点区分
+     */
+    static String endpointKey(Node node, StateDefinition state) {
+        Map<String, Object> config = node.getTaskConfig() != null ? node.getTaskConfig().getConfig() : null;
+        Object baseUrl = null;
+        if (config != null) {
+            baseUrl = config.get("baseUrl");
+            if (baseUrl == null) {
+                baseUrl = config.get("host");
+            }
+        }
+        String endpoint = state.getEndpoint() != null ? state.getEndpoint() : "/" + state.getName();
+        String key = state.getProtocol() + "|" + baseUrl + "|" + endpoint + "|" + state.getName();
+        return endpoint.contains("{") || baseUrl == null ? key + "|" + nodeKey(node) : key;
+    }
+
+    private static String nodeKey(Node node) {
+        return Node.keyOf(node.getPipelineId(), node.getId());
+    }
+
+    private void schedule(PollGroup group, long delayMillis) {
+        synchronized (group) {
+            if (!group.closed) {
+                group.timeout = timingWheel.schedule(() -> poll(group), delayMillis);
+            }
+        }
+    }
+
+    private void poll(PollGroup group) {
+        List<Node> watched;
+        synchronized (group) {
+            if (group.closed || group.subscribers.isEmpty()) {
+                return;
+            }
+            watched = new ArrayList<>(group.subscribers.values());
+        }
+        List<Node> nodes = resolve(watched);
+
+        boolean changed = false;
+        try {
+            if (!nodes.isEmpty()) {
+                Object value = taskExecutor.getState(nodes.get(0), group.state);
+                changed = !group.polled || !Objects.equals(value, group.lastValue);
+                group.polled = true;
+                group.lastValue = value;
+                if (changed) {
+                    publish(group, value, nodes);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to poll state [{}] for group [{}]", group.state.getName(), group.key, e);
+        } finally {
+            group.intervalMillis = nextInterval(group, changed, nodes);
+            schedule(group, jitter(group.intervalMillis));
+        }
+    }
+
+    /**
+     * 订阅者对应的当前节点实例；已不活跃的节点不在结果中
+     */
+    private List<Node> resolve(List<Node> watched) {
+        if (nodeResolver == null) {
+            return watched;
+        }
+        List<Node> nodes = new ArrayList<>(watched.size());
+        for (Node node : watched) {
+            Node current = nodeResolver.apply(node.getPipelineId(), node.getId());
+            if (current != null) {
+                nodes.add(current);
+            }
+        }
+        return nodes;
+    }
+
+    private void publish(PollGroup group, Object value, List<Node> nodes) {
+        for (Node node : nodes) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put(PAYLOAD_NAME, group.state.getName());
+            payload.put(PAYLOAD_VALUE, value);
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put(ATTRIBUTE_KIND, KIND_STATE);
+            eventPublisher.publish(Event.builder()
+                    .type(EVENT_TYPE_PREFIX + group.state.getName())
+                    .source(EventSource.of(node.getPipelineId(), node.getId()))
+                    .pipelineId(node.getPipelineId())
+                    .executionId(node.getExecutionId())
+                    .payload(payload)
+                    .attributes(attributes)
+                    .build());
+        }
+    }
+
+    private long nextInterval(PollGroup group, boolean changed, List<Node> nodes) {
+        StateDefinition state = group.state;
+        long min = state.getMinPollIntervalMillis() > 0
+                ? state.getMinPollIntervalMillis() : Math.max(1, state.getPollIntervalMillis() / 4);
+        long max = state.getMaxPollIntervalMillis() > 0
+                ? state.getMaxPollIntervalMillis() : state.getPollIntervalMillis() * 8;
+        boolean anyRunning = nodes.stream().anyMatch(Node::isRunning);
+        if (!anyRunning) {
+            return max;
+        }
+        long interval = changed ? group.intervalMillis / 2 : group.intervalMillis + group.intervalMillis / 2;
+        return Math.max(min, Math.min(max, interval));
+    }
+
+    private long jitter(long intervalMillis) {
+        long range = (long) (intervalMillis * jitterRatio);
+        if (range <= 0) {
+            return intervalMillis;
+        }
+        return intervalMillis + ThreadLocalRandom.current().nextLong(-range, range + 1);
+    }
+
+    private static final class PollGroup {
+
+        private final String key;
+
+        private final StateDefinition state;
+
+        /**
+         * 节点键 (pipelineId/nodeId) -> 订阅节点（watch 时传入的实例，仅用于定位节点）
+         */
+        private final Map<String, Node> subscribers = new ConcurrentHashMap<>();
+
+        private volatile long intervalMillis;
+
+        private volatile boolean polled;
+
+        private volatile Object lastValue;
+
+        private boolean closed;
+
+        private HierarchicalTimingWheel.Timeout timeout;
+
+        private PollGroup(String key, StateDefinition state) {
+            this.key = key;
+            this.state = state;
+            this.intervalMillis = state.getPollIntervalMillis();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Dataflow 数据库表结构（兼容 MySQL 与 H2 MySQL 模式）
+
+-- 节点表：节点定义与运行时状态
+CREATE TABLE IF NOT EXISTS df_node (
+    id           VARCHAR(255) NOT NULL,
+    pipeline_id  VARCHAR(128),
+    node_id      VARCHAR(128) NOT NULL,
+    status       VARCHAR(64),
+    execution_id VARCHAR(128),
+    content      MEDIUMTEXT   NOT NULL,
+    created_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    KEY idx_df_node_pipeline (pipeline_id),
+    KEY idx_df_node_node (node_id)
+);
+
+-- Pipeline 表：Pipeline 元数据，节点以 df_node.pipeline_id 关联
+CREATE TABLE IF NOT EXISTS df_pipeline (
+    id         VARCHAR(128) NOT NULL,
+    name       VARCHAR(255),
+    created_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,404 @@
+package com.tencent.dataflow.infrastructure.event;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventListener;
+import com.tencent.dataflow.domain.event.EventPriority;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import com.tencent.dataflow.domain.event.EventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedEventEngineTest {
+
+    @Test
+    void testEventsOfSamePipelineProcessedInOrder() throws Exception {
+        int pipelines = 8;
+        int eventsPerPipeline = 2000;
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Map<String, String> threadByPipeline = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(pipelines * eventsPerPipeline);
+
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            received.computeIfAbsent(event.getPipelineId(), k -> new ArrayList<>())
+                    .add((Integer) event.getPayload().get("seq"));
+            String thread = Thread.currentThread().getName();
+            assertEquals(thread, threadByPipeline.computeIfAbsent(event.getPipelineId(), k -> thread));
+            done.countDown();
+        }, 4, 64);
+        engine.start();
+        try {
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < pipelines; p++) {
+                String pipelineId = "pipeline-" + p;
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < eventsPerPipeline; i++) {
+                        Event event = new Event();
+                        event.setType("test.event");
+                        event.setPipelineId(pipelineId);
+                        event.getPayload().put("seq", i);
+                        engine.publish(event);
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS), "All events should be processed");
+            assertEquals(pipelines, received.size());
+            for (List<Integer> sequence : received.values()) {
+                assertEquals(eventsPerPipeline, sequence.size());
+                for (int i = 0; i < eventsPerPipeline; i++) {
+                    assertEquals(i, sequence.get(i), "Events of a pipeline must keep publish order");
+                }
+            }
+        } finally {
+            engine.close();
+        }
+    }
+
+    @Test
+    void testEventsRoutedByResolvedPipelineAndGlobalEventsSerialized() throws Exception {
+        int pipelines = 8;
+        Map<String, String> threadByPipeline = new ConcurrentHashMap<>();
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicBoolean serialRunning = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(pipelines * 3 * 50 + 2);
+        List<String> serialThreads = Collections.synchronizedList(new ArrayList<>());
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            boolean serial = !event.getPayload().containsKey("pipeline");
+            if (active.incrementAndGet() > 1 && (serial || serialRunning.get())) {
+                overlapped.set(true);
+            }
+            if (serial) {
+                serialRunning.set(true);
+                serialThreads.add(Thread.currentThread().getName());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+                serialRunning.set(false);
+            } else {
+                String pipelineId = (String) event.getPayload().get("pipeline");
+                String thread = Thread.currentThread().getName();
+                assertEquals(thread, threadByPipeline.computeIfAbsent(pipelineId, k -> thread));
+            }
+            active.decrementAndGet();
+            done.countDown();
+        }, 4, 1024);
+        engine.setPipelineResolver(event -> {
+            String pipelineId = PartitionedEventEngine.pipelineOf(event);
+            String executionId = event.getExecutionId();
+            return pipelineId != null || executionId == null || executionId.startsWith("unbound")
+                    ? pipelineId : executionId.substring("exec-".length());
+        });
+        engine.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                for (int p = 0; p < pipelines; p++) {
+                    String pipelineId = "p" + p;
+                    // 同一 Pipeline 的三种事件形式：显式 pipelineId、节点地址、已绑定的 executionId
+                    engine.publish(routed(Event.builder().type("a").pipelineId(pipelineId).build(), pipelineId));
+                    engine.publish(routed(Event.builder().type("b")
+                            .source(EventSource.of(pipelineId, "node-" + i)).build(), pipelineId));
+                    engine.publish(routed(Event.builder().type("c").executionId("exec-" + pipelineId).build(),
+                            pipelineId));
+                }
+                if (i == 25) {
+                    Event global = Event.builder().type("maintenance.start").build();
+                    global.getAttributes().put(Event.ATTRIBUTE_SCOPE, Event.SCOPE_GLOBAL);
+                    engine.publish(global);
+                    engine.publish(Event.builder().type("started").executionId("unbound-1").build());
+                }
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            engine.close();
+        }
+
+        assertEquals(pipelines, threadByPipeline.size());
+        assertEquals(5, engine.partitionCount());
+        assertEquals(List.of("event-partition-serial", "event-partition-serial"), serialThreads);
+        // 串行分区处理时独占控制平面
+        assertFalse(overlapped.get());
+    }
+
+    private static Event routed(Event event, String pipelineId) {
+        event.getPayload().put("pipeline", pipelineId);
+        return event;
+    }
+
+    @Test
+    void testListenerFailureDoesNotStopPartition() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            done.countDown();
+            if ("bad".equals(event.getType())) {
+                throw new IllegalStateException("boom");
+            }
+        }, 1, 16);
+        engine.start();
+        try {
+            engine.publish(Event.builder().type("bad").pipelineId("p").build());
+            engine.publish(Event.builder().type("good").pipelineId("p").build());
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            engine.close();
+        }
+        assertEquals(2, engine.processedCount());
+    }
+
+    @Test
+    void testCloseDrainsQueuedEvents() {
+        List<String> processed = new ArrayList<>();
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> processed.add(event.getId()), 1, 1024);
+        engine.start();
+        for (int i = 0; i < 500; i++) {
+            engine.publish(Event.builder().type("test.event").pipelineId("p").build());
+        }
+        engine.close();
+
+        assertEquals(500, processed.size());
+        assertEquals(0, engine.totalQueueDepth());
+        assertThrows(IllegalStateException.class,
+                () -> engine.publish(Event.builder().type("late").build()));
+    }
+
+    @Test
+    void testBacklogDeliveredInOrderedBatches() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        List<Object> order = Collections.synchronizedList(new ArrayList<>());
+        PartitionedEventEngine engine = new PartitionedEventEngine(new EventListener() {
+            @Override
+            public void onEvent(Event event) {
+                awaitQuietly(release);
+                sizes.add(1);
+                order.add(event.getPayload().get("seq"));
+            }
+
+            @Override
+            public void onEvents(List<Event> events) {
+                sizes.add(events.size());
+                events.forEach(event -> order.add(event.getPayload().get("seq")));
+            }
+        }, 1, 1024, 64);
+        engine.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                Event event = Event.builder().type("test.event").pipelineId("p").build();
+                event.getPayload().put("seq", i);
+                engine.publish(event);
+            }
+            release.countDown();
+        } finally {
+            engine.close();
+        }
+
+        assertEquals(200, engine.processedCount());
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, order);
+        // 第一个事件阻塞期间积压的事件按批次交付，单批不超过上限
+        assertTrue(sizes.size() < 200);
+        assertTrue(sizes.stream().allMatch(size -> size <= 64));
+    }
+
+    @Test
+    void testHighPriorityOvertakesBacklogAndLowDropsOldest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            if ("block".equals(event.getType())) {
+                blocked.countDown();
+                awaitQuietly(release);
+            }
+            order.add(event.getType());
+        }, 1, 4);
+        engine.setCompletionListener(event -> completed.add(event.getType()));
+        engine.start();
+        try {
+            engine.publish(Event.builder().type("block").pipelineId("p").build());
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 6; i++) {
+                engine.publish(prioritized("metrics-" + i, "low"));
+            }
+            engine.publish(prioritized("maintenance.start", "critical"));
+            assertEquals(4, engine.queueDepth(0, EventPriority.LOW));
+            assertEquals(2, engine.shedCount(EventPriority.LOW, PartitionedEventEngine.ShedReason.OVERFLOW));
+            release.countDown();
+        } finally {
+            engine.close();
+        }
+
+        // 最早的两个低优先级事件被丢弃，高优先级事件越过积压先处理
+        assertEquals(List.of("block", "maintenance.start", "metrics-2", "metrics-3", "metrics-4", "metrics-5"), order);
+        // 被丢弃的事件同样触发完成回调
+        assertTrue(completed.containsAll(List.of("metrics-0", "metrics-1")));
+        assertEquals(8, completed.size());
+    }
+
+    @Test
+    void testRejectWhenFullAndLatencyAdmission() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            if ("block".equals(event.getType())) {
+                blocked.countDown();
+                awaitQuietly(release);
+            }
+        }, 1, 4);
+        engine.setOverflowPolicy(EventPriority.NORMAL, OverflowPolicy.REJECT);
+        engine.setRetryAfterMillis(500);
+        engine.start();
+        try {
+            engine.publish(Event.builder().type("block").pipelineId("p").build());
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 4; i++) {
+                engine.publish(Event.builder().type("normal").pipelineId("p").build());
+            }
+            EventRejectedException rejected = assertThrows(EventRejectedException.class,
+                    () -> engine.publish(Event.builder().type("normal").pipelineId("p").build()));
+            assertEquals(500, rejected.getRetryAfterMillis());
+            assertEquals(1, engine.shedCount(EventPriority.NORMAL, PartitionedEventEngine.ShedReason.REJECTED));
+        } finally {
+            release.countDown();
+            engine.close();
+        }
+    }
+
+    @Test
+    void testLatencyAdmissionShedsLowPriority() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            if ("block".equals(event.getType())) {
+                blocked.countDown();
+                awaitQuietly(release);
+            } else if ("hold".equals(event.getType())) {
+                held.countDown();
+                awaitQuietly(finish);
+            }
+        }, 1, 16);
+        engine.setOverflowPolicy(EventPriority.NORMAL, OverflowPolicy.REJECT);
+        engine.setMaxQueueLatencyMillis(1);
+        engine.start();
+        try {
+            engine.publish(Event.builder().type("block").pipelineId("p").build());
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            engine.publish(Event.builder().type("hold").pipelineId("p").build());
+            Thread.sleep(50);
+            // hold 排队约 50ms 后才被取出，处理期间排队延迟保持在上限之上
+            release.countDown();
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+            assertTrue(engine.queueLatencyNanos(0) > TimeUnit.MILLISECONDS.toNanos(1));
+
+            engine.publish(prioritized("metrics", "low"));
+            assertEquals(1, engine.shedCount(EventPriority.LOW, PartitionedEventEngine.ShedReason.LATENCY));
+            assertThrows(EventRejectedException.class,
+                    () -> engine.publish(Event.builder().type("normal").pipelineId("p").build()));
+            engine.publish(prioritized("maintenance.start", "high"));
+            assertEquals(2, engine.shedCount());
+        } finally {
+            finish.countDown();
+            engine.close();
+        }
+    }
+
+    @Test
+    void testConflatesPendingProgressPerNodeButNotLifecycle() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            if ("block".equals(event.getType())) {
+                blocked.countDown();
+                awaitQuietly(release);
+                return;
+            }
+            order.add(event.getSource() + ":" + event.getType() + ":" + event.getPayload().get("seq"));
+        }, 1, 16);
+        engine.setConflatedTypes(List.of("progress", "succeeded"));
+        engine.setCompletionListener(event -> completed.add(event.getId()));
+        engine.start();
+        try {
+            engine.publish(Event.builder().type("block").pipelineId("p").build());
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            engine.publish(nodeEvent("a", "started", 0));
+            for (int i = 1; i <= 5; i++) {
+                engine.publish(nodeEvent("a", "progress", i));
+                engine.publish(nodeEvent("b", "progress", i));
+            }
+            engine.publish(nodeEvent("a", "succeeded", 6));
+            engine.publish(nodeEvent("a", "succeeded", 7));
+            assertEquals(5, engine.queueDepth(0));
+            assertEquals(8, engine.shedCount(EventPriority.NORMAL, PartitionedEventEngine.ShedReason.CONFLATED));
+            release.countDown();
+        } finally {
+            engine.close();
+        }
+
+        // 合并后的事件保持首次入队的位置，内容为最新一次上报；生命周期事件逐个处理
+        assertEquals(List.of("a:started:0", "a:progress:5", "b:progress:5", "a:succeeded:6", "a:succeeded:7"),
+                order);
+        // 被取代的事件同样触发完成回调
+        assertEquals(14, completed.size());
+        assertEquals(14, Set.copyOf(completed).size());
+    }
+
+    private static Event nodeEvent(String node, String type, int seq) {
+        Event event = Event.builder().type(type).pipelineId("p").source(node).build();
+        event.getPayload().put("seq", seq);
+        return event;
+    }
+
+    private static Event prioritized(String type, String priority) {
+        Event event = Event.builder().type(type).pipelineId("p").build();
+        event.getAttributes().put(Event.ATTRIBUTE_PRIORITY, priority);
+        return event;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testRingBufferCapacityAndFifo() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(5);
+        assertEquals(8, buffer.capacity());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(8));
+        assertEquals(8, buffer.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.tencent.dataflow.infrastructure.event.dedup;
+
+import com.tencent.dataflow.domain.event.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomEventDeduplicatorTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void testDuplicatesDroppedWithinWindow() {
+        BloomEventDeduplicator deduplicator = new BloomEventDeduplicator(1_000, 10_000, 1e-6, 2, now::get);
+
+        assertFalse(deduplicator.isDuplicate(event("e-1")));
+        assertTrue(deduplicator.isDuplicate(event("e-1")));
+        assertEquals(1, deduplicator.exactDuplicateCount());
+
+        // e-1 被挤出精确 LRU 后仍由布隆过滤器识别
+        deduplicator.isDuplicate(event("e-2"));
+        deduplicator.isDuplicate(event("e-3"));
+        assertTrue(deduplicator.isDuplicate(event("e-1")));
+        assertEquals(1, deduplicator.bloomDuplicateCount());
+        assertEquals(3, deduplicator.uniqueCount());
+
+        // 没有 ID 的事件不去重
+        Event anonymous = event(null);
+        assertFalse(deduplicator.isDuplicate(anonymous));
+        assertFalse(deduplicator.isDuplicate(anonymous));
+    }
+
+    @Test
+    void testIdsForgottenAfterTwoWindows() {
+        BloomEventDeduplicator deduplicator = new BloomEventDeduplicator(1_000, 10_000, 1e-6, 100, now::get);
+        deduplicator.isDuplicate(event("e-1"));
+
+        // 一个窗口后仍在上一代过滤器中
+        now.addAndGet(1_500);
+        assertTrue(deduplicator.isDuplicate(event("e-1")));
+
+        // 两代都轮转出去后不再记得
+        now.addAndGet(2_500);
+        assertFalse(deduplicator.isDuplicate(event("e-2")));
+        now.addAndGet(1_000);
+        assertFalse(deduplicator.isDuplicate(event("e-1")));
+    }
+
+    @Test
+    void testFalsePositiveRateWithinBound() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("event-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("event-" + i));
+        }
+    }
+
+    private static Event event(String id) {
+        Event event = Event.builder().type("task.succeeded").build();
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tencent.dataflow.infrastructure.event.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.event.EventRejectedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+
+    private final EventRecordCodec codec = new EventRecordCodec(new ObjectMapper());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCodecRoundTrip() {
+        Event event = event("e-1", 7);
+        event.setTime(Instant.parse("2024-01-01T00:00:00.123456789Z"));
+        event.setAttributes(Map.of("kind", "state"));
+
+        Event decoded = codec.decode(codec.encode(event));
+
+        assertEquals(event.getId(), decoded.getId());
+        assertEquals(event.getType(), decoded.getType());
+        assertEquals(event.getPipelineId(), decoded.getPipelineId());
+        assertEquals(event.getTime(), decoded.getTime());
+        assertEquals("state", decoded.getAttributes().get("kind"));
+        assertEquals(7, decoded.getPayload().get("seq"));
+        assertNull(decoded.getCorrelationId());
+    }
+
+    @Test
+    void testReplayUnprocessedEventsAfterRestart() {
+        List<Event> delivered = new ArrayList<>();
+        try (EventLog log = new EventLog(dir, 1 << 20);
+             WriteAheadEventPublisher publisher = new WriteAheadEventPublisher(log, codec, delivered::add, dir, 60_000)) {
+            publisher.start();
+            for (int i = 0; i < 3; i++) {
+                publisher.publish(event("e-" + i, i));
+            }
+            assertEquals(3, delivered.size());
+            // 前三条已处理完，写入检查点
+            publisher.checkpoint();
+        }
+
+        // 下游失败：事件已落盘但未处理完成，重启后需要重放
+        try (EventLog log = new EventLog(dir, 1 << 20);
+             WriteAheadEventPublisher publisher = new WriteAheadEventPublisher(log, codec, event -> {
+                 throw new IllegalStateException("down");
+             }, dir, 60_000)) {
+            publisher.start();
+            assertThrows(IllegalStateException.class, () -> publisher.publish(event("e-3", 3)));
+            assertEquals(1, publisher.pendingCount());
+        }
+
+        List<Event> replayed = new ArrayList<>();
+        try (EventLog log = new EventLog(dir, 1 << 20);
+             WriteAheadEventPublisher publisher = new WriteAheadEventPublisher(log, codec, replayed::add, dir, 60_000)) {
+            publisher.start();
+            assertEquals(1, replayed.size());
+            assertEquals("e-3", replayed.get(0).getId());
+            assertEquals(0, publisher.pendingCount());
+        }
+    }
+
+    @Test
+    void testPublishAllDeliversBatchAndReleasesRejectedTail() {
+        List<Event> delivered = new ArrayList<>();
+        try (EventLog log = new EventLog(dir, 1 << 20);
+             WriteAheadEventPublisher publisher = new WriteAheadEventPublisher(log, codec, event -> {
+                 if (delivered.size() == 3) {
+                     throw new EventRejectedException("busy", 200);
+                 }
+                 delivered.add(event);
+             }, dir, 60_000)) {
+            publisher.start();
+            List<Event> batch = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                batch.add(event("e-" + i, i));
+            }
+            EventRejectedException rejected = assertThrows(EventRejectedException.class,
+                    () -> publisher.publishAll(batch));
+
+            assertEquals(3, rejected.getAccepted());
+            assertEquals(200, rejected.getRetryAfterMillis());
+            assertEquals(List.of("e-0", "e-1", "e-2"), delivered.stream().map(Event::getId).toList());
+            // 被拒绝的事件由发布方重试，不留在未处理集合中等待重放
+            assertEquals(0, publisher.pendingCount());
+            assertEquals(log.endOffset(), log.durableOffset());
+        }
+    }
+
+    @Test
+    void testTornTailIgnored() throws Exception {
+        long end;
+        try (EventLog log = new EventLog(dir, 1 << 16)) {
+            log.append(codec.encode(event("e-0", 0)));
+            end = log.append(codec.encode(event("e-1", 1)));
+            log.awaitDurable(end);
+        }
+
+        // 模拟崩溃：最后一条记录写了一半
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve(String.format("%020d.log", 0)).toFile(), "rw")) {
+            file.seek(end - 3);
+            file.write(new byte[]{1, 2, 3});
+        }
+
+        List<String> ids = new ArrayList<>();
+        try (EventLog log = new EventLog(dir, 1 << 16)) {
+            log.read(0, (offset, record) -> ids.add(codec.decode(record).getId()));
+            assertEquals(List.of("e-0"), ids);
+
+            // 新记录覆盖损坏的尾部
+            long next = log.append(codec.encode(event("e-2", 2)));
+            log.awaitDurable(next);
+            ids.clear();
+            log.read(0, (offset, record) -> ids.add(codec.decode(record).getId()));
+            assertEquals(List.of("e-0", "e-2"), ids);
+        }
+    }
+
+    @Test
+    void testSegmentRollAndCleanup() throws Exception {
+        try (EventLog log = new EventLog(dir, 4096)) {
+            long end = 0;
+            for (int i = 0; i < 100; i++) {
+                end = log.append(codec.encode(event("e-" + i, i)));
+            }
+            log.awaitDurable(end);
+            assertTrue(log.segmentCount() > 1);
+
+            List<String> ids = new ArrayList<>();
+            log.read(0, (offset, record) -> ids.add(codec.decode(record).getId()));
+            assertEquals(100, ids.size());
+            assertEquals("e-99", ids.get(99));
+
+            log.deleteSegmentsBefore(log.endOffset());
+            assertEquals(1, log.segmentCount());
+        }
+    }
+
+    private static Event event(String id, int seq) {
+        Event event = new Event();
+        event.setId(id);
+        event.setType("test.event");
+        event.setPipelineId("pipeline-1");
+        event.getPayload().put("seq", seq);
+        return event;
+    }
+}
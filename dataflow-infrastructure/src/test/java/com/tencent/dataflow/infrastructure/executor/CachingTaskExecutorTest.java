@@ -0,0 +1,121 @@
+package com.tencent.dataflow.infrastructure.executor;
+
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingTaskExecutorTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger calls = new AtomicInteger();
+    private CountDownLatch release;
+    private CachingTaskExecutor executor;
+    private Node node;
+    private StateDefinition status;
+
+    @BeforeEach
+    void setUp() {
+        release = new CountDownLatch(0);
+        TaskExecutor delegate = new TaskExecutor() {
+            @Override
+            public Object executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
+                return "OK";
+            }
+
+            @Override
+            public Object getState(Node node, StateDefinition state) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "v" + calls.incrementAndGet();
+            }
+        };
+        executor = new CachingTaskExecutor(delegate, 3, Runnable::run, now::get);
+        node = Node.builder().id("node-1").build();
+        status = StateDefinition.builder()
+                .name(StateDefinition.STATE_STATUS)
+                .cacheTtlMillis(100)
+                .staleWhileRevalidateMillis(50)
+                .build();
+    }
+
+    @Test
+    void testServedFromCacheWithinTtl() {
+        assertEquals("v1", executor.getState(node, status));
+        now.addAndGet(99);
+        assertEquals("v1", executor.getState(node, status));
+        assertEquals(1, calls.get());
+        assertEquals(1, executor.hitCount());
+
+        // 未声明 TTL 的状态不缓存
+        StateDefinition progress = StateDefinition.builder().name(StateDefinition.STATE_PROGRESS).build();
+        executor.getState(node, progress);
+        executor.getState(node, progress);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testStaleWhileRevalidate() {
+        assertEquals("v1", executor.getState(node, status));
+
+        // 过期但在 SWR 窗口内：返回旧值，后台（此处同步执行）刷新
+        now.addAndGet(120);
+        assertEquals("v1", executor.getState(node, status));
+        assertEquals(2, calls.get());
+        assertEquals("v2", executor.getState(node, status));
+
+        // 超出 SWR 窗口：同步等待新值
+        now.addAndGet(200);
+        assertEquals("v3", executor.getState(node, status));
+    }
+
+    @Test
+    void testConcurrentMissesCollapsed() throws Exception {
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> executor.getState(node, status), callers));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (CompletableFuture<Object> result : results) {
+                assertEquals("v1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testActionInvalidatesNodeAndSizeBounded() {
+        assertEquals("v1", executor.getState(node, status));
+        executor.executeAction(node, ActionDefinition.builder().name(ActionDefinition.ACTION_STOP).build(), Map.of());
+        assertEquals("v2", executor.getState(node, status));
+
+        for (int i = 0; i < 10; i++) {
+            executor.getState(Node.builder().id("other-" + i).build(), status);
+        }
+        assertEquals(3, executor.size());
+    }
+}
@@ -1,5 +1,7 @@
 package com.tencent.dataflow.infrastructure.executor;
 
+import com.tencent.dataflow.domain.executor.ActionRequest;
+import com.tencent.dataflow.domain.executor.ActionResult;
 import com.tencent.dataflow.domain.node.Node;
 import com.tencent.dataflow.domain.node.TaskConfig;
 import com.tencent.dataflow.domain.taskschema.AccessProtocol;
@@ -13,6 +15,7 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import java.util.Objects;
@@ -94,4 +97,76 @@ class HttpTaskExecutorTest {
         assertNotNull(result);
         mockServer.verify();
     }
+
+    @Test
+    void testExecuteBatchAction_PartialFailure() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("baseUrl", "http://example.com");
+        List<ActionRequest> requests = List.of(
+                new ActionRequest(Node.builder().id("node-1").taskConfig(TaskConfig.builder().config(config).build()).build(), Map.of()),
+                new ActionRequest(Node.builder().id("node-2").taskConfig(TaskConfig.builder().config(config).build()).build(), Map.of()),
+                new ActionRequest(Node.builder().id("node-3").taskConfig(TaskConfig.builder().config(config).build()).build(), Map.of()));
+
+        ActionDefinition action = ActionDefinition.builder()
+                .name("stop")
+                .protocol(AccessProtocol.HTTP)
+                .endpoint("/api/stop")
+                .batchEndpoint("/api/stop/batch")
+                .build();
+
+        mockServer.expect(requestTo("http://example.com/api/stop/batch"))
+                .andExpect(method(Objects.requireNonNull(HttpMethod.POST)))
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andRespond(withSuccess("{\"results\":["
+                        + "{\"nodeId\":\"node-1\",\"success\":true,\"result\":\"ok\"},"
+                        + "{\"nodeId\":\"node-2\",\"success\":false,\"error\":\"already stopped\"}]}",
+                        MediaType.APPLICATION_JSON));
+
+        List<ActionResult> results = executor.executeBatchAction(action, requests);
+
+        mockServer.verify();
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("ok", results.get(0).getResult());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("already stopped", results.get(1).getError());
+        assertFalse(results.get(2).isSuccess(), "Nodes missing from the response are reported as failed");
+    }
+
+    @Test
+    void testExecuteBatchAction_ResultsMatchedByPipeline() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("baseUrl", "http://example.com");
+        TaskConfig taskConfig = TaskConfig.builder().config(config).build();
+        List<ActionRequest> requests = List.of(
+                new ActionRequest(Node.builder().id("extract").pipelineId("p1").taskConfig(taskConfig).build(), Map.of()),
+                new ActionRequest(Node.builder().id("extract").pipelineId("p2").taskConfig(taskConfig).build(), Map.of()),
+                new ActionRequest(Node.builder().id("load").pipelineId("p1").taskConfig(taskConfig).build(), Map.of()));
+
+        ActionDefinition action = ActionDefinition.builder()
+                .name("stop")
+                .protocol(AccessProtocol.HTTP)
+                .endpoint("/api/stop")
+                .batchEndpoint("/api/stop/batch")
+                .build();
+
+        mockServer.expect(requestTo("http://example.com/api/stop/batch"))
+                .andExpect(jsonPath("$.items[0].pipelineId").value("p1"))
+                .andExpect(jsonPath("$.items[1].pipelineId").value("p2"))
+                .andRespond(withSuccess("{\"results\":["
+                        + "{\"pipelineId\":\"p2\",\"nodeId\":\"extract\",\"success\":true,\"result\":\"exec-2\"},"
+                        + "{\"pipelineId\":\"p1\",\"nodeId\":\"extract\",\"success\":false,\"error\":\"busy\"},"
+                        + "{\"nodeId\":\"load\",\"success\":true,\"result\":\"exec-3\"}]}",
+                        MediaType.APPLICATION_JSON));
+
+        List<ActionResult> results = executor.executeBatchAction(action, requests);
+
+        mockServer.verify();
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("p1/extract", results.get(0).nodeKey());
+        assertEquals("exec-2", results.get(1).getResult());
+        assertEquals("p2", results.get(1).getPipelineId());
+        // 不带 pipelineId 的结果只在 nodeId 唯一时采用
+        assertEquals("exec-3", results.get(2).getResult());
+    }
 }
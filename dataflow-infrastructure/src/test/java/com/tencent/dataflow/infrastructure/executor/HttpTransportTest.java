@@ -0,0 +1,167 @@
+package com.tencent.dataflow.infrastructure.executor;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.taskschema.AccessProtocol;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.infrastructure.config.HttpTransportProperties;
+import com.tencent.dataflow.infrastructure.metrics.ControlPlaneMeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpTransportTest {
+
+    private HttpServer server;
+    private HttpTransport transport;
+    private HttpTaskExecutor executor;
+    private Node node;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/start", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "job-1".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        transport = new HttpTransport(new HttpTransportProperties());
+        executor = new HttpTaskExecutor(transport.getRestTemplate(), transport);
+        node = Node.builder()
+                .id("node-1")
+                .taskConfig(TaskConfig.builder()
+                        .config(Map.of("baseUrl", "http://127.0.0.1:" + server.getAddress().getPort()))
+                        .build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void testPooledConnectionReused() {
+        ActionDefinition action = ActionDefinition.builder().name("start").endpoint("/start").build();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("job-1", executor.executeAction(node, action, Map.of("i", i)));
+        }
+
+        String host = "127.0.0.1:" + server.getAddress().getPort();
+        HttpTransport.HostPoolStats stats = transport.poolStats().get(host);
+        assertNotNull(stats, "Pool stats should be tracked per host");
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable(), "Sequential calls should reuse one keep-alive connection");
+    }
+
+    @Test
+    void testPoolGaugesRegisteredPerHost() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ControlPlaneMeterBinder.builder().httpTransport(transport).build().bindTo(registry);
+        ActionDefinition action = ActionDefinition.builder()
+                .name("start")
+                .endpoint("/start")
+                .protocolConfig(Map.of(HttpTimeouts.CONNECT_TIMEOUT, 500))
+                .build();
+
+        assertEquals("job-1", executor.executeAction(node, action, Map.of()));
+
+        String host = "127.0.0.1:" + server.getAddress().getPort();
+        assertEquals(0, registry.get("dataflow.http.pool.leased").tag("host", host).gauge().value());
+        assertEquals(1, registry.get("dataflow.http.pool.available").tag("host", host).gauge().value());
+        assertEquals(0, registry.get("dataflow.http.pool.pending").tag("host", host).gauge().value());
+        assertEquals(new HttpTransportProperties().getMaxConnectionsPerHost(),
+                registry.get("dataflow.http.pool.max").tag("host", host).gauge().value());
+        assertEquals("svc-a:80", HttpTransport.hostOf(URI.create("http://svc-a/start")));
+        assertEquals("svc-a:443", HttpTransport.hostOf(URI.create("https://svc-a/start")));
+    }
+
+    @Test
+    void testConnectTimeoutOverridePooledSeparately() {
+        ActionDefinition defaults = ActionDefinition.builder().name("start").endpoint("/start").build();
+        ActionDefinition overridden = ActionDefinition.builder()
+                .name("start")
+                .endpoint("/start")
+                .protocolConfig(Map.of(HttpTimeouts.CONNECT_TIMEOUT, 500))
+                .build();
+
+        // 不同连接超时的调用交替发出，各自复用所在连接池的连接
+        for (ActionDefinition action : new ActionDefinition[] {overridden, defaults, overridden, defaults}) {
+            assertEquals("job-1", executor.executeAction(node, action, Map.of()));
+        }
+
+        HttpTransport.HostPoolStats stats = transport.poolStats("127.0.0.1:" + server.getAddress().getPort());
+        assertEquals(2, stats.getAvailable());
+        assertEquals(2 * new HttpTransportProperties().getMaxConnectionsPerHost(), stats.getMax());
+    }
+
+    @Test
+    void testReadTimeoutFromProtocolConfig() {
+        ActionDefinition action = ActionDefinition.builder()
+                .name("start")
+                .protocol(AccessProtocol.HTTP)
+                .endpoint("/slow")
+                .protocolConfig(Map.of(HttpTimeouts.READ_TIMEOUT, 200))
+                .build();
+
+        long startNanos = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> executor.executeAction(node, action, Map.of()));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1500);
+    }
+
+    @Test
+    void testTotalTimeoutOnAsyncCall() {
+        ActionDefinition action = ActionDefinition.builder()
+                .name("start")
+                .endpoint("/slow")
+                .protocolConfig(Map.of(HttpTimeouts.TOTAL_TIMEOUT, "300"))
+                .build();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> executor.executeActionAsync(node, action, Map.of()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+    }
+
+    @Test
+    void testTimeoutOverride() {
+        HttpTimeouts defaults = new HttpTimeouts(1000, 2000, 3000);
+
+        assertSame(defaults, defaults.override(null));
+        assertSame(defaults, defaults.override(Map.of("method", "POST")));
+        HttpTimeouts overridden = defaults.override(Map.of(HttpTimeouts.CONNECT_TIMEOUT, 100, HttpTimeouts.READ_TIMEOUT, "250"));
+        assertEquals(100, overridden.getConnectTimeoutMs());
+        assertEquals(250, overridden.getReadTimeoutMs());
+        assertEquals(3000, overridden.getTotalTimeoutMs());
+    }
+}
@@ -0,0 +1,73 @@
+package com.tencent.dataflow.infrastructure.metrics;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.infrastructure.event.PartitionedEventEngine;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerControlPlaneMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testStageTimersRecorded() {
+        MicrometerControlPlaneMetrics metrics = new MicrometerControlPlaneMetrics(registry, true);
+
+        metrics.recordIngress(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordMatching(1_000, 4);
+        metrics.recordExpression(200);
+        metrics.recordExpression(300);
+        metrics.recordDispatch("start", 5_000);
+        metrics.recordExecutorCall("spark", "start", "HTTP", TimeUnit.MILLISECONDS.toNanos(20), true);
+        metrics.recordExecutorCall("spark", "start", "HTTP", TimeUnit.MILLISECONDS.toNanos(30), true);
+        metrics.recordExecutorCall("spark", "start", "HTTP", TimeUnit.MILLISECONDS.toNanos(40), false);
+
+        assertEquals(3.0, registry.get("dataflow.event.ingress").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(4.0, registry.get("dataflow.event.candidates").summary().totalAmount());
+        assertEquals(2, registry.get("dataflow.expression.evaluation").timer().count());
+        assertEquals(1, registry.get("dataflow.action.dispatch").tag("action", "start").timer().count());
+
+        Timer success = registry.get("dataflow.executor.call")
+                .tags("taskType", "spark", "action", "start", "protocol", "HTTP", "outcome", "success")
+                .timer();
+        assertEquals(2, success.count());
+        assertEquals(1, registry.get("dataflow.executor.call").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testQueueDepthGauges() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        PartitionedEventEngine engine = new PartitionedEventEngine(event -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1, 16);
+        engine.start();
+        try {
+            ControlPlaneMeterBinder.builder().eventEngine(engine).build().bindTo(registry);
+            for (int i = 0; i < 3; i++) {
+                engine.publish(Event.builder().type("test").pipelineId("p").build());
+            }
+
+            // 第一个事件被消费线程取出后阻塞，其余留在队列中
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (registry.get("dataflow.engine.queue.depth").tag("partition", "0").gauge().value() != 2.0
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2.0, registry.get("dataflow.engine.queue.depth").tag("partition", "0").gauge().value());
+        } finally {
+            blocked.countDown();
+            engine.close();
+        }
+        assertEquals(3.0, registry.get("dataflow.engine.events.processed").functionCounter().count());
+    }
+}
@@ -0,0 +1,151 @@
+package com.tencent.dataflow.infrastructure.persistence.node;
+
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.repository.NodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingNodeRepositoryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger findByIdCalls = new AtomicInteger();
+    private final AtomicInteger findAllCalls = new AtomicInteger();
+    private final Map<String, Node> store = new ConcurrentHashMap<>();
+    private CachingNodeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        NodeRepository delegate = new NodeRepository() {
+            @Override
+            public Node findById(String pipelineId, String nodeId) {
+                findByIdCalls.incrementAndGet();
+                Node node = store.get(Node.keyOf(pipelineId, nodeId));
+                // 模拟数据库：每次读取得到新实例
+                return node != null ? copy(node) : null;
+            }
+
+            @Override
+            public List<Node> findAllActiveNodes() {
+                findAllCalls.incrementAndGet();
+                List<Node> nodes = new ArrayList<>();
+                store.values().forEach(node -> nodes.add(copy(node)));
+                return nodes;
+            }
+
+            @Override
+            public void save(Node node) {
+                store.put(Node.keyOf(node.getPipelineId(), node.getId()), node);
+            }
+        };
+        store.put("p/a", Node.builder().id("a").pipelineId("p").build());
+        store.put("p/b", Node.builder().id("b").pipelineId("p").build());
+        repository = new CachingNodeRepository(delegate, 2, 100, now::get);
+    }
+
+    @Test
+    void testFindByIdCachedUntilTtl() {
+        Node first = repository.findById("p", "a");
+        assertSame(first, repository.findById("p", "a"));
+        assertEquals(1, findByIdCalls.get());
+
+        now.addAndGet(100);
+        repository.findById("p", "a");
+        assertEquals(2, findByIdCalls.get());
+        assertNull(repository.findById("p", "missing"));
+    }
+
+    @Test
+    void testWritesInvalidatePrecisely() {
+        repository.findById("p", "a");
+        repository.findById("p", "b");
+
+        Node updated = Node.builder().id("a").pipelineId("p").status("running").build();
+        repository.save(updated);
+        assertSame(updated, repository.findById("p", "a"));
+        repository.findById("p", "b");
+        assertEquals(2, findByIdCalls.get());
+
+        repository.invalidate("p", "b");
+        repository.findById("p", "b");
+        assertEquals(3, findByIdCalls.get());
+        assertTrue(repository.size() <= 2);
+    }
+
+    @Test
+    void testActiveSetMaintainedIncrementally() {
+        List<Node> first = repository.findAllActiveNodes();
+        assertEquals(2, first.size());
+        assertSame(first, repository.findAllActiveNodes());
+
+        // 保存同一实例（如状态更新）：快照不变
+        Node a = first.stream().filter(n -> "a".equals(n.getId())).findFirst().orElseThrow();
+        a.setStatus("running");
+        repository.save(a);
+        assertSame(first, repository.findAllActiveNodes());
+        // findById 返回活跃集合中的同一实例
+        assertSame(a, repository.findById("p", "a"));
+
+        // 条件变化或新增节点：快照重建
+        a.setControlPolicy(ControlPolicy.builder().stopWhen("true").build());
+        repository.save(a);
+        List<Node> second = repository.findAllActiveNodes();
+        assertNotSame(first, second);
+        repository.save(Node.builder().id("c").pipelineId("p").build());
+        assertEquals(3, repository.findAllActiveNodes().size());
+
+        assertEquals(1, findAllCalls.get());
+    }
+
+    @Test
+    void testPipelineSnapshotsIndependent() {
+        repository.findAllActiveNodes();
+        // 同名节点属于不同 Pipeline
+        repository.save(Node.builder().id("a").pipelineId("q").build());
+        List<Node> p = repository.findActiveNodesByPipeline("p");
+        List<Node> q = repository.findActiveNodesByPipeline("q");
+        assertEquals(2, p.size());
+        assertEquals(1, q.size());
+        assertTrue(repository.findActiveNodesByPipeline(null).isEmpty());
+
+        // 其他 Pipeline 的变化不影响快照
+        repository.save(Node.builder().id("b").pipelineId("q").build());
+        assertSame(p, repository.findActiveNodesByPipeline("p"));
+        assertNotSame(q, repository.findActiveNodesByPipeline("q"));
+        assertEquals(2, repository.findActiveNodesByPipeline("q").size());
+        assertEquals(1, findAllCalls.get());
+    }
+
+    @Test
+    void testFindByIdKeyedByPipeline() {
+        Node other = Node.builder().id("a").pipelineId("q").status("running").build();
+        repository.save(other);
+        Node a = repository.findById("p", "a");
+        assertEquals("p", a.getPipelineId());
+        assertSame(other, repository.findById("q", "a"));
+
+        // 写入只使同一 Pipeline 的缓存失效
+        repository.save(Node.builder().id("a").pipelineId("q").status("succeeded").build());
+        assertSame(a, repository.findById("p", "a"));
+        assertEquals("succeeded", repository.findById("q", "a").getStatus());
+        assertEquals(1, findByIdCalls.get());
+    }
+
+    private static Node copy(Node node) {
+        return Node.builder()
+                .id(node.getId())
+                .pipelineId(node.getPipelineId())
+                .status(node.getStatus())
+                .controlPolicy(node.getControlPolicy())
+                .build();
+    }
+}
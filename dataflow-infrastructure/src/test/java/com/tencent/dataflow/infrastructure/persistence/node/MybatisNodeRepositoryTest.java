@@ -0,0 +1,158 @@
+package com.tencent.dataflow.infrastructure.persistence.node;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tencent.dataflow.domain.node.ControlPolicy;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.infrastructure.persistence.node.mapper.NodeMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MybatisNodeRepositoryTest {
+
+    private SqlSessionFactory sqlSessionFactory;
+    private MybatisNodeRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1");
+        try (InputStream in = getClass().getResourceAsStream("/db/schema.sql");
+             Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(NodeMapper.class);
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        // 刷写间隔足够长，由测试显式调用 flush
+        repository = new MybatisNodeRepository(sqlSessionFactory, new ObjectMapper(), 60_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void testSavesCoalescedAndReadYourWrites() {
+        Node node = node("pipeline-1", "node-a");
+        for (String status : List.of("running", "failed", "running", "succeeded")) {
+            node.setStatus(status);
+            repository.save(node);
+        }
+
+        // 尚未刷写：读取返回同一个对象
+        assertEquals(1, repository.pendingCount());
+        assertSame(node, repository.findById("pipeline-1", "node-a"));
+        assertNull(repository.findById("pipeline-2", "node-a"));
+        assertEquals(0, rowCount());
+
+        assertEquals(1, repository.flush());
+        assertEquals(0, repository.pendingCount());
+        assertEquals(1, rowCount());
+
+        Node loaded = repository.findById("pipeline-1", "node-a");
+        assertNotSame(node, loaded);
+        assertEquals("succeeded", loaded.getStatus());
+        assertEquals("pipeline-1", loaded.getPipelineId());
+        assertEquals("event.type == 'STOP'", loaded.getControlPolicy().getStopWhen());
+        assertEquals("SELECT 1", loaded.getTaskConfig().getConfig().get("sql"));
+    }
+
+    @Test
+    void testBatchInsertThenUpdate() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(node("pipeline-1", "node-" + i));
+        }
+        repository.flush();
+        assertEquals(5, rowCount());
+
+        Node updated = node("pipeline-1", "node-3");
+        updated.setStatus("running");
+        updated.setExecutionId("exec-3");
+        repository.save(updated);
+        // 同名节点属于不同 Pipeline，是不同的行
+        repository.save(node("pipeline-2", "node-3"));
+        repository.flush();
+
+        assertEquals(6, rowCount());
+        List<Node> nodes = repository.findAllActiveNodes();
+        assertEquals(6, nodes.size());
+        Node reloaded = nodes.stream()
+                .filter(n -> "pipeline-1".equals(n.getPipelineId()) && "node-3".equals(n.getId()))
+                .findFirst().orElseThrow();
+        assertEquals("running", reloaded.getStatus());
+        assertEquals("exec-3", reloaded.getExecutionId());
+        // 按 (pipelineId, nodeId) 精确定位，不会取到另一个 Pipeline 的同名节点
+        assertEquals("exec-3", repository.findById("pipeline-1", "node-3").getExecutionId());
+        assertNull(repository.findById("pipeline-2", "node-3").getExecutionId());
+        assertNull(repository.findById("pipeline-3", "node-3"));
+    }
+
+    @Test
+    void testFindActiveNodesByPipeline() {
+        repository.save(node("pipeline-1", "node-a"));
+        repository.save(node("pipeline-2", "node-a"));
+        repository.save(node(null, "node-b"));
+        repository.flush();
+        Node pending = node("pipeline-1", "node-c");
+        repository.save(pending);
+
+        List<Node> nodes = repository.findActiveNodesByPipeline("pipeline-1");
+        assertEquals(2, nodes.size());
+        assertTrue(nodes.stream().allMatch(n -> "pipeline-1".equals(n.getPipelineId())));
+        assertTrue(nodes.contains(pending));
+        assertEquals(1, repository.findActiveNodesByPipeline(null).size());
+        assertEquals("node-b", repository.findActiveNodesByPipeline(null).get(0).getId());
+    }
+
+    @Test
+    void testCloseFlushesPendingWrites() {
+        repository.save(node("pipeline-1", "node-a"));
+        repository.close();
+
+        assertEquals(1, rowCount());
+    }
+
+    private long rowCount() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(NodeMapper.class).selectCount(null);
+        }
+    }
+
+    private static Node node(String pipelineId, String nodeId) {
+        return Node.builder()
+                .id(nodeId)
+                .pipelineId(pipelineId)
+                .taskConfig(TaskConfig.builder().taskType("spark").config(Map.of("sql", "SELECT 1")).build())
+                .controlPolicy(ControlPolicy.builder().stopWhen("event.type == 'STOP'").build())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.tencent.dataflow.infrastructure.poller;
+
+import com.tencent.dataflow.domain.event.Event;
+import com.tencent.dataflow.domain.executor.StatePoller;
+import com.tencent.dataflow.domain.executor.TaskExecutor;
+import com.tencent.dataflow.domain.node.Node;
+import com.tencent.dataflow.domain.node.TaskConfig;
+import com.tencent.dataflow.domain.taskschema.ActionDefinition;
+import com.tencent.dataflow.domain.taskschema.StateDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelStatePollerTest {
+
+    private HierarchicalTimingWheel timingWheel;
+
+    @BeforeEach
+    void setUp() {
+        timingWheel = new HierarchicalTimingWheel(5, 64, Executors.newVirtualThreadPerTaskExecutor());
+        timingWheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.close();
+    }
+
+    @Test
+    void testTimingWheelFiresInDeadlineOrderAcrossLevels() throws Exception {
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        // 64 槽 x 5ms：400ms 的任务需要从第 1 层下沉
+        for (long delay : new long[] {400, 20, 150}) {
+            timingWheel.schedule(() -> {
+                fired.add(delay);
+                done.countDown();
+            }, delay);
+        }
+        HierarchicalTimingWheel.Timeout cancelled = timingWheel.schedule(() -> fired.add(-1L), 50);
+        cancelled.cancel();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(20L, 150L, 400L), fired);
+    }
+
+    @Test
+    void testIdenticalEndpointsCoalesced() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong lag = new AtomicLong(100);
+        List<Event> events = new CopyOnWriteArrayList<>();
+        TimingWheelStatePoller poller = new TimingWheelStatePoller(
+                stateExecutor(calls, lag), events::add, timingWheel, 0.1);
+
+        StateDefinition metrics = StateDefinition.builder()
+                .name(StateDefinition.STATE_METRICS)
+                .endpoint("/metrics")
+                .pollIntervalMillis(20)
+                .build();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Node node = node("n" + i, "http://svc-a");
+            nodes.add(node);
+            poller.watch(node, metrics);
+        }
+        poller.watch(nodes.get(0), metrics);
+
+        assertEquals(3, poller.watchedCount());
+        assertEquals(1, poller.groupCount());
+
+        waitUntil(() -> events.size() == 3);
+        Event event = events.get(0);
+        assertEquals("state.metrics", event.getType());
+        assertEquals(StatePoller.KIND_STATE, event.getAttributes().get(StatePoller.ATTRIBUTE_KIND));
+        assertEquals(Map.of("lag", 100L), event.getPayload().get(StatePoller.PAYLOAD_VALUE));
+        int callsAfterFirstRound = calls.get();
+        assertTrue(callsAfterFirstRound >= 1);
+
+        // 值不变时不发布事件，变化后每个订阅节点各收到一次
+        lag.set(20000);
+        waitUntil(() -> events.size() == 6);
+        assertEquals(Set.of("/pipelines/pipe-1/nodes/n0", "/pipelines/pipe-1/nodes/n1", "/pipelines/pipe-1/nodes/n2"),
+                events.subList(3, 6).stream().map(Event::getSource).collect(Collectors.toSet()));
+        assertEquals(Map.of("lag", 20000L), events.get(5).getPayload().get(StatePoller.PAYLOAD_VALUE));
+
+        // 其他 Pipeline 的同名节点是独立的订阅者
+        Node other = node("n0", "http://svc-a");
+        other.setPipelineId("pipe-2");
+        poller.watch(other, metrics);
+        assertEquals(4, poller.watchedCount());
+
+        for (Node node : nodes) {
+            poller.unwatch(node);
+        }
+        assertEquals(1, poller.watchedCount());
+        assertEquals(1, poller.groupCount());
+        poller.unwatch(other);
+        assertEquals(0, poller.groupCount());
+        int callsAtStop = calls.get();
+        Thread.sleep(300);
+        assertTrue(calls.get() <= callsAtStop + 1, "Polling should stop after the last node is unwatched");
+    }
+
+    @Test
+    void testSubscribersResolvedAtPollTime() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<Event> events = new CopyOnWriteArrayList<>();
+        Map<String, Node> current = new ConcurrentHashMap<>();
+        TimingWheelStatePoller poller = new TimingWheelStatePoller(stateExecutor(calls, new AtomicLong(100)),
+                events::add, timingWheel, 0.1, (pipelineId, nodeId) -> current.get(nodeId));
+        StateDefinition metrics = StateDefinition.builder()
+                .name(StateDefinition.STATE_METRICS)
+                .endpoint("/metrics")
+                .pollIntervalMillis(20)
+                .build();
+
+        // 控制平面持有的是仓储重新加载的实例：事件取当前实例的执行实例
+        Node reloaded = node("n0", "http://svc-a");
+        reloaded.setExecutionId("run-2");
+        current.put("n0", reloaded);
+        poller.watch(node("n0", "http://svc-a"), metrics);
+        waitUntil(() -> events.size() == 1);
+        assertEquals("run-2", events.get(0).getExecutionId());
+
+        // 节点已不在活跃节点中：跳过轮询
+        current.clear();
+        int callsAtRemoval = calls.get();
+        Thread.sleep(300);
+        assertTrue(calls.get() <= callsAtRemoval + 1, "Inactive nodes should not be polled");
+    }
+
+    @Test
+    void testPlaceholderEndpointsPolledPerNode() {
+        StateDefinition status = StateDefinition.builder()
+                .name(StateDefinition.STATE_STATUS)
+                .endpoint("/jobs/{executionId}/status")
+                .pollIntervalMillis(1000)
+                .build();
+
+        assertNotEquals(TimingWheelStatePoller.endpointKey(node("n1", "http://svc-a"), status),
+                TimingWheelStatePoller.endpointKey(node("n2", "http://svc-a"), status));
+    }
+
+    private static TaskExecutor stateExecutor(AtomicInteger calls, AtomicLong lag) {
+        return new TaskExecutor() {
+            @Override
+            public Object executeAction(Node node, ActionDefinition action, Map<String, Object> params) {
+                return null;
+            }
+
+            @Override
+            public Object getState(Node node, StateDefinition state) {
+                calls.incrementAndGet();
+                return Map.of("lag", lag.get());
+            }
+        };
+    }
+
+    private static Node node(String id, String baseUrl) {
+        return Node.builder()
+                .id(id)
+                .pipelineId("pipe-1")
+                .status("running")
+                .taskConfig(TaskConfig.builder().taskType("flink_streaming").config(Map.of("baseUrl", baseUrl)).build())
+                .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}